@@ -5,19 +5,25 @@ import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 
+import tarot.ai.Lineup;
 import tarot.game.Round;
 import tarot.game.Round.Result;
 import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
 import tarot.state.Deck;
 
 public class Tarot {
     public static void main(String[] args) {
         List<String> playerIds = ImmutableList.of("n", "e", "s", "w", "nw");
+        // Pass a seed to replay the same rounds
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        RandomSource rng = RandomSource.xoshiro(seed);
         Deck deck = Deck.unshuffled();
         for (int i = 0; i < 100000; i++) {
-            Round round = Round.create(playerIds, deck, new PalantirScorer());
+            Round round = Round.create(playerIds, deck, new PalantirScorer(), Lineup.random(), rng.split());
             Optional<Result> result = round.play();
-            System.out.println(result);
+            // The tricks are kept packed, so decode them to print them
+            System.out.println(result.map(r -> r + " " + r.getTricks()));
         }
     }
 }
@@ -2,14 +2,15 @@ package tarot.ai;
 
 import java.util.Optional;
 
-import com.google.common.collect.Sets;
-
 import tarot.game.Bidding;
 import tarot.state.Card;
+import tarot.state.CardSet;
 import tarot.state.Cards;
 import tarot.state.Hand;
 
 public abstract class AbstractPartnerStrategy implements PartnerStrategy {
+    private static final CardSet CALLABLE_CARDS = Cards.getRois().union(Cards.getDames()).union(Cards.getCavaliers());
+
     @Override
     public Optional<Card> callIfPossible(Hand hand, Bidding bidding) {
         if (canCallPartner(hand)) {
@@ -20,8 +21,7 @@ public abstract class AbstractPartnerStrategy implements PartnerStrategy {
     }
 
     private static boolean canCallPartner(Hand hand) {
-        return !hand.getCards().containsAll(
-                Sets.union(Sets.union(Cards.getRois(), Cards.getDames()), Cards.getCavaliers()));
+        return !hand.getCards().containsAll(CALLABLE_CARDS);
     }
 
     protected abstract Card call(Hand hand, Bidding bidding);
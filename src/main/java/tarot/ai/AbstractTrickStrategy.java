@@ -28,6 +28,21 @@ public abstract class AbstractTrickStrategy<T> implements TrickStrategy {
         return result.getPlay();
     }
 
+    /**
+     * @return What the last {@link #pickCardInner} returned or, before the first, what was last set
+     */
+    @Nullable
+    protected T getRoundState() {
+        return roundState;
+    }
+
+    /**
+     * For the callbacks other than {@link #pickCard} to record what they learn
+     */
+    protected void setRoundState(T roundState) {
+        this.roundState = roundState;
+    }
+
     protected abstract Result<T> pickCardInner(List<Play> currentTrick,
                                                Hand hand,
                                                Bidding bidding,
@@ -0,0 +1,227 @@
+package tarot.ai;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import tarot.game.GameState;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+import tarot.state.SuitCanonicalizer;
+
+/**
+ * Estimates what the taker scores on average with a hand for each {@link Bid} by dealing the rest of the cards at
+ * random and playing them out with random legal cards: once with the dog taken, which the bids that see the dog
+ * share, and once without it for the others. The taker sits in the first seat, calls the first roi (or dame, or
+ * cavalier) it doesn't hold and puts aside its lowest cards.
+ * <p>
+ * Estimates are cached by the hand up to the order of its suits (see {@link SuitCanonicalizer}), which doesn't change
+ * how it plays, so equivalent hands are only evaluated once. Thread-safe.
+ */
+public final class BidEstimator {
+    private static final Logger log = LoggerFactory.getLogger(BidEstimator.class);
+
+    private static final int TAKER_SEAT = 0;
+    private static final int NUM_BIDS = Bid.values().length;
+    private static final List<CardSet> CALL_ORDER =
+            ImmutableList.of(Cards.getRois(), Cards.getDames(), Cards.getCavaliers());
+    private static final CardSet NEVER_ASIDE = Cards.getRois().union(Cards.getBouts());
+    private static final Set<Card> NO_HANDFUL = ImmutableSet.of();
+
+    private final SimulationBiddingConfig config;
+    private final Cache<CardSet, Estimate> cache;
+
+    public BidEstimator(SimulationBiddingConfig config) {
+        this.config = config;
+        this.cache = CacheBuilder.newBuilder().maximumSize(config.getCacheSize()).build();
+    }
+
+    /**
+     * @return The taker's mean score for each bid, by {@link Bid#ordinal()}
+     */
+    public double[] estimate(CardSet hand, RandomSource rng) {
+        long start = System.nanoTime();
+        CardSet canonicalHand = SuitCanonicalizer.toCanonical(hand);
+        Estimate estimate = cache.asMap().computeIfAbsent(canonicalHand, h -> new Estimate());
+        int numSamples = config.getSamplesPerEstimate() - estimate.getNumSamples();
+        if (numSamples > 0) {
+            long deadline = config.getMillisPerDecision().isPresent()
+                    ? start + TimeUnit.MILLISECONDS.toNanos(config.getMillisPerDecision().getAsLong())
+                    : Long.MAX_VALUE;
+            Rollouts rollouts = new Rollouts(canonicalHand, config.getScorer(), deadline);
+            estimate.add(Playouts.rollOut(config.getPool(), rollouts, rng.split(), numSamples));
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Sampled {} deals in {}us for {}",
+                        estimate.getNumSamples(),
+                        TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                        canonicalHand);
+            }
+        }
+        return estimate.getMeans();
+    }
+
+    /**
+     * @return The lowest cards that can be put aside: suited cards other than rois before trumps other than bouts,
+     * fewest points first
+     */
+    static CardSet chooseAside(CardSet cards) {
+        CardSet candidates = cards.difference(NEVER_ASIDE);
+        CardSet.Builder aside = CardSet.builder();
+        for (int i = 0; i < Deck.DOG_SIZE; i++) {
+            Card lowest = null;
+            for (Card card : candidates) {
+                if (lowest == null || getAsideRank(card) < getAsideRank(lowest)) {
+                    lowest = card;
+                }
+            }
+            aside.add(lowest);
+            candidates = candidates.without(lowest);
+        }
+        return aside.build();
+    }
+
+    private static int getAsideRank(Card card) {
+        int index = card.getIndex();
+        return (Cards.isTrump(index) ? 1000 : 0) + 20 * Cards.getDoublePoints(index) + Cards.getSuitedValue(index);
+    }
+
+    /**
+     * The running totals for one hand
+     */
+    private static final class Estimate {
+        private final double[] totals = new double[NUM_BIDS];
+        private int numSamples;
+
+        synchronized int getNumSamples() {
+            return numSamples;
+        }
+
+        /**
+         * @param totals The score totals for each bid, then the number of samples
+         */
+        synchronized void add(double[] totals) {
+            for (int bid = 0; bid < NUM_BIDS; bid++) {
+                this.totals[bid] += totals[bid];
+            }
+            numSamples += (int) totals[NUM_BIDS];
+        }
+
+        synchronized double[] getMeans() {
+            double[] means = new double[NUM_BIDS];
+            for (int bid = 0; bid < NUM_BIDS; bid++) {
+                means[bid] = numSamples == 0 ? 0 : totals[bid] / numSamples;
+            }
+            return means;
+        }
+    }
+
+    /**
+     * Everything a rollout needs to know about the hand, shared read-only by the tasks
+     */
+    private static final class Rollouts implements Playouts.Decision {
+        private final CardSet hand;
+        private final CardSet unseen;
+        private final DealSampler sampler;
+        private final int partnerCardIndex;
+        private final Scorer scorer;
+        private final long deadline;
+
+        Rollouts(CardSet hand, Scorer scorer, long deadline) {
+            this.hand = hand;
+            this.unseen = CardSet.ALL.difference(hand);
+            DealSampler.Builder builder = DealSampler.builder()
+                    .hold(TAKER_SEAT, hand.getSuitedBits(), hand.getTrumpBits())
+                    .deal(unseen.getSuitedBits(), unseen.getTrumpBits())
+                    .room(DealSampler.GONE, Deck.DOG_SIZE);
+            for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+                if (seat != TAKER_SEAT) {
+                    builder.room(seat, Trick.TRICKS_PER_ROUND);
+                }
+            }
+            this.sampler = builder.build();
+            Card partnerCard = findPartnerCard(hand);
+            this.partnerCardIndex = partnerCard == null ? -1 : partnerCard.getIndex();
+            this.scorer = scorer;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int getNumCandidates() {
+            return NUM_BIDS;
+        }
+
+        /**
+         * @param totals Incremented with the taker's score for each bid, then the number of samples
+         */
+        @Override
+        public void rollOut(RandomSource rng, int numSamples, double[] totals) {
+            long[] hands = new long[GameState.HANDS_LENGTH];
+            for (int sample = 0; sample < numSamples && System.nanoTime() < deadline; sample++) {
+                sampler.sample(rng, hands);
+                CardSet dog = Playouts.findDog(unseen, hands);
+
+                // The dog goes to the attackers or the defenders as it is
+                addScores(rng, hands, dog, totals, Bid.GUARD_WITHOUT, Bid.GUARD_AGAINST);
+
+                CardSet kept = hand.union(dog);
+                CardSet aside = chooseAside(kept);
+                hands[2 * TAKER_SEAT] = kept.getSuitedBits() & ~aside.getSuitedBits();
+                hands[2 * TAKER_SEAT + 1] = kept.getTrumpBits() & ~aside.getTrumpBits();
+                addScores(rng, hands, aside, totals, Bid.SMALL, Bid.PUSH, Bid.GUARD);
+                totals[NUM_BIDS]++;
+            }
+        }
+
+        /**
+         * Plays 'hands' out once and scores it for each of 'bids'
+         */
+        private void addScores(RandomSource rng, long[] hands, CardSet aside, double[] totals, Bid... bids) {
+            // The called card may be in the dog, or the taker's own after taking the dog, and then the taker is alone
+            int partnerSeat = partnerCardIndex < 0 ? CardTracker.NO_SEAT : Playouts.findSeat(hands, partnerCardIndex);
+            int attackerSeats = Seats.mask(TAKER_SEAT);
+            if (partnerSeat != CardTracker.NO_SEAT) {
+                attackerSeats |= Seats.mask(partnerSeat);
+            }
+            GameState state = GameState.create(hands, attackerSeats, TAKER_SEAT);
+            Playouts.playOut(rng, state);
+            RoundLedger ledger = new RoundLedger(attackerSeats);
+            for (int i = 0; i < Trick.TRICKS_PER_ROUND; i++) {
+                ledger.addTrick(state.getTrick(i));
+            }
+            for (Bid bid : bids) {
+                float handScore = scorer.computeHandScore(bid, NO_HANDFUL, ledger, aside);
+                totals[bid.ordinal()] += Scorer.computePlayerScore(handScore, TAKER_SEAT, TAKER_SEAT, attackerSeats);
+            }
+        }
+
+        @Nullable
+        private static Card findPartnerCard(CardSet hand) {
+            for (CardSet cards : CALL_ORDER) {
+                CardSet missing = cards.difference(hand);
+                if (!missing.isEmpty()) {
+                    return missing.get(0);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import tarot.game.Bidding;
+import tarot.random.RandomSource;
 import tarot.state.Bid;
 import tarot.state.Hand;
 
@@ -13,7 +14,11 @@ public interface BiddingStrategy {
     Optional<Bid> bid(Hand hand, Bidding bidding);
 
     class Random implements BiddingStrategy {
-        private static final java.util.Random rng = new java.util.Random();
+        private final RandomSource rng;
+
+        public Random(RandomSource rng) {
+            this.rng = rng;
+        }
 
         @Override
         public Optional<Bid> bid(Hand hand, Bidding bidding) {
@@ -0,0 +1,278 @@
+package tarot.ai;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.base.Preconditions;
+
+import tarot.game.GameState;
+import tarot.game.LegalMoves;
+import tarot.game.PackedTricks;
+import tarot.game.RoundObserver;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.state.Bid;
+import tarot.state.Card;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Suit;
+
+/**
+ * Keeps track of what one seat knows about the cards as a round is played, updated with each event so that every
+ * query takes constant time: the cards it hasn't seen, what it still holds, the suits each seat has shown it is out
+ * of, the cards each seat has shown, the trumps still to be played and the tricks so far. Add it to
+ * {@link PlayerStrategies#getObservers()} for the seat it is created for. Not thread-safe.
+ */
+public final class CardTracker implements RoundObserver {
+    /**
+     * The bit for trump in {@link #getVoids(int)}. Suits use their {@link Suit#ordinal()}
+     */
+    public static final int TRUMP_VOID = Suit.values().length;
+    public static final int NO_SEAT = -1;
+
+    private static final int FOOL_INDEX = Trump.FOOL.getIndex();
+
+    // Stored as hands are in GameState
+    private final long[] shownBits = new long[GameState.HANDS_LENGTH];
+    private final int[] voids = new int[Seats.NUM_SEATS];
+    private final long[] tricks = new long[Trick.TRICKS_PER_ROUND];
+    private int seat;
+    private Optional<Bid> bid = Optional.empty();
+    private int takerSeat = NO_SEAT;
+    private int partnerSeat = NO_SEAT;
+    private Optional<Card> partnerCard = Optional.empty();
+    private CardSet handful = CardSet.EMPTY;
+    private long handSuitedBits;
+    private long handTrumpBits;
+    private long playedSuitedBits;
+    private long playedTrumpBits;
+    private long asideSuitedBits;
+    private long asideTrumpBits;
+    private int numTricks;
+    private long currentTrick = PackedTricks.EMPTY;
+
+    @Override
+    public void handleDeal(int seat, List<String> playerIds, CardSet hand) {
+        this.seat = seat;
+        this.handSuitedBits = hand.getSuitedBits();
+        this.handTrumpBits = hand.getTrumpBits();
+    }
+
+    @Override
+    public void handleBid(int seat, Optional<Bid> bid) {
+        if (bid.isPresent()) {
+            this.bid = bid;
+            takerSeat = seat;
+        }
+    }
+
+    @Override
+    public void handleCall(int takerSeat, Optional<Card> partnerCard) {
+        this.takerSeat = takerSeat;
+        this.partnerCard = partnerCard;
+    }
+
+    @Override
+    public void handleDog(CardSet dog) {
+        show(takerSeat, dog);
+        if (seat == takerSeat) {
+            handSuitedBits |= dog.getSuitedBits();
+            handTrumpBits |= dog.getTrumpBits();
+        }
+    }
+
+    @Override
+    public void handleAside(CardSet aside) {
+        handSuitedBits &= ~aside.getSuitedBits();
+        handTrumpBits &= ~aside.getTrumpBits();
+        asideSuitedBits = aside.getSuitedBits();
+        asideTrumpBits = aside.getTrumpBits();
+        shownBits[2 * seat] &= ~asideSuitedBits;
+        shownBits[2 * seat + 1] &= ~asideTrumpBits;
+    }
+
+    @Override
+    public void handleHandful(int seat, CardSet shownCards) {
+        handful = shownCards;
+        show(seat, shownCards);
+    }
+
+    @Override
+    public void handlePlay(int seat, Card card) {
+        int cardIndex = card.getIndex();
+        int ledSuit = PackedTricks.getLedSuit(currentTrick);
+        currentTrick = PackedTricks.addPlay(currentTrick, seat, cardIndex);
+        if (partnerCard.orElse(null) == card) {
+            partnerSeat = seat;
+        }
+        long bit = 1L << (Cards.isTrump(cardIndex) ? cardIndex - Cards.NUM_SUITED_CARDS : cardIndex);
+        int slot = 2 * seat + (Cards.isTrump(cardIndex) ? 1 : 0);
+        shownBits[slot] &= ~bit;
+        if (Cards.isTrump(cardIndex)) {
+            playedTrumpBits |= bit;
+            handTrumpBits &= ~bit;
+        } else {
+            playedSuitedBits |= bit;
+            handSuitedBits &= ~bit;
+        }
+
+        int suit = Cards.getSuitOrdinal(cardIndex);
+        if (cardIndex == FOOL_INDEX || ledSuit == LegalMoves.NOTHING_LED || suit == ledSuit) {
+            return;
+        }
+        if (ledSuit != LegalMoves.TRUMP_LED) {
+            voids[seat] |= 1 << ledSuit;
+        }
+        if (suit != LegalMoves.TRUMP_LED) {
+            voids[seat] |= 1 << TRUMP_VOID;
+        }
+    }
+
+    @Override
+    public void handleTrick(long trick, int winningSeat) {
+        Preconditions.checkState(PackedTricks.size(currentTrick) == Seats.NUM_SEATS, "Trick isn't complete");
+        tricks[numTricks] = trick;
+        numTricks++;
+        currentTrick = PackedTricks.EMPTY;
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * @return The highest bid so far, which is the contract once the bidding is over
+     */
+    public Optional<Bid> getBid() {
+        return bid;
+    }
+
+    /**
+     * @return The seat that took the contract or {@link #NO_SEAT} before anyone has bid
+     */
+    public int getTakerSeat() {
+        return takerSeat;
+    }
+
+    /**
+     * @return The seat that played the called card or {@link #NO_SEAT} until it is played
+     */
+    public int getPartnerSeat() {
+        return partnerSeat;
+    }
+
+    public int getNumTricks() {
+        return numTricks;
+    }
+
+    /**
+     * @return The number of cards played so far
+     */
+    public int getNumPlays() {
+        return numTricks * Seats.NUM_SEATS + PackedTricks.size(currentTrick);
+    }
+
+    /**
+     * @return A complete trick, packed with {@link PackedTricks} including its strong fool seats
+     */
+    public long getTrick(int numberInRound) {
+        Preconditions.checkElementIndex(numberInRound, numTricks);
+        return tricks[numberInRound];
+    }
+
+    /**
+     * @return The trick being played, packed with {@link PackedTricks} without its strong fool seats
+     */
+    public long getCurrentTrick() {
+        return currentTrick;
+    }
+
+    /**
+     * @return What this seat holds now
+     */
+    public CardSet getHand() {
+        return CardSet.fromBits(handSuitedBits, handTrumpBits);
+    }
+
+    /**
+     * @return The cards this seat put aside as the taker. Empty for every other seat and if the dog wasn't seen
+     */
+    public CardSet getAside() {
+        return CardSet.fromBits(asideSuitedBits, asideTrumpBits);
+    }
+
+    /**
+     * @return The handful the taker showed, if any
+     */
+    public CardSet getHandful() {
+        return handful;
+    }
+
+    /**
+     * @return The cards that have been played so far
+     */
+    public CardSet getPlayed() {
+        return CardSet.fromBits(playedSuitedBits, playedTrumpBits);
+    }
+
+    /**
+     * @return The cards this seat doesn't hold and hasn't seen played or put aside, i.e. those that are in another
+     * hand or out of sight in the dog. Cards that another seat has shown are included
+     */
+    public CardSet getUnseen() {
+        return CardSet.fromBits(getUnseenSuitedBits(), getUnseenTrumpBits());
+    }
+
+    public long getUnseenSuitedBits() {
+        return CardSet.ALL_SUITED.getSuitedBits() & ~playedSuitedBits & ~handSuitedBits & ~asideSuitedBits;
+    }
+
+    public long getUnseenTrumpBits() {
+        return CardSet.ALL_TRUMP.getTrumpBits() & ~playedTrumpBits & ~handTrumpBits & ~asideTrumpBits;
+    }
+
+    /**
+     * @return The number of trumps, including the fool, that are yet to be played by the other seats
+     */
+    public int getNumTrumpsOut() {
+        return Long.bitCount(getUnseenTrumpBits());
+    }
+
+    /**
+     * @return A mask of the suits (and {@link #TRUMP_VOID}) that 'seat' has shown it doesn't have
+     */
+    public int getVoids(int seat) {
+        return voids[seat];
+    }
+
+    public boolean isVoid(int seat, Suit suit) {
+        return (voids[seat] & (1 << suit.ordinal())) != 0;
+    }
+
+    /**
+     * @return The cards that 'seat' has shown, in a handful or as the taker who took the dog, and not played since.
+     * It still holds them unless it put them aside
+     */
+    public CardSet getShown(int seat) {
+        return CardSet.fromBits(shownBits[2 * seat], shownBits[2 * seat + 1]);
+    }
+
+    /**
+     * @return The number of cards 'seat' holds now
+     */
+    public int getNumCardsHeld(int seat) {
+        int numCards = Trick.TRICKS_PER_ROUND - numTricks;
+        for (int position = 0; position < PackedTricks.size(currentTrick); position++) {
+            if (PackedTricks.getSeat(currentTrick, position) == seat) {
+                return numCards - 1;
+            }
+        }
+        return numCards;
+    }
+
+    private void show(int seat, CardSet cards) {
+        shownBits[2 * seat] |= cards.getSuitedBits();
+        shownBits[2 * seat + 1] |= cards.getTrumpBits();
+    }
+}
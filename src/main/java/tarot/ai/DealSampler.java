@@ -0,0 +1,513 @@
+package tarot.ai;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+import tarot.game.GameState;
+import tarot.game.Output;
+import tarot.game.Seats;
+import tarot.random.RandomSource;
+import tarot.state.Cards;
+
+/**
+ * Deals hidden cards uniformly at random out of every deal that is consistent with what is known: how many cards each
+ * seat holds and which seats each card could be with (because of voids, a shown handful or the dog, say).
+ * <p>
+ * Call a card free if it can go to any target (a seat or {@link #GONE}) and constrained otherwise. When the sampler is
+ * built it counts, for each constrained card and each number of cards still to go to each target, the deals of that
+ * card and the ones after it. A sample deals the constrained cards one at a time, each to a target picked in
+ * proportion to the deals that leaves, so no deal is ever rejected however tight the constraints.
+ * <p>
+ * To keep the counts small, a target only gets its own count while some card still to deal can't go to it. The
+ * others are pooled: the cards dealt to the pool can go to any of them, so it only needs their total count, and when
+ * a target joins the pool the count of its deals is that of the pool's times the ways of picking its cards out of
+ * those the pool will get. The constrained cards are dealt a class of cards that can go to the same targets at a
+ * time, in an order that keeps targets out of the pool for few cards. The free cards go to the pool last, then the
+ * targets pick their cards out of it, each out of those dealt to the pool after it joined. Hands are stored as in
+ * {@link GameState}.
+ */
+public final class DealSampler {
+    /**
+     * Where the cards that no seat holds (the dog, say) are dealt
+     */
+    public static final int GONE = Seats.NUM_SEATS;
+
+    private static final int NUM_TARGETS = GONE + 1;
+    private static final int ALL_TARGETS = (1 << NUM_TARGETS) - 1;
+    // The counts a table index encodes: one for each target, then the pool's
+    private static final int POOL = NUM_TARGETS;
+    private static final int NUM_COUNTS = POOL + 1;
+    private static final double[] FACTORIALS = computeFactorials();
+
+    private final long[] heldBits;
+    private final int[] room;
+    private final int[] constrainedCards;
+    // For each constrained card, a mask of the targets with room it can go to
+    private final int[] cardMasks;
+    private final int[] freeCards;
+
+    // For each constrained card i, a mask of the targets that aren't pooled from card i on
+    private final int[] unpooledMasks;
+    // The targets that aren't pooled from the start, in the order they join the pool
+    private final int[] joinOrder;
+    // For each constrained card i and then the free cards, a table of the deals of constrained cards i onwards and the
+    // free cards for each number of cards still to go to each unpooled target and to the pool, up to the same factor
+    // for every deal for splitting the pool between the targets pooled from the start. A table index encodes the
+    // counts in mixed radix, except for the one with the most values which is the number of cards left minus the rest
+    private final int[] offsets;
+    private final int[] radices;
+    private final int[] strides;
+    private final int[] derivedCounts;
+    private final double[] deals;
+
+    private DealSampler(long[] heldBits, int[] room, int[] constrainedCards, int[] cardMasks, int[] freeCards) {
+        this.heldBits = heldBits;
+        this.room = room;
+        this.constrainedCards = constrainedCards;
+        this.cardMasks = cardMasks;
+        this.freeCards = freeCards;
+
+        int numCards = constrainedCards.length;
+        int targetsWithRoom = getTargetsWithRoom(room);
+        this.unpooledMasks = new int[numCards + 1];
+        for (int i = numCards - 1; i >= 0; i--) {
+            unpooledMasks[i] = unpooledMasks[i + 1] | (targetsWithRoom & ~cardMasks[i]);
+        }
+        int[] joinOrder = new int[NUM_TARGETS];
+        int numJoined = 0;
+        for (int i = 0; i < numCards; i++) {
+            for (int mask = getJoining(i); mask != 0; mask &= mask - 1) {
+                joinOrder[numJoined++] = Integer.numberOfTrailingZeros(mask);
+            }
+        }
+        this.joinOrder = Arrays.copyOf(joinOrder, numJoined);
+
+        this.offsets = new int[numCards + 2];
+        this.radices = new int[(numCards + 1) * NUM_COUNTS];
+        this.strides = new int[(numCards + 1) * NUM_COUNTS];
+        this.derivedCounts = new int[numCards + 1];
+        for (int i = 0; i <= numCards; i++) {
+            offsets[i + 1] = offsets[i] + layOut(i);
+        }
+        this.deals = new double[offsets[numCards + 1]];
+        countDeals();
+        Preconditions.checkArgument(
+                deals[encode(0, getInitialCounts())] > 0,
+                "No deal is consistent with the constraints");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Thread-safe
+     *
+     * @param hands Set to a consistent deal: each seat's held cards and whatever was dealt to it
+     */
+    public void sample(RandomSource rng, @Output long[] hands) {
+        System.arraycopy(heldBits, 0, hands, 0, heldBits.length);
+        int[] counts = getInitialCounts();
+        int[] nextCounts = new int[NUM_COUNTS];
+        // The constrained cards dealt to the pool, then the free cards
+        int[] pool = new int[constrainedCards.length + freeCards.length];
+        int poolSize = 0;
+        // For each target in joinOrder, how many cards it still needed and how many the pool had when it joined
+        int[] joinCounts = new int[joinOrder.length];
+        int[] joinPoolSizes = new int[joinOrder.length];
+        int numJoined = 0;
+        int index = encode(0, counts);
+        for (int i = 0; i < constrainedCards.length; i++) {
+            int target = pickTarget(rng, i, index, counts, nextCounts);
+            if (target == POOL) {
+                pool[poolSize++] = constrainedCards[i];
+            } else {
+                add(hands, target, constrainedCards[i]);
+            }
+            counts[target]--;
+            for (int mask = getJoining(i); mask != 0; mask &= mask - 1) {
+                int joining = Integer.numberOfTrailingZeros(mask);
+                joinCounts[numJoined] = counts[joining];
+                joinPoolSizes[numJoined++] = poolSize;
+                counts[POOL] += counts[joining];
+                counts[joining] = 0;
+            }
+            index = encode(i + 1, counts);
+        }
+
+        System.arraycopy(freeCards, 0, pool, poolSize, freeCards.length);
+        poolSize += freeCards.length;
+        // The targets that joined last pick first, as the cards they can have are among those the others can have
+        for (int j = joinOrder.length - 1; j >= 0; j--) {
+            for (int count = joinCounts[j]; count > 0; count--) {
+                add(hands, joinOrder[j], takeRandom(rng, pool, joinPoolSizes[j], poolSize--));
+            }
+        }
+        for (int target = 0; target < NUM_TARGETS; target++) {
+            if ((unpooledMasks[0] & (1 << target)) != 0) {
+                continue;
+            }
+            for (int count = room[target]; count > 0; count--) {
+                add(hands, target, takeRandom(rng, pool, 0, poolSize--));
+            }
+        }
+    }
+
+    /**
+     * @param counts Decoded from 'index'
+     * @return The target to deal constrained card 'i' to or {@link #POOL}
+     */
+    private int pickTarget(RandomSource rng, int i, int index, int[] counts, int[] nextCounts) {
+        double choice = rng.nextDouble() * deals[offsets[i] + index];
+        int target = POOL;
+        for (int t = 0; t < NUM_COUNTS && choice >= 0; t++) {
+            double targetDeals = countNext(i, index, counts, t, nextCounts);
+            if (targetDeals > 0) {
+                // If rounding leaves 'choice' just above zero at the end, this leaves the last possible target
+                target = t;
+                choice -= targetDeals;
+            }
+        }
+        return target;
+    }
+
+    private void countDeals() {
+        int numCards = constrainedCards.length;
+        int[] counts = new int[NUM_COUNTS];
+        int[] nextCounts = new int[NUM_COUNTS];
+        // Once the constrained cards are dealt, the free cards all go to the pool
+        for (int index = offsets[numCards]; index < offsets[numCards + 1]; index++) {
+            deals[index] = decode(numCards, index - offsets[numCards], counts) ? 1 : 0;
+        }
+        for (int i = numCards - 1; i >= 0; i--) {
+            for (int index = 0; index < offsets[i + 1] - offsets[i]; index++) {
+                if (!decode(i, index, counts)) {
+                    continue;
+                }
+                double count = 0;
+                for (int target = 0; target < NUM_COUNTS; target++) {
+                    count += countNext(i, index, counts, target, nextCounts);
+                }
+                deals[offsets[i] + index] = count;
+            }
+        }
+    }
+
+    /**
+     * @param counts Decoded from 'index'
+     * @return The deals of the cards after constrained card 'i' once it goes to 'target' or {@link #POOL}
+     */
+    private double countNext(int i, int index, int[] counts, int target, @Output int[] nextCounts) {
+        boolean canGo = target == POOL || (cardMasks[i] & unpooledMasks[i] & (1 << target)) != 0;
+        if (!canGo || counts[target] == 0) {
+            return 0;
+        }
+        int next = i + 1;
+        int joining = getJoining(i);
+        if (joining == 0) {
+            // The next table is laid out the same
+            return deals[offsets[next] + index - strides[next * NUM_COUNTS + target]];
+        }
+        System.arraycopy(counts, 0, nextCounts, 0, NUM_COUNTS);
+        nextCounts[target]--;
+        double ways = 1;
+        for (; joining != 0; joining &= joining - 1) {
+            int t = Integer.numberOfTrailingZeros(joining);
+            ways *= FACTORIALS[nextCounts[POOL] + nextCounts[t]] / FACTORIALS[nextCounts[POOL]]
+                    / FACTORIALS[nextCounts[t]];
+            nextCounts[POOL] += nextCounts[t];
+            nextCounts[t] = 0;
+        }
+        return ways * deals[offsets[next] + encode(next, nextCounts)];
+    }
+
+    /**
+     * @return A mask of the targets that join the pool once constrained card 'i' is dealt
+     */
+    private int getJoining(int i) {
+        return unpooledMasks[i] & ~unpooledMasks[i + 1];
+    }
+
+    /**
+     * Sets the radices, strides and derived count of the table for card 'i'
+     *
+     * @return The size of the table
+     */
+    private int layOut(int i) {
+        int base = i * NUM_COUNTS;
+        int poolRoom = 0;
+        for (int target = 0; target < NUM_TARGETS; target++) {
+            boolean unpooled = (unpooledMasks[i] & (1 << target)) != 0;
+            radices[base + target] = unpooled ? room[target] + 1 : 1;
+            poolRoom += unpooled ? 0 : room[target];
+        }
+        radices[base + POOL] = poolRoom + 1;
+        int derived = 0;
+        for (int c = 1; c < NUM_COUNTS; c++) {
+            derived = radices[base + c] > radices[base + derived] ? c : derived;
+        }
+        derivedCounts[i] = derived;
+        int size = 1;
+        for (int c = 0; c < NUM_COUNTS; c++) {
+            strides[base + c] = c == derived ? 0 : size;
+            size *= c == derived ? 1 : radices[base + c];
+        }
+        return size;
+    }
+
+    private int getNumLeft(int i) {
+        return constrainedCards.length - i + freeCards.length;
+    }
+
+    private int encode(int i, int[] counts) {
+        int index = 0;
+        for (int c = 0; c < NUM_COUNTS; c++) {
+            index += counts[c] * strides[i * NUM_COUNTS + c];
+        }
+        return index;
+    }
+
+    /**
+     * @return Whether 'index' encodes counts that add up to the number of cards left
+     */
+    private boolean decode(int i, int index, @Output int[] counts) {
+        int base = i * NUM_COUNTS;
+        int derived = derivedCounts[i];
+        int sum = 0;
+        for (int c = 0; c < NUM_COUNTS; c++) {
+            counts[c] = c == derived ? 0 : index / strides[base + c] % radices[base + c];
+            sum += counts[c];
+        }
+        counts[derived] = getNumLeft(i) - sum;
+        return counts[derived] >= 0 && counts[derived] < radices[base + derived];
+    }
+
+    private int[] getInitialCounts() {
+        int[] counts = new int[NUM_COUNTS];
+        for (int target = 0; target < NUM_TARGETS; target++) {
+            if ((unpooledMasks[0] & (1 << target)) != 0) {
+                counts[target] = room[target];
+            } else {
+                counts[POOL] += room[target];
+            }
+        }
+        return counts;
+    }
+
+    private static int getTargetsWithRoom(int[] room) {
+        int targetsWithRoom = 0;
+        for (int target = 0; target < NUM_TARGETS; target++) {
+            targetsWithRoom |= room[target] > 0 ? 1 << target : 0;
+        }
+        return targetsWithRoom;
+    }
+
+    /**
+     * Swaps a random card of 'pool' between 'from' (inclusive) and 'to' (exclusive) to the end and returns it
+     */
+    private static int takeRandom(RandomSource rng, int[] pool, int from, int to) {
+        int j = from + rng.nextInt(to - from);
+        int cardIndex = pool[j];
+        pool[j] = pool[to - 1];
+        pool[to - 1] = cardIndex;
+        return cardIndex;
+    }
+
+    private static void add(@Output long[] hands, int target, int cardIndex) {
+        if (target == GONE) {
+            return;
+        }
+        if (Cards.isTrump(cardIndex)) {
+            hands[2 * target + 1] |= 1L << (cardIndex - Cards.NUM_SUITED_CARDS);
+        } else {
+            hands[2 * target] |= 1L << cardIndex;
+        }
+    }
+
+    private static double[] computeFactorials() {
+        double[] factorials = new double[Cards.NUM_CARDS + 1];
+        factorials[0] = 1;
+        for (int n = 1; n < factorials.length; n++) {
+            factorials[n] = factorials[n - 1] * n;
+        }
+        return factorials;
+    }
+
+    public static final class Builder {
+        private final long[] heldBits = new long[GameState.HANDS_LENGTH];
+        private final int[] room = new int[NUM_TARGETS];
+        // The targets each card could be dealt to
+        private final int[] targets = new int[Cards.NUM_CARDS];
+        private final boolean[] toDeal = new boolean[Cards.NUM_CARDS];
+
+        private Builder() {
+            Arrays.fill(targets, ALL_TARGETS);
+        }
+
+        /**
+         * Cards that 'seat' is known to hold, which are in every sample as they are
+         */
+        public Builder hold(int seat, long suitedBits, long trumpBits) {
+            heldBits[2 * seat] |= suitedBits;
+            heldBits[2 * seat + 1] |= trumpBits;
+            return this;
+        }
+
+        /**
+         * Cards to deal, to the seats and {@link #GONE}
+         */
+        public Builder deal(long suitedBits, long trumpBits) {
+            for (int cardIndex : toIndexes(suitedBits, trumpBits)) {
+                toDeal[cardIndex] = true;
+            }
+            return this;
+        }
+
+        /**
+         * @param target A seat or {@link #GONE}
+         * @param numCards How many of the cards to deal 'target' gets
+         */
+        public Builder room(int target, int numCards) {
+            room[target] = numCards;
+            return this;
+        }
+
+        /**
+         * Cards that 'seat' can't have, e.g. because it has shown it is out of their suit
+         */
+        public Builder exclude(int seat, long suitedBits, long trumpBits) {
+            for (int cardIndex : toIndexes(suitedBits, trumpBits)) {
+                targets[cardIndex] &= ~Seats.mask(seat);
+            }
+            return this;
+        }
+
+        /**
+         * Cards that can only be with 'seats' or {@link #GONE}, e.g. because they were shown in a seat's handful and
+         * might have been played since
+         *
+         * @param seats A {@link Seats} mask
+         */
+        public Builder restrict(long suitedBits, long trumpBits, int seats) {
+            for (int cardIndex : toIndexes(suitedBits, trumpBits)) {
+                targets[cardIndex] &= seats | (1 << GONE);
+            }
+            return this;
+        }
+
+        public DealSampler build() {
+            int totalRoom = 0;
+            int numCards = 0;
+            for (int target = 0; target < NUM_TARGETS; target++) {
+                totalRoom += room[target];
+            }
+            for (int cardIndex = 0; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+                numCards += toDeal[cardIndex] ? 1 : 0;
+            }
+            Preconditions.checkArgument(
+                    totalRoom == numCards,
+                    "Room for %s cards but %s to deal",
+                    totalRoom,
+                    numCards);
+
+            int targetsWithRoom = getTargetsWithRoom(room);
+            int[] classSizes = new int[ALL_TARGETS + 1];
+            int[] freeCards = new int[numCards];
+            int numFree = 0;
+            for (int cardIndex = 0; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+                if (!toDeal[cardIndex]) {
+                    continue;
+                }
+                int mask = targets[cardIndex] & targetsWithRoom;
+                if (mask == targetsWithRoom) {
+                    freeCards[numFree++] = cardIndex;
+                } else {
+                    classSizes[mask]++;
+                }
+            }
+
+            int[] constrainedCards = new int[numCards - numFree];
+            int[] cardMasks = new int[constrainedCards.length];
+            int i = constrainedCards.length;
+            for (int mask : orderClasses(classSizes, targetsWithRoom)) {
+                for (int cardIndex = Cards.NUM_CARDS - 1; cardIndex >= 0; cardIndex--) {
+                    if (toDeal[cardIndex] && (targets[cardIndex] & targetsWithRoom) == mask) {
+                        constrainedCards[--i] = cardIndex;
+                        cardMasks[i] = mask;
+                    }
+                }
+            }
+            return new DealSampler(
+                    heldBits.clone(),
+                    room.clone(),
+                    constrainedCards,
+                    cardMasks,
+                    Arrays.copyOf(freeCards, numFree));
+        }
+
+        /**
+         * Picks the class of constrained cards to deal last, then the one before it and so on, each time the one with
+         * the smallest table for its first card
+         *
+         * @param classSizes For each mask of targets with room, how many constrained cards can go to just those
+         * @return The masks of the classes from last to first
+         */
+        private int[] orderClasses(int[] classSizes, int targetsWithRoom) {
+            int[] order = new int[classSizes.length];
+            int numClasses = 0;
+            boolean[] ordered = new boolean[classSizes.length];
+            int unpooled = 0;
+            while (true) {
+                int best = -1;
+                long bestSize = Long.MAX_VALUE;
+                for (int mask = 0; mask < classSizes.length; mask++) {
+                    if (classSizes[mask] == 0 || ordered[mask]) {
+                        continue;
+                    }
+                    long size = getTableSize(unpooled | (targetsWithRoom & ~mask));
+                    if (size < bestSize || (size == bestSize && classSizes[mask] > classSizes[best])) {
+                        best = mask;
+                        bestSize = size;
+                    }
+                }
+                if (best < 0) {
+                    return Arrays.copyOf(order, numClasses);
+                }
+                ordered[best] = true;
+                order[numClasses++] = best;
+                unpooled |= targetsWithRoom & ~best;
+            }
+        }
+
+        /**
+         * @return The size of the table for a card when the targets in 'unpooled' aren't pooled, as it is laid out
+         */
+        private long getTableSize(int unpooled) {
+            long size = 1;
+            int mostValues = 1;
+            int poolRoom = 0;
+            for (int target = 0; target < NUM_TARGETS; target++) {
+                if ((unpooled & (1 << target)) != 0) {
+                    size *= room[target] + 1;
+                    mostValues = Math.max(mostValues, room[target] + 1);
+                } else {
+                    poolRoom += room[target];
+                }
+            }
+            return size * (poolRoom + 1) / Math.max(mostValues, poolRoom + 1);
+        }
+
+        private static int[] toIndexes(long suitedBits, long trumpBits) {
+            int[] indexes = new int[Long.bitCount(suitedBits) + Long.bitCount(trumpBits)];
+            int i = 0;
+            for (long bits = suitedBits; bits != 0; bits &= bits - 1) {
+                indexes[i++] = Long.numberOfTrailingZeros(bits);
+            }
+            for (long bits = trumpBits; bits != 0; bits &= bits - 1) {
+                indexes[i++] = Cards.NUM_SUITED_CARDS + Long.numberOfTrailingZeros(bits);
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package tarot.ai;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The search budget and parameters for {@link IsmctsTrickStrategy}
+ */
+@Value.Immutable
+public interface IsmctsConfig {
+    /**
+     * @return The most search iterations (one sampled deal played from the root to the end of the round) per decision
+     */
+    @Value.Default
+    default int getIterationsPerDecision() {
+        return 2000;
+    }
+
+    /**
+     * @return The most time to spend per decision, if limited
+     */
+    OptionalLong getMillisPerDecision();
+
+    /**
+     * @return The weight of the exploration term of UCB, with rewards scaled to [0, 1]
+     */
+    @Value.Default
+    default double getExplorationConstant() {
+        return 0.7;
+    }
+
+    /**
+     * Shared by every strategy using this config. Each decision is searched by {@link ForkJoinPool#getParallelism()}
+     * tasks sharing one tree
+     */
+    @Value.Default
+    default ForkJoinPool getPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(
+                getIterationsPerDecision() > 0,
+                "Iterations per decision must be positive: %s",
+                getIterationsPerDecision());
+        Preconditions.checkArgument(
+                !getMillisPerDecision().isPresent() || getMillisPerDecision().getAsLong() > 0,
+                "Millis per decision must be positive: %s",
+                getMillisPerDecision());
+        Preconditions.checkArgument(
+                getExplorationConstant() >= 0,
+                "Exploration constant must be non-negative: %s",
+                getExplorationConstant());
+    }
+}
@@ -0,0 +1,345 @@
+package tarot.ai;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+
+import tarot.game.Bidding;
+import tarot.game.GameState;
+import tarot.game.LegalMoves;
+import tarot.game.PackedTricks;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Seats;
+import tarot.game.Trick.Play;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Hand;
+
+/**
+ * Information set Monte Carlo tree search. Every iteration samples a deal consistent with what this player has seen
+ * (see {@link CardTracker}), walks the tree with UCB (counting a child as available whenever its play is legal in the
+ * sampled deal), adds one node and plays the rest of the round out randomly. Every play is public, so the tree has a
+ * node for each seat's plays. It is kept in the round state and re-rooted on the plays made since the last decision
+ * rather than rebuilt.
+ * <p>
+ * Rewards are the {@link Scorer} outcome of the whole round for the side of the seat making each play, as in
+ * {@link MonteCarloTrickStrategy}. Searches are run by several tasks sharing one tree, each marking the nodes it is
+ * visiting with a virtual loss so that the others spread out.
+ */
+public class IsmctsTrickStrategy extends AbstractTrickStrategy<IsmctsTrickStrategy.RoundState> {
+    private static final Logger log = LoggerFactory.getLogger(IsmctsTrickStrategy.class);
+
+    private static final int INITIAL_TREE_CAPACITY = 4096;
+    // Hand scores are clamped to this, well above what PalantirScorer gives, and shifted by it so that no reward is
+    // negative and a virtual loss counts as the worst outcome
+    private static final int MAX_HAND_SCORE = 250;
+    private static final double MAX_REWARD = 2 * MAX_HAND_SCORE;
+
+    private final CardTracker tracker;
+    private final IsmctsConfig config;
+    private final Scorer scorer;
+    private final RandomSource rng;
+
+    /**
+     * @param tracker Observes the round for the player using this strategy. It must be one of the player's
+     *                {@link PlayerStrategies#getObservers()}
+     */
+    public IsmctsTrickStrategy(CardTracker tracker, IsmctsConfig config, Scorer scorer, RandomSource rng) {
+        this.tracker = tracker;
+        this.config = config;
+        this.scorer = scorer;
+        this.rng = rng;
+    }
+
+    @Override
+    public Set<Card> checkHandful(Hand hand, Bidding bidding) {
+        return ImmutableSet.of();
+    }
+
+    @Override
+    public void handleHandful(Set<Card> shownCards, Bidding bidding, List<String> playerIds, Hand currentHand) {
+        // The tracker sees it
+    }
+
+    @Override
+    public void handleDog(Set<Card> dog, @Nullable Set<Card> aside, Bidding bidding, List<String> playerIds) {
+        // The tracker sees it
+    }
+
+    @Override
+    protected Result<RoundState> pickCardInner(List<Play> currentTrick,
+                                               Hand hand,
+                                               Bidding bidding,
+                                               List<String> playerIds,
+                                               String takerId,
+                                               @Nullable Card partnerCard,
+                                               @Nullable RoundState roundState) {
+        RoundState state = roundState == null ? new RoundState(tracker) : roundState;
+        state.reroot();
+
+        CardSet legalMoves = LegalMoves.getLegalMoves(hand.getCards(), currentTrick);
+        Card card;
+        if (legalMoves.size() == 1) {
+            card = legalMoves.get(0);
+        } else {
+            card = search(state, legalMoves, partnerCard);
+        }
+        state.play();
+        return ImmutableResult.<RoundState>builder().play(card).roundState(state).build();
+    }
+
+    private Card search(RoundState state, CardSet legalMoves, @Nullable Card partnerCard) {
+        long start = System.nanoTime();
+        long deadline = config.getMillisPerDecision().isPresent()
+                ? start + TimeUnit.MILLISECONDS.toNanos(config.getMillisPerDecision().getAsLong())
+                : Long.MAX_VALUE;
+        int reusedNodes = state.tree.size();
+        Search search = new Search(
+                tracker,
+                state.tree,
+                partnerCard,
+                scorer,
+                config.getExplorationConstant(),
+                deadline);
+        config.getPool().invoke(new SearchTask(
+                search,
+                rng.split(),
+                config.getIterationsPerDecision(),
+                config.getPool().getParallelism()));
+
+        SearchTree tree = state.tree;
+        int best = SearchTree.NONE;
+        int child = tree.getFirstChild(SearchTree.ROOT);
+        for (; child != SearchTree.NONE; child = tree.getNextSibling(child)) {
+            if (best == SearchTree.NONE || tree.getVisits(child) > tree.getVisits(best)) {
+                best = child;
+            }
+        }
+        // Only possible if the deadline passed before the first iteration
+        Card card = best == SearchTree.NONE ? legalMoves.get(0) : Cards.fromIndex(tree.getCardIndex(best));
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Searched {} nodes ({} reused) in {}us, picked {}",
+                    tree.size(),
+                    reusedNodes,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    card);
+        }
+        return card;
+    }
+
+    static final class RoundState {
+        private final CardTracker tracker;
+        private SearchTree tree = new SearchTree(INITIAL_TREE_CAPACITY);
+        // The number of cards played in the round at the root of 'tree' or -1 before this player's first play
+        private int rootNumPlays = -1;
+
+        RoundState(CardTracker tracker) {
+            this.tracker = tracker;
+        }
+
+        SearchTree getTree() {
+            return tree;
+        }
+
+        /**
+         * Records that this player is about to play, at the root of the tree
+         */
+        void play() {
+            rootNumPlays = tracker.getNumPlays();
+        }
+
+        /**
+         * Moves the root to the node reached by the plays the tracker has seen since this player's last play, its own
+         * included, or starts a new tree if the search never got there
+         */
+        void reroot() {
+            if (rootNumPlays < 0) {
+                return;
+            }
+            int node = SearchTree.ROOT;
+            for (int play = rootNumPlays; play < tracker.getNumPlays() && node != SearchTree.NONE; play++) {
+                int numTrick = play / Seats.NUM_SEATS;
+                long trick = numTrick < tracker.getNumTricks() ? tracker.getTrick(numTrick) : tracker.getCurrentTrick();
+                int position = play % Seats.NUM_SEATS;
+                node = tree.findChild(
+                        node,
+                        PackedTricks.getSeat(trick, position),
+                        PackedTricks.getCardIndex(trick, position));
+            }
+            tree = node == SearchTree.NONE ? new SearchTree(INITIAL_TREE_CAPACITY) : tree.subtree(node);
+        }
+    }
+
+    /**
+     * One decision's search, shared by the tasks. Everything but the tree is read-only, the tracker included since it
+     * doesn't change while the player is deciding
+     */
+    private static final class Search {
+        private final CardTracker tracker;
+        private final SearchTree tree;
+        private final DealSampler sampler;
+        private final int partnerCardIndex;
+        private final Scorer scorer;
+        private final double explorationConstant;
+        private final long deadline;
+
+        Search(CardTracker tracker,
+               SearchTree tree,
+               @Nullable Card partnerCard,
+               Scorer scorer,
+               double explorationConstant,
+               long deadline) {
+            this.tracker = tracker;
+            this.tree = tree;
+            this.sampler = Playouts.createSampler(tracker);
+            this.partnerCardIndex = partnerCard == null ? -1 : partnerCard.getIndex();
+            this.scorer = scorer;
+            this.explorationConstant = explorationConstant;
+            this.deadline = deadline;
+        }
+
+        void run(RandomSource rng, int numIterations) {
+            long[] hands = new long[GameState.HANDS_LENGTH];
+            // A play per card at most
+            int[] path = new int[Cards.NUM_CARDS];
+            for (int i = 0; i < numIterations && System.nanoTime() < deadline; i++) {
+                iterate(rng, hands, path);
+            }
+        }
+
+        private void iterate(RandomSource rng, long[] hands, int[] path) {
+            sampler.sample(rng, hands);
+            int attackerSeats = Playouts.getAttackerSeats(hands, tracker, partnerCardIndex);
+            RoundLedger ledger = Playouts.createLedger(tracker, attackerSeats);
+            GameState state = Playouts.resume(hands, tracker, ledger);
+
+            int pathLength = 0;
+            synchronized (tree) {
+                int node = SearchTree.ROOT;
+                while (!state.isComplete()) {
+                    int seat = state.getNextSeat();
+                    int child = select(rng, node, state);
+                    boolean expanded = child < 0;
+                    node = expanded ? tree.addChild(node, seat, -child - 1) : child;
+                    tree.addVirtualLoss(node);
+                    path[pathLength++] = node;
+
+                    state.apply(tree.getCardIndex(node));
+                    if (expanded) {
+                        break;
+                    }
+                }
+            }
+
+            Playouts.playOut(rng, state);
+            float handScore = Playouts.computeHandScore(
+                    scorer,
+                    tracker,
+                    Playouts.findAside(tracker, hands),
+                    ledger,
+                    state);
+            long attackerReward = Math.round(Math.max(-MAX_HAND_SCORE, Math.min(handScore, MAX_HAND_SCORE)));
+            synchronized (tree) {
+                for (int i = 0; i < pathLength; i++) {
+                    int node = path[i];
+                    boolean attacker = Seats.contains(attackerSeats, tree.getSeat(node));
+                    tree.addReward(node, MAX_HAND_SCORE + (attacker ? attackerReward : -attackerReward));
+                }
+            }
+        }
+
+        /**
+         * Marks every child legal in the sampled deal as available and picks the one with the best upper confidence
+         * bound, unless some legal play has no child yet
+         *
+         * @return The child to visit or, if one of the legal plays hasn't been tried, minus one minus its card index
+         */
+        private int select(RandomSource rng, int node, GameState state) {
+            int seat = state.getNextSeat();
+            long legalSuitedBits = state.getLegalSuitedBits();
+            long legalTrumpBits = state.getLegalTrumpBits();
+
+            long untriedSuitedBits = legalSuitedBits;
+            long untriedTrumpBits = legalTrumpBits;
+            int best = SearchTree.NONE;
+            double bestBound = Double.NEGATIVE_INFINITY;
+            for (int child = tree.getFirstChild(node); child != SearchTree.NONE; child = tree.getNextSibling(child)) {
+                if (tree.getSeat(child) != seat) {
+                    continue;
+                }
+                int cardIndex = tree.getCardIndex(child);
+                if (Cards.isTrump(cardIndex)) {
+                    long bit = 1L << (cardIndex - Cards.NUM_SUITED_CARDS);
+                    if ((legalTrumpBits & bit) == 0) {
+                        continue;
+                    }
+                    untriedTrumpBits &= ~bit;
+                } else {
+                    long bit = 1L << cardIndex;
+                    if ((legalSuitedBits & bit) == 0) {
+                        continue;
+                    }
+                    untriedSuitedBits &= ~bit;
+                }
+                tree.addAvailability(child);
+                double bound = computeUpperBound(child);
+                if (bound > bestBound) {
+                    best = child;
+                    bestBound = bound;
+                }
+            }
+
+            if ((untriedSuitedBits | untriedTrumpBits) != 0) {
+                return -Playouts.pickCard(rng, untriedSuitedBits, untriedTrumpBits) - 1;
+            }
+            return best;
+        }
+
+        private double computeUpperBound(int node) {
+            double visits = tree.getVisits(node);
+            return tree.getReward(node) / (visits * MAX_REWARD)
+                    + explorationConstant * Math.sqrt(Math.log(tree.getAvailability(node)) / visits);
+        }
+    }
+
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final RandomSource rng;
+        private final int numIterations;
+        private final int numTasks;
+
+        SearchTask(Search search, RandomSource rng, int numIterations, int numTasks) {
+            this.search = search;
+            this.rng = rng;
+            this.numIterations = numIterations;
+            this.numTasks = numTasks;
+        }
+
+        @Override
+        protected void compute() {
+            if (numTasks <= 1 || numIterations <= 1) {
+                search.run(rng, numIterations);
+                return;
+            }
+            int leftTasks = numTasks / 2;
+            int leftIterations = (int) ((long) numIterations * leftTasks / numTasks);
+            invokeAll(
+                    new SearchTask(search, rng.split(), leftIterations, leftTasks),
+                    new SearchTask(search, rng.split(), numIterations - leftIterations, numTasks - leftTasks));
+        }
+    }
+}
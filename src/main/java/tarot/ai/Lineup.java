@@ -0,0 +1,54 @@
+package tarot.ai;
+
+import tarot.game.Scorer;
+import tarot.random.RandomSource;
+
+/**
+ * Decides which strategies sit in which seat. Called once per player per round, so the strategies returned may keep
+ * state for the round.
+ */
+@FunctionalInterface
+public interface Lineup {
+    /**
+     * @param rng Owned by the player in 'seat' for the round
+     */
+    PlayerStrategies create(int seat, RandomSource rng);
+
+    static Lineup random() {
+        return (seat, rng) -> PlayerStrategies.random(rng);
+    }
+
+    /**
+     * Random strategies except for a {@link MonteCarloTrickStrategy} in every seat, observing the round through a
+     * {@link CardTracker}
+     */
+    static Lineup monteCarlo(MonteCarloConfig config, Scorer scorer) {
+        return (seat, rng) -> {
+            CardTracker tracker = new CardTracker();
+            return ImmutablePlayerStrategies.copyOf(PlayerStrategies.random(rng))
+                    .withTrickStrategy(new MonteCarloTrickStrategy(tracker, config, scorer, rng.split()))
+                    .withObservers(tracker);
+        };
+    }
+
+    /**
+     * Random strategies except for a {@link SimulationBiddingStrategy} in every seat, all sharing 'estimator'
+     */
+    static Lineup simulationBidding(BidEstimator estimator) {
+        return (seat, rng) -> ImmutablePlayerStrategies.copyOf(PlayerStrategies.random(rng))
+                .withBiddingStrategy(new SimulationBiddingStrategy(estimator, rng.split()));
+    }
+
+    /**
+     * Random strategies except for an {@link IsmctsTrickStrategy} in every seat, observing the round through a
+     * {@link CardTracker}
+     */
+    static Lineup ismcts(IsmctsConfig config, Scorer scorer) {
+        return (seat, rng) -> {
+            CardTracker tracker = new CardTracker();
+            return ImmutablePlayerStrategies.copyOf(PlayerStrategies.random(rng))
+                    .withTrickStrategy(new IsmctsTrickStrategy(tracker, config, scorer, rng.split()))
+                    .withObservers(tracker);
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package tarot.ai;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The search budget for {@link MonteCarloTrickStrategy}, {@link MonteCarloDogStrategy} and
+ * {@link MonteCarloPartnerStrategy}
+ */
+@Value.Immutable
+public interface MonteCarloConfig {
+    /**
+     * @return The most rollouts (one playout of one legal card in one sampled deal) to run per decision
+     */
+    @Value.Default
+    default int getRolloutsPerDecision() {
+        return 1000;
+    }
+
+    /**
+     * @return The most time to spend per decision, if limited
+     */
+    OptionalLong getMillisPerDecision();
+
+    /**
+     * Shared by every strategy using this config. Each decision is split into {@link ForkJoinPool#getParallelism()}
+     * tasks
+     */
+    @Value.Default
+    default ForkJoinPool getPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(
+                getRolloutsPerDecision() > 0,
+                "Rollouts per decision must be positive: %s",
+                getRolloutsPerDecision());
+        Preconditions.checkArgument(
+                !getMillisPerDecision().isPresent() || getMillisPerDecision().getAsLong() > 0,
+                "Millis per decision must be positive: %s",
+                getMillisPerDecision());
+    }
+}
@@ -0,0 +1,271 @@
+package tarot.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tarot.game.Bidding;
+import tarot.game.GameState;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+import tarot.state.Hand;
+
+/**
+ * Tries every aside: deals the cards it can't see to the other seats, plays each aside out in the same deals with
+ * random legal play from every seat (see {@link MonteCarloTrickStrategy}) and keeps the aside whose side ends up with
+ * the most card points, counting the aside. The candidates are split between the pool's workers.
+ * <p>
+ * Rois and bouts are never put aside and trumps only when there aren't enough other cards. Asides that only differ
+ * by which low cards (1 to 10) of a suit they keep aren't tried: keeping the higher ones is never worse, so only
+ * asides that put aside the lowest low cards of each suit are candidates.
+ */
+public class MonteCarloDogStrategy extends AbstractDogStrategy {
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloDogStrategy.class);
+
+    private static final CardSet NEVER_ASIDE = Cards.getRois().union(Cards.getBouts());
+    // The lowest card that isn't a low card
+    private static final int MIN_FACE_VALUE = 11;
+
+    private final MonteCarloConfig config;
+    private final RandomSource rng;
+
+    public MonteCarloDogStrategy(MonteCarloConfig config, RandomSource rng) {
+        this.config = config;
+        this.rng = rng;
+    }
+
+    @Override
+    protected Set<Card> chooseAsideInner(Hand hand, Set<Card> dog, Bidding bidding, @Nullable Card partnerCard) {
+        CardSet cards = hand.getCards().union(CardSet.copyOf(dog));
+        List<CardSet> candidates = findCandidates(cards);
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        long start = System.nanoTime();
+        long deadline = config.getMillisPerDecision().isPresent()
+                ? start + TimeUnit.MILLISECONDS.toNanos(config.getMillisPerDecision().getAsLong())
+                : Long.MAX_VALUE;
+        int numDeals = Math.max(1, config.getRolloutsPerDecision() / candidates.size());
+        Search search = new Search(
+                cards,
+                candidates,
+                bidding.getTaker().get().getSeat(),
+                partnerCard,
+                rng.split(),
+                numDeals,
+                deadline);
+        config.getPool().invoke(new SearchTask(search, 0, candidates.size(), config.getPool().getParallelism()));
+
+        // The deadline can stop some tasks before others, so only compare the deals every candidate was played out in
+        int numCommonDeals = search.getNumCommonDeals();
+        int best = 0;
+        for (int i = 1; i < candidates.size(); i++) {
+            if (search.getTotal(i, numCommonDeals) > search.getTotal(best, numCommonDeals)) {
+                best = i;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Rolled out {} asides in {} deals in {}us, picked {}",
+                    candidates.size(),
+                    numCommonDeals,
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    candidates.get(best));
+        }
+        return candidates.get(best);
+    }
+
+    /**
+     * @param cards The hand and the dog
+     * @return Every aside worth trying
+     */
+    static List<CardSet> findCandidates(CardSet cards) {
+        CardSet allowed = cards.getSuited().difference(NEVER_ASIDE);
+        List<CardSet> candidates = new ArrayList<>();
+        if (allowed.size() < Deck.DOG_SIZE) {
+            // Every allowed card and the lowest trumps, which are never worse to put aside than higher ones
+            CardSet.Builder aside = CardSet.builder().addAll(allowed);
+            CardSet trumps = cards.getTrump().difference(NEVER_ASIDE);
+            for (int i = 0; i < Deck.DOG_SIZE - allowed.size(); i++) {
+                aside.add(trumps.get(i));
+            }
+            candidates.add(aside.build());
+            return candidates;
+        }
+        for (int i = 0; i < allowed.size(); i++) {
+            for (int j = i + 1; j < allowed.size(); j++) {
+                for (int k = j + 1; k < allowed.size(); k++) {
+                    CardSet aside = CardSet.of(allowed.get(i), allowed.get(j), allowed.get(k));
+                    if (keepsHighestLowCards(cards, aside)) {
+                        candidates.add(aside);
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return Whether every low card in 'aside' only has low cards of its suit below it that are also in 'aside'
+     */
+    private static boolean keepsHighestLowCards(CardSet cards, CardSet aside) {
+        for (Card card : aside) {
+            int index = card.getIndex();
+            if (Cards.getSuitedValue(index) >= MIN_FACE_VALUE) {
+                continue;
+            }
+            for (Card other : cards.difference(aside)) {
+                int otherIndex = other.getIndex();
+                if (Cards.getSuitOrdinal(otherIndex) == Cards.getSuitOrdinal(index)
+                        && Cards.getSuitedValue(otherIndex) < Cards.getSuitedValue(index)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The deals and each candidate's points in them. The deals are shared read-only by the tasks and each task
+     * only updates the points of its own candidates
+     */
+    private static final class Search {
+        private final CardSet cards;
+        private final List<CardSet> candidates;
+        private final int takerSeat;
+        private final int partnerCardIndex;
+        private final long deadline;
+        // The other seats' hands in each deal. The taker's hand is set per candidate
+        private final long[][] deals;
+        // Each deal's candidates are played out with the same source so that they are compared on equal terms
+        private final long[] seeds;
+        // Each candidate's points in each deal, in the order the deals are played out
+        private final int[][] doublePoints;
+        private final int[] counts;
+
+        Search(CardSet cards,
+               List<CardSet> candidates,
+               int takerSeat,
+               @Nullable Card partnerCard,
+               RandomSource rng,
+               int numDeals,
+               long deadline) {
+            this.cards = cards;
+            this.candidates = candidates;
+            this.takerSeat = takerSeat;
+            this.partnerCardIndex = partnerCard == null ? -1 : partnerCard.getIndex();
+            this.deadline = deadline;
+            this.deals = new long[numDeals][GameState.HANDS_LENGTH];
+            this.seeds = new long[numDeals];
+            this.doublePoints = new int[candidates.size()][numDeals];
+            this.counts = new int[candidates.size()];
+
+            CardSet unseen = CardSet.ALL.difference(cards);
+            DealSampler.Builder builder = DealSampler.builder().deal(unseen.getSuitedBits(), unseen.getTrumpBits());
+            for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+                if (seat != takerSeat) {
+                    builder.room(seat, Trick.TRICKS_PER_ROUND);
+                }
+            }
+            DealSampler sampler = builder.build();
+            for (int deal = 0; deal < numDeals; deal++) {
+                sampler.sample(rng, deals[deal]);
+                seeds[deal] = rng.nextLong();
+            }
+        }
+
+        /**
+         * @return The number of deals that every candidate was played out in. Each task plays the deals in order, so
+         * they are the first ones
+         */
+        int getNumCommonDeals() {
+            int numCommonDeals = deals.length;
+            for (int count : counts) {
+                numCommonDeals = Math.min(numCommonDeals, count);
+            }
+            return numCommonDeals;
+        }
+
+        long getTotal(int candidate, int numDeals) {
+            long total = 0;
+            for (int deal = 0; deal < numDeals; deal++) {
+                total += doublePoints[candidate][deal];
+            }
+            return total;
+        }
+
+        /**
+         * @return The taker and whoever holds the called card, which may be the taker
+         */
+        private int getAttackerSeats(long[] hands) {
+            int partnerSeat = partnerCardIndex < 0 ? CardTracker.NO_SEAT : Playouts.findSeat(hands, partnerCardIndex);
+            return Seats.mask(takerSeat) | (partnerSeat == CardTracker.NO_SEAT ? 0 : Seats.mask(partnerSeat));
+        }
+
+        void rollOut(int fromCandidate, int toCandidate) {
+            long[] hands = new long[GameState.HANDS_LENGTH];
+            for (int deal = 0; deal < deals.length && System.nanoTime() < deadline; deal++) {
+                System.arraycopy(deals[deal], 0, hands, 0, hands.length);
+                for (int i = fromCandidate; i < toCandidate; i++) {
+                    CardSet aside = candidates.get(i);
+                    hands[2 * takerSeat] = cards.getSuitedBits() & ~aside.getSuitedBits();
+                    hands[2 * takerSeat + 1] = cards.getTrumpBits() & ~aside.getTrumpBits();
+                    GameState state = GameState.create(hands, getAttackerSeats(hands), 0);
+                    Playouts.playOut(RandomSource.xoshiro(seeds[deal]), state);
+                    doublePoints[i][deal] = state.getAttackerDoublePoints() + computeDoublePoints(aside);
+                    counts[i]++;
+                }
+            }
+        }
+    }
+
+    private static int computeDoublePoints(CardSet cards) {
+        int doublePoints = 0;
+        for (Card card : cards) {
+            doublePoints += Cards.getDoublePoints(card);
+        }
+        return doublePoints;
+    }
+
+    private static final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Search search;
+        private final int fromCandidate;
+        private final int toCandidate;
+        private final int numTasks;
+
+        SearchTask(Search search, int fromCandidate, int toCandidate, int numTasks) {
+            this.search = search;
+            this.fromCandidate = fromCandidate;
+            this.toCandidate = toCandidate;
+            this.numTasks = numTasks;
+        }
+
+        @Override
+        protected void compute() {
+            if (numTasks <= 1 || toCandidate - fromCandidate <= 1) {
+                search.rollOut(fromCandidate, toCandidate);
+                return;
+            }
+            int leftTasks = numTasks / 2;
+            int mid = fromCandidate + (int) ((long) (toCandidate - fromCandidate) * leftTasks / numTasks);
+            invokeAll(
+                    new SearchTask(search, fromCandidate, mid, leftTasks),
+                    new SearchTask(search, mid, toCandidate, numTasks - leftTasks));
+        }
+    }
+}
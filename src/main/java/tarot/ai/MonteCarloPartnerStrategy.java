@@ -0,0 +1,174 @@
+package tarot.ai;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import tarot.game.Bidding;
+import tarot.game.GameState;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Bids;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+import tarot.state.Hand;
+
+/**
+ * Calls whichever card gives the taker the best mean score over deals of the cards it can't see, each played out
+ * with random legal cards from every seat (see {@link MonteCarloTrickStrategy}). Random play doesn't depend on who
+ * the partner is, so each deal is played out once and scored for every card that could be called: the candidates are
+ * compared on the same deals and the cost is the same however many there are. The taker takes the dog, if the bid
+ * lets it, and puts aside as {@link BidEstimator} does.
+ */
+public class MonteCarloPartnerStrategy extends AbstractPartnerStrategy {
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloPartnerStrategy.class);
+
+    private static final Set<Card> NO_HANDFUL = ImmutableSet.of();
+
+    private final MonteCarloConfig config;
+    private final Scorer scorer;
+    private final RandomSource rng;
+
+    /**
+     * @param scorer Must be thread-safe
+     */
+    public MonteCarloPartnerStrategy(MonteCarloConfig config, Scorer scorer, RandomSource rng) {
+        this.config = config;
+        this.scorer = scorer;
+        this.rng = rng;
+    }
+
+    @Override
+    protected Card call(Hand hand, Bidding bidding) {
+        CardSet candidates = findCandidates(hand.getCards());
+        long start = System.nanoTime();
+        long deadline = config.getMillisPerDecision().isPresent()
+                ? start + TimeUnit.MILLISECONDS.toNanos(config.getMillisPerDecision().getAsLong())
+                : Long.MAX_VALUE;
+        Search search = new Search(
+                hand.getCards(),
+                candidates,
+                bidding.getTaker().get().getSeat(),
+                bidding.getBid().get(),
+                scorer,
+                deadline);
+        double[] totals = Playouts.rollOut(config.getPool(), search, rng.split(), config.getRolloutsPerDecision());
+
+        int best = 0;
+        for (int i = 1; i < candidates.size(); i++) {
+            if (totals[i] > totals[best]) {
+                best = i;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Rolled out {} deals for {} calls in {}us, picked {}",
+                    (long) totals[candidates.size()],
+                    candidates.size(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    candidates.get(best));
+        }
+        return candidates.get(best);
+    }
+
+    /**
+     * @return The rois or, if the taker holds all of them, the dames or else the cavaliers. Calling one the taker
+     * holds means playing alone
+     */
+    static CardSet findCandidates(CardSet hand) {
+        if (!hand.containsAll(Cards.getRois())) {
+            return Cards.getRois();
+        } else if (!hand.containsAll(Cards.getDames())) {
+            return Cards.getDames();
+        } else {
+            Preconditions.checkArgument(!hand.containsAll(Cards.getCavaliers()), "No card to call: %s", hand);
+            return Cards.getCavaliers();
+        }
+    }
+
+    private static final class Search implements Playouts.Decision {
+        private final CardSet hand;
+        private final CardSet unseen;
+        private final int[] candidates;
+        private final int takerSeat;
+        private final Bid bid;
+        private final Scorer scorer;
+        private final long deadline;
+        private final DealSampler sampler;
+
+        Search(CardSet hand, CardSet candidates, int takerSeat, Bid bid, Scorer scorer, long deadline) {
+            this.hand = hand;
+            this.unseen = CardSet.ALL.difference(hand);
+            this.candidates = new int[candidates.size()];
+            for (int i = 0; i < this.candidates.length; i++) {
+                this.candidates[i] = candidates.get(i).getIndex();
+            }
+            this.takerSeat = takerSeat;
+            this.bid = bid;
+            this.scorer = scorer;
+            this.deadline = deadline;
+            DealSampler.Builder builder = DealSampler.builder()
+                    .hold(takerSeat, hand.getSuitedBits(), hand.getTrumpBits())
+                    .deal(unseen.getSuitedBits(), unseen.getTrumpBits())
+                    .room(DealSampler.GONE, Deck.DOG_SIZE);
+            for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+                if (seat != takerSeat) {
+                    builder.room(seat, Trick.TRICKS_PER_ROUND);
+                }
+            }
+            this.sampler = builder.build();
+        }
+
+        @Override
+        public int getNumCandidates() {
+            return candidates.length;
+        }
+
+        /**
+         * @param totals Incremented with the taker's score for each candidate, then the deal count
+         */
+        @Override
+        public void rollOut(RandomSource rng, int numDeals, double[] totals) {
+            long[] hands = new long[GameState.HANDS_LENGTH];
+            for (int deal = 0; deal < numDeals && System.nanoTime() < deadline; deal++) {
+                sampler.sample(rng, hands);
+                CardSet aside = Playouts.findDog(unseen, hands);
+                if (Bids.canSeeDog(bid)) {
+                    CardSet kept = hand.union(aside);
+                    aside = BidEstimator.chooseAside(kept);
+                    hands[2 * takerSeat] = kept.getSuitedBits() & ~aside.getSuitedBits();
+                    hands[2 * takerSeat + 1] = kept.getTrumpBits() & ~aside.getTrumpBits();
+                }
+
+                // Who is on which side only matters to the score
+                GameState state = GameState.create(hands, Seats.mask(takerSeat), 0);
+                Playouts.playOut(rng, state);
+                for (int i = 0; i < candidates.length; i++) {
+                    int partnerSeat = Playouts.findSeat(hands, candidates[i]);
+                    int attackerSeats = Seats.mask(takerSeat);
+                    if (partnerSeat != CardTracker.NO_SEAT) {
+                        attackerSeats |= Seats.mask(partnerSeat);
+                    }
+                    RoundLedger ledger = new RoundLedger(attackerSeats);
+                    for (int trick = 0; trick < Trick.TRICKS_PER_ROUND; trick++) {
+                        ledger.addTrick(state.getTrick(trick));
+                    }
+                    float handScore = scorer.computeHandScore(bid, NO_HANDFUL, ledger, aside);
+                    totals[i] += Scorer.computePlayerScore(handScore, takerSeat, takerSeat, attackerSeats);
+                }
+                totals[candidates.length]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package tarot.ai;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableSet;
+
+import tarot.game.Bidding;
+import tarot.game.GameState;
+import tarot.game.LegalMoves;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Trick.Play;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Hand;
+
+/**
+ * Perfect-information Monte Carlo: repeatedly deals the unseen cards to the other seats consistently with what this
+ * player has seen, plays each legal card out with random legal play from every seat, and picks the card that gives
+ * this player the best {@link Scorer} outcome on average. Every legal card is rolled out in the same sampled deals so
+ * that they are compared on equal terms.
+ * <p>
+ * What has been seen comes from a {@link CardTracker} for this player's seat, which must be one of its
+ * {@link PlayerStrategies#getObservers()}. Each rollout is scored with the tricks played so far as well as the sampled
+ * rest of the round.
+ */
+public class MonteCarloTrickStrategy implements TrickStrategy {
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloTrickStrategy.class);
+
+    private final CardTracker tracker;
+    private final MonteCarloConfig config;
+    private final Scorer scorer;
+    private final RandomSource rng;
+
+    /**
+     * @param tracker Observes the round for the player using this strategy
+     */
+    public MonteCarloTrickStrategy(CardTracker tracker, MonteCarloConfig config, Scorer scorer, RandomSource rng) {
+        this.tracker = tracker;
+        this.config = config;
+        this.scorer = scorer;
+        this.rng = rng;
+    }
+
+    @Override
+    public Set<Card> checkHandful(Hand hand, Bidding bidding) {
+        return ImmutableSet.of();
+    }
+
+    @Override
+    public void handleHandful(Set<Card> shownCards, Bidding bidding, List<String> playerIds, Hand currentHand) {
+        // The tracker sees it
+    }
+
+    @Override
+    public void handleDog(Set<Card> dog, @Nullable Set<Card> aside, Bidding bidding, List<String> playerIds) {
+        // The tracker sees it
+    }
+
+    @Override
+    public Card pickCard(List<Play> currentTrick,
+                         Hand hand,
+                         Bidding bidding,
+                         List<String> playerIds,
+                         String takerId,
+                         @Nullable Card partnerCard) {
+        CardSet legalMoves = LegalMoves.getLegalMoves(hand.getCards(), currentTrick);
+        if (legalMoves.size() == 1) {
+            return legalMoves.get(0);
+        }
+        return search(legalMoves, partnerCard);
+    }
+
+    private Card search(CardSet legalMoves, @Nullable Card partnerCard) {
+        long start = System.nanoTime();
+        long deadline = config.getMillisPerDecision().isPresent()
+                ? start + TimeUnit.MILLISECONDS.toNanos(config.getMillisPerDecision().getAsLong())
+                : Long.MAX_VALUE;
+        int numDeals = Math.max(1, config.getRolloutsPerDecision() / legalMoves.size());
+        Search search = new Search(tracker, legalMoves, partnerCard, scorer, deadline);
+        double[] totals = Playouts.rollOut(config.getPool(), search, rng.split(), numDeals);
+
+        int best = 0;
+        for (int i = 1; i < legalMoves.size(); i++) {
+            if (totals[i] > totals[best]) {
+                best = i;
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Rolled out {} deals for {} cards in {}us, picked {}",
+                    (long) totals[legalMoves.size()],
+                    legalMoves.size(),
+                    TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    legalMoves.get(best));
+        }
+        return legalMoves.get(best);
+    }
+
+    /**
+     * Only reads the tracker, which doesn't change while the player is deciding
+     */
+    private static final class Search implements Playouts.Decision {
+        private final CardTracker tracker;
+        private final DealSampler sampler;
+        private final int[] candidates;
+        private final int partnerCardIndex;
+        private final Scorer scorer;
+        private final long deadline;
+
+        Search(CardTracker tracker, CardSet legalMoves, @Nullable Card partnerCard, Scorer scorer, long deadline) {
+            this.tracker = tracker;
+            this.sampler = Playouts.createSampler(tracker);
+            this.candidates = new int[legalMoves.size()];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = legalMoves.get(i).getIndex();
+            }
+            this.partnerCardIndex = partnerCard == null ? -1 : partnerCard.getIndex();
+            this.scorer = scorer;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int getNumCandidates() {
+            return candidates.length;
+        }
+
+        /**
+         * @param totals Incremented with this player's score for each candidate, then the deal count
+         */
+        @Override
+        public void rollOut(RandomSource rng, int numDeals, double[] totals) {
+            int seat = tracker.getSeat();
+            int takerSeat = tracker.getTakerSeat();
+            long[] hands = new long[GameState.HANDS_LENGTH];
+            for (int deal = 0; deal < numDeals && System.nanoTime() < deadline; deal++) {
+                sampler.sample(rng, hands);
+                int attackerSeats = Playouts.getAttackerSeats(hands, tracker, partnerCardIndex);
+                RoundLedger ledger = Playouts.createLedger(tracker, attackerSeats);
+                CardSet aside = Playouts.findAside(tracker, hands);
+                GameState state = Playouts.resume(hands, tracker, ledger);
+                int numPlays = state.getNumPlays();
+                for (int i = 0; i < candidates.length; i++) {
+                    state.apply(candidates[i]);
+                    Playouts.playOut(rng, state);
+                    float handScore = Playouts.computeHandScore(scorer, tracker, aside, ledger, state);
+                    totals[i] += Scorer.computePlayerScore(handScore, seat, takerSeat, attackerSeats);
+                    while (state.getNumPlays() > numPlays) {
+                        state.undo();
+                    }
+                }
+                totals[candidates.length]++;
+            }
+        }
+    }
+}
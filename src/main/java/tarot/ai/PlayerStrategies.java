@@ -0,0 +1,37 @@
+package tarot.ai;
+
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import tarot.game.RoundObserver;
+import tarot.random.RandomSource;
+
+/**
+ * Everything that decides how a single player plays a round
+ */
+@Value.Immutable
+public interface PlayerStrategies {
+    BiddingStrategy getBiddingStrategy();
+
+    PartnerStrategy getPartnerStrategy();
+
+    DogStrategy getDogStrategy();
+
+    TrickStrategy getTrickStrategy();
+
+    /**
+     * @return Told what happens in the round from this player's seat, e.g. a {@link CardTracker} that one of the
+     * strategies reads
+     */
+    List<RoundObserver> getObservers();
+
+    static PlayerStrategies random(RandomSource rng) {
+        return ImmutablePlayerStrategies.builder()
+                .biddingStrategy(new BiddingStrategy.Random(rng.split()))
+                .partnerStrategy(new RandomPartnerStrategy(rng.split()))
+                .dogStrategy(new RandomDogStrategy(rng.split()))
+                .trickStrategy(new RandomTrickStrategy(rng.split()))
+                .build();
+    }
+}
@@ -0,0 +1,270 @@
+package tarot.ai;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import tarot.game.GameState;
+import tarot.game.Output;
+import tarot.game.PackedTricks;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Suit;
+
+/**
+ * Determinizes one player's view of a round and plays it out with random legal cards. Hands are stored as in
+ * {@link GameState}: the {@link CardSet#getSuitedBits()} of seat 's' at '2s' and its {@link CardSet#getTrumpBits()} at
+ * '2s + 1'.
+ */
+final class Playouts {
+    /**
+     * Twice the card points in the deck
+     */
+    static final int TOTAL_DOUBLE_POINTS = computeTotalDoublePoints();
+
+    private static final long NON_FOOL_TRUMP_BITS =
+            CardSet.ALL_TRUMP.getTrumpBits() & ~CardSet.of(Trump.FOOL).getTrumpBits();
+    private static final long[] SUITED_BITS = computeSuitedBits();
+
+    private Playouts() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return A sampler of the deals of the cards the tracker's seat hasn't seen that give every seat as many cards as
+     * it should have and none of a suit it has shown it is out of, with the cards a seat has shown still in its hand or
+     * gone. Whatever is left over is assumed to be gone
+     */
+    static DealSampler createSampler(CardTracker tracker) {
+        CardSet hand = tracker.getHand();
+        CardSet unseen = tracker.getUnseen();
+        DealSampler.Builder builder = DealSampler.builder()
+                .hold(tracker.getSeat(), hand.getSuitedBits(), hand.getTrumpBits())
+                .deal(unseen.getSuitedBits(), unseen.getTrumpBits());
+        int numHeld = 0;
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            if (seat == tracker.getSeat()) {
+                continue;
+            }
+            int numCards = tracker.getNumCardsHeld(seat);
+            builder.room(seat, numCards);
+            numHeld += numCards;
+            int voids = tracker.getVoids(seat);
+            for (int suit = 0; suit < SUITED_BITS.length; suit++) {
+                if ((voids & (1 << suit)) != 0) {
+                    builder.exclude(seat, SUITED_BITS[suit], 0L);
+                }
+            }
+            if ((voids & (1 << CardTracker.TRUMP_VOID)) != 0) {
+                builder.exclude(seat, 0L, NON_FOOL_TRUMP_BITS);
+            }
+            CardSet shown = tracker.getShown(seat);
+            if (!shown.isEmpty()) {
+                builder.restrict(shown.getSuitedBits(), shown.getTrumpBits(), Seats.mask(seat));
+            }
+        }
+        return builder.room(DealSampler.GONE, unseen.size() - numHeld).build();
+    }
+
+    /**
+     * @param unseen The cards the taker couldn't see before the dog was turned over
+     * @param hands A deal of 'unseen' to the other seats
+     * @return The cards of 'unseen' that no seat was dealt, i.e. the dog
+     */
+    static CardSet findDog(CardSet unseen, long[] hands) {
+        long dogSuitedBits = unseen.getSuitedBits();
+        long dogTrumpBits = unseen.getTrumpBits();
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            dogSuitedBits &= ~hands[2 * seat];
+            dogTrumpBits &= ~hands[2 * seat + 1];
+        }
+        return CardSet.fromBits(dogSuitedBits, dogTrumpBits);
+    }
+
+    /**
+     * @return The seat holding 'cardIndex' in 'hands' or {@link CardTracker#NO_SEAT}
+     */
+    static int findSeat(long[] hands, int cardIndex) {
+        boolean isTrump = Cards.isTrump(cardIndex);
+        long bit = isTrump ? 1L << (cardIndex - Cards.NUM_SUITED_CARDS) : 1L << cardIndex;
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            if ((hands[2 * seat + (isTrump ? 1 : 0)] & bit) != 0) {
+                return seat;
+            }
+        }
+        return CardTracker.NO_SEAT;
+    }
+
+    /**
+     * @param partnerCardIndex The called card's index or a negative number if there is no called card
+     * @return The {@link Seats} mask of the attackers in the sampled 'hands'. The called card may be gone (in the dog,
+     * say) in which case the taker plays alone
+     */
+    static int getAttackerSeats(long[] hands, CardTracker tracker, int partnerCardIndex) {
+        int partnerSeat = tracker.getPartnerSeat();
+        if (partnerSeat == CardTracker.NO_SEAT && partnerCardIndex >= 0) {
+            partnerSeat = findSeat(hands, partnerCardIndex);
+        }
+        return Seats.mask(tracker.getTakerSeat()) | (partnerSeat == CardTracker.NO_SEAT ? 0 : Seats.mask(partnerSeat));
+    }
+
+    /**
+     * @param attackerSeats The sides in a deal from {@link #createSampler}, see {@link #getAttackerSeats}
+     * @return The tricks the tracker has seen, captured by those sides
+     */
+    static RoundLedger createLedger(CardTracker tracker, int attackerSeats) {
+        RoundLedger ledger = new RoundLedger(attackerSeats);
+        for (int trick = 0; trick < tracker.getNumTricks(); trick++) {
+            ledger.addTrick(tracker.getTrick(trick));
+        }
+        return ledger;
+    }
+
+    /**
+     * @param hands A deal from {@link #createSampler}
+     * @param ledger From {@link #createLedger}, which decides whether the fool is strong in the last trick
+     * @return The sampled deal at the tracker's current trick
+     */
+    static GameState resume(long[] hands, CardTracker tracker, RoundLedger ledger) {
+        long currentTrick = tracker.getCurrentTrick();
+        int leader = PackedTricks.size(currentTrick) == 0 ? tracker.getSeat() : PackedTricks.getSeat(currentTrick, 0);
+        return GameState.resume(
+                hands,
+                ledger.getAttackerSeats(),
+                leader,
+                tracker.getNumTricks(),
+                ledger.getNumAttackerTricks(),
+                currentTrick);
+    }
+
+    /**
+     * @param hands A deal from {@link #createSampler}
+     * @return The cards out of the round as far as the tracker's seat knows: those it put aside and those the deal left
+     * over, which are the aside (or the dog) of another seat
+     */
+    static CardSet findAside(CardTracker tracker, long[] hands) {
+        return tracker.getAside().union(findDog(tracker.getUnseen(), hands));
+    }
+
+    /**
+     * @param aside From {@link #findAside}
+     * @param ledger The tricks before 'state' started, from {@link #createLedger}. Not changed
+     * @param state Played to the end of the round
+     * @return The {@link Scorer#computeHandScore} of the whole round
+     */
+    static float computeHandScore(Scorer scorer,
+                                  CardTracker tracker,
+                                  CardSet aside,
+                                  RoundLedger ledger,
+                                  GameState state) {
+        RoundLedger complete = ledger.fork();
+        for (int trick = ledger.getNumTricks(); trick < Trick.TRICKS_PER_ROUND; trick++) {
+            complete.addTrick(state.getTrick(trick));
+        }
+        return scorer.computeHandScore(tracker.getBid().get(), tracker.getHandful(), complete, aside);
+    }
+
+    /**
+     * Plays out the rest of the round with random legal cards
+     */
+    static void playOut(RandomSource rng, @Output GameState state) {
+        while (!state.isComplete()) {
+            state.apply(pickCard(rng, state.getLegalSuitedBits(), state.getLegalTrumpBits()));
+        }
+    }
+
+    /**
+     * @return The {@link tarot.state.Card#getIndex()} of a uniformly random card out of the given bits, which must not
+     * both be empty
+     */
+    static int pickCard(RandomSource rng, long suitedBits, long trumpBits) {
+        int numSuited = Long.bitCount(suitedBits);
+        int choice = rng.nextInt(numSuited + Long.bitCount(trumpBits));
+        if (choice < numSuited) {
+            return CardSet.selectBit(suitedBits, choice);
+        } else {
+            return Cards.NUM_SUITED_CARDS + CardSet.selectBit(trumpBits, choice - numSuited);
+        }
+    }
+
+    /**
+     * Splits 'numDeals' between the pool's workers, each with its own source split from 'rng'
+     *
+     * @return What {@link Decision#rollOut} added up over all the deals, then the number of deals rolled out
+     */
+    static double[] rollOut(ForkJoinPool pool, Decision decision, RandomSource rng, int numDeals) {
+        return pool.invoke(new RolloutTask(decision, rng, numDeals, pool.getParallelism()));
+    }
+
+    /**
+     * Everything a rollout needs to know about a decision, shared read-only by the tasks
+     */
+    interface Decision {
+        int getNumCandidates();
+
+        /**
+         * Stops early once the decision's deadline has passed
+         *
+         * @param totals Incremented with the score of each candidate in each deal, then the number of deals
+         */
+        void rollOut(RandomSource rng, int numDeals, double[] totals);
+    }
+
+    private static long[] computeSuitedBits() {
+        long[] suitedBits = new long[Suit.values().length];
+        for (Suit suit : Suit.values()) {
+            suitedBits[suit.ordinal()] = CardSet.allOf(suit).getSuitedBits();
+        }
+        return suitedBits;
+    }
+
+    private static int computeTotalDoublePoints() {
+        int doublePoints = 0;
+        for (int cardIndex = 0; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+            doublePoints += Cards.getDoublePoints(cardIndex);
+        }
+        return doublePoints;
+    }
+
+    private static final class RolloutTask extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Decision decision;
+        private final RandomSource rng;
+        private final int numDeals;
+        private final int numTasks;
+
+        RolloutTask(Decision decision, RandomSource rng, int numDeals, int numTasks) {
+            this.decision = decision;
+            this.rng = rng;
+            this.numDeals = numDeals;
+            this.numTasks = numTasks;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (numTasks <= 1 || numDeals <= 1) {
+                double[] totals = new double[decision.getNumCandidates() + 1];
+                decision.rollOut(rng, numDeals, totals);
+                return totals;
+            }
+            int leftTasks = numTasks / 2;
+            int leftDeals = (int) ((long) numDeals * leftTasks / numTasks);
+            // Split in order so that the same seed always gives the same tasks the same sources
+            RolloutTask left = new RolloutTask(decision, rng.split(), leftDeals, leftTasks);
+            RolloutTask right = new RolloutTask(decision, rng.split(), numDeals - leftDeals, numTasks - leftTasks);
+            left.fork();
+            double[] totals = right.compute();
+            double[] leftTotals = left.join();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += leftTotals[i];
+            }
+            return totals;
+        }
+    }
+}
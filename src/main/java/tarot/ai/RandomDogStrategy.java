@@ -1,6 +1,5 @@
 package tarot.ai;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,18 +10,25 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 
 import tarot.game.Bidding;
+import tarot.random.RandomSource;
 import tarot.state.Card;
 import tarot.state.Card.Trump;
 import tarot.state.Cards;
 import tarot.state.Hand;
 
 public class RandomDogStrategy extends AbstractDogStrategy {
+    private final RandomSource rng;
+
+    public RandomDogStrategy(RandomSource rng) {
+        this.rng = rng;
+    }
+
     @Override
     protected Set<Card> chooseAsideInner(Hand hand, Set<Card> dog, Bidding bidding, @Nullable Card partnerCard) {
         List<Card> nonTrump = Streams.concat(hand.getCards().stream(), dog.stream())
                 .filter(c -> !(c instanceof Trump))
                 .collect(Collectors.toList());
-        Collections.shuffle(nonTrump);
+        rng.shuffle(nonTrump);
         List<Card> randomNonTrumpOrKing = nonTrump.subList(0, Math.min(nonTrump.size(), dog.size()));
         if (randomNonTrumpOrKing.size() >= dog.size()) {
             return ImmutableSet.copyOf(randomNonTrumpOrKing);
@@ -33,7 +39,7 @@ public class RandomDogStrategy extends AbstractDogStrategy {
                 .filter(c -> c instanceof Trump)
                 .filter(c -> !bouts.contains(c))
                 .collect(Collectors.toList());
-        Collections.shuffle(nonBoutTrump);
+        rng.shuffle(nonBoutTrump);
         List<Card> randomNonBoutTrump = nonBoutTrump.subList(0, dog.size() - randomNonTrumpOrKing.size());
         return ImmutableSet.<Card>builder().addAll(randomNonTrumpOrKing).addAll(randomNonBoutTrump).build();
     }
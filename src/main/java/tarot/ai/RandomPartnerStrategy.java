@@ -1,17 +1,21 @@
 package tarot.ai;
 
 import java.util.List;
-import java.util.Random;
 
 import com.google.common.collect.ImmutableList;
 
 import tarot.game.Bidding;
+import tarot.random.RandomSource;
 import tarot.state.Card;
 import tarot.state.Cards;
 import tarot.state.Hand;
 
 public class RandomPartnerStrategy extends AbstractPartnerStrategy {
-    private static final Random rng = new Random();
+    private final RandomSource rng;
+
+    public RandomPartnerStrategy(RandomSource rng) {
+        this.rng = rng;
+    }
 
     @Override
     public Card call(Hand hand, Bidding bidding) {
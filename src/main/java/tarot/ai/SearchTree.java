@@ -0,0 +1,164 @@
+package tarot.ai;
+
+import java.util.Arrays;
+
+/**
+ * An information set search tree stored as parallel primitive arrays indexed by node rather than as an object per
+ * node. Each node is a play (seat and card) made from its parent. Statistics are from the point of view of the side of
+ * the seat that made the play. Not thread-safe: callers synchronize on the tree.
+ */
+final class SearchTree {
+    static final int ROOT = 0;
+    static final int NONE = -1;
+
+    private int size;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private byte[] seats;
+    private byte[] cards;
+    private int[] visits;
+    private int[] availabilities;
+    private long[] rewards;
+
+    SearchTree(int initialCapacity) {
+        firstChildren = new int[initialCapacity];
+        nextSiblings = new int[initialCapacity];
+        seats = new byte[initialCapacity];
+        cards = new byte[initialCapacity];
+        visits = new int[initialCapacity];
+        availabilities = new int[initialCapacity];
+        rewards = new long[initialCapacity];
+        size = 1;
+        firstChildren[ROOT] = NONE;
+        nextSiblings[ROOT] = NONE;
+        seats[ROOT] = NONE;
+        cards[ROOT] = NONE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    int getSeat(int node) {
+        return seats[node];
+    }
+
+    int getCardIndex(int node) {
+        return cards[node];
+    }
+
+    int getVisits(int node) {
+        return visits[node];
+    }
+
+    /**
+     * @return The number of times the node's play was legal when its parent was visited
+     */
+    int getAvailability(int node) {
+        return availabilities[node];
+    }
+
+    /**
+     * @return The sum of the rewards of every completed visit
+     */
+    long getReward(int node) {
+        return rewards[node];
+    }
+
+    /**
+     * @return The child for 'seat' playing 'cardIndex' or {@link #NONE}
+     */
+    int findChild(int node, int seat, int cardIndex) {
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            if (seats[child] == seat && cards[child] == cardIndex) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    int addChild(int node, int seat, int cardIndex) {
+        if (size == firstChildren.length) {
+            grow();
+        }
+        int child = size++;
+        firstChildren[child] = NONE;
+        nextSiblings[child] = firstChildren[node];
+        firstChildren[node] = child;
+        seats[child] = (byte) seat;
+        cards[child] = (byte) cardIndex;
+        visits[child] = 0;
+        availabilities[child] = 0;
+        rewards[child] = 0L;
+        return child;
+    }
+
+    void addAvailability(int node) {
+        availabilities[node]++;
+    }
+
+    /**
+     * Counts a visit before its reward is known. Until {@link #addReward} is called, the visit is a loss, which steers
+     * other threads towards other nodes
+     */
+    void addVirtualLoss(int node) {
+        visits[node]++;
+    }
+
+    void addReward(int node, long reward) {
+        rewards[node] += reward;
+    }
+
+    /**
+     * @return A copy of the subtree under 'node' with 'node' as its root. The copy only uses as much space as the
+     * subtree does, so the rest of this tree can be dropped
+     */
+    SearchTree subtree(int node) {
+        // Breadth first, so every node's children are copied after it
+        int[] order = new int[size];
+        int[] newIndices = new int[size];
+        int numCopied = 0;
+        order[numCopied++] = node;
+        for (int i = 0; i < numCopied; i++) {
+            for (int child = firstChildren[order[i]]; child != NONE; child = nextSiblings[child]) {
+                order[numCopied++] = child;
+            }
+        }
+
+        SearchTree subtree = new SearchTree(Math.max(numCopied * 2, 16));
+        for (int i = 0; i < numCopied; i++) {
+            newIndices[order[i]] = i;
+        }
+        for (int i = 0; i < numCopied; i++) {
+            int old = order[i];
+            subtree.firstChildren[i] = firstChildren[old] == NONE ? NONE : newIndices[firstChildren[old]];
+            subtree.nextSiblings[i] = i == 0 || nextSiblings[old] == NONE ? NONE : newIndices[nextSiblings[old]];
+            subtree.seats[i] = seats[old];
+            subtree.cards[i] = cards[old];
+            subtree.visits[i] = visits[old];
+            subtree.availabilities[i] = availabilities[old];
+            subtree.rewards[i] = rewards[old];
+        }
+        subtree.size = numCopied;
+        return subtree;
+    }
+
+    private void grow() {
+        int capacity = firstChildren.length * 2;
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        seats = Arrays.copyOf(seats, capacity);
+        cards = Arrays.copyOf(cards, capacity);
+        visits = Arrays.copyOf(visits, capacity);
+        availabilities = Arrays.copyOf(availabilities, capacity);
+        rewards = Arrays.copyOf(rewards, capacity);
+    }
+}
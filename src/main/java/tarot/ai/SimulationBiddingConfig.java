@@ -0,0 +1,68 @@
+package tarot.ai;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+
+import tarot.game.Scorer;
+import tarot.game.Scorer.PalantirScorer;
+
+/**
+ * The search budget and cache size for {@link BidEstimator}
+ */
+@Value.Immutable
+public interface SimulationBiddingConfig {
+    /**
+     * @return The number of sampled deals each hand's estimate is based on. A hand that was cut short by
+     * {@link #getMillisPerDecision()} is sampled further the next time it is seen
+     */
+    @Value.Default
+    default int getSamplesPerEstimate() {
+        return 500;
+    }
+
+    /**
+     * @return The most time to spend sampling per decision, if limited
+     */
+    OptionalLong getMillisPerDecision();
+
+    /**
+     * @return The most hands (up to the order of the suits) to keep estimates for
+     */
+    @Value.Default
+    default int getCacheSize() {
+        return 10000;
+    }
+
+    /**
+     * Must be thread-safe
+     */
+    @Value.Default
+    default Scorer getScorer() {
+        return new PalantirScorer();
+    }
+
+    /**
+     * Each estimate is split into {@link ForkJoinPool#getParallelism()} tasks
+     */
+    @Value.Default
+    default ForkJoinPool getPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(
+                getSamplesPerEstimate() > 0,
+                "Samples per estimate must be positive: %s",
+                getSamplesPerEstimate());
+        Preconditions.checkArgument(
+                !getMillisPerDecision().isPresent() || getMillisPerDecision().getAsLong() > 0,
+                "Millis per decision must be positive: %s",
+                getMillisPerDecision());
+        Preconditions.checkArgument(getCacheSize() > 0, "Cache size must be positive: %s", getCacheSize());
+    }
+}
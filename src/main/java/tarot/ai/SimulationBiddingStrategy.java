@@ -0,0 +1,41 @@
+package tarot.ai;
+
+import java.util.Optional;
+
+import tarot.game.Bidding;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Hand;
+
+/**
+ * Makes whichever bid above the current one {@link BidEstimator} expects the most points from, or passes if none of
+ * them are expected to win any
+ */
+public class SimulationBiddingStrategy implements BiddingStrategy {
+    private final BidEstimator estimator;
+    private final RandomSource rng;
+
+    /**
+     * @param estimator May be shared, and so share its cache, between strategies
+     */
+    public SimulationBiddingStrategy(BidEstimator estimator, RandomSource rng) {
+        this.estimator = estimator;
+        this.rng = rng;
+    }
+
+    @Override
+    public Optional<Bid> bid(Hand hand, Bidding bidding) {
+        double[] means = estimator.estimate(hand.getCards(), rng);
+        Optional<Bid> currentBid = bidding.getBid();
+        Bid bestBid = null;
+        double bestMean = 0;
+        for (Bid bid : Bid.values()) {
+            boolean isHigher = !currentBid.isPresent() || bid.isGreaterThan(currentBid.get());
+            if (isHigher && means[bid.ordinal()] > bestMean) {
+                bestBid = bid;
+                bestMean = means[bid.ordinal()];
+            }
+        }
+        return Optional.ofNullable(bestBid);
+    }
+}
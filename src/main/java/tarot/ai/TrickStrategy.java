@@ -24,6 +24,13 @@ public interface TrickStrategy {
 
     void handleHandful(Set<Card> shownCards, Bidding bidding, List<String> playerIds, Hand currentHand);
 
+    /**
+     * Called for every player once the taker has put cards aside, if the contract let them see the dog.
+     *
+     * @param aside The cards the taker put aside, which only the taker is given
+     */
+    void handleDog(Set<Card> dog, @Nullable Set<Card> aside, Bidding bidding, List<String> playerIds);
+
     Card pickCard(List<Play> currentTrick,
                   Hand hand,
                   Bidding bidding,
@@ -1,10 +1,7 @@
 package tarot.game;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nullable;
@@ -15,18 +12,27 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Verify;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Iterators;
 
 import tarot.state.Bid;
 
 public class Bidding {
     private static final Logger log = LoggerFactory.getLogger(Bidding.class);
 
+    private final ValidationMode validationMode;
     private final List<BidAndBidder> bidSequence = new ArrayList<>();
-    private final Map<String, Bid> maxBids = new HashMap<>();
+    // Indexed by seat
+    private final Bid[] maxBids = new Bid[Seats.NUM_SEATS];
+
+    private Bidding(ValidationMode validationMode) {
+        this.validationMode = validationMode;
+    }
 
     public static Bidding newBidding() {
-        return new Bidding();
+        return newBidding(ValidationMode.FULL);
+    }
+
+    public static Bidding newBidding(ValidationMode validationMode) {
+        return new Bidding(validationMode);
     }
 
     public Optional<Bid> getBid() {
@@ -41,18 +47,30 @@ public class Bidding {
         return bidSequence;
     }
 
-    public Map<String, Bid> getMaxBids() {
-        return maxBids;
+    /**
+     * @return The highest bid made by the player in 'seat' or {@link Optional#empty()} if they never bid
+     */
+    public Optional<Bid> getMaxBid(int seat) {
+        return Optional.ofNullable(maxBids[seat]);
     }
 
+    /**
+     * @param players The bidders, indexed by seat. The player in seat 0 bids first
+     */
     public void run(List<? extends Bidder> players) {
-        // Note that 'players' is already sorted, and the first player of the list will be at the head of the Iterator
-        // Copy so that we don't mess up the original list
-        Iterator<? extends Bidder> bidders = Iterators.cycle(new ArrayList<>(players));
-        while (bidders.hasNext()) {
-            Bidder currBidder = bidders.next();
+        run(players, RoundObserver.NONE);
+    }
+
+    /**
+     * @param observer Told each bid and pass as it is made
+     */
+    public void run(List<? extends Bidder> players, RoundObserver observer) {
+        int remainingSeats = (1 << players.size()) - 1;
+        int seat = 0;
+        while (remainingSeats != 0) {
+            Bidder currBidder = players.get(seat);
             BidAndBidder currMax = getCurrMaxBidAndBidder();
-            if (currMax != null && currMax.getBidder().equals(currBidder)) {
+            if (currMax != null && currMax.getBidder().getSeat() == seat) {
                 // Only one bidder left that already bid (i.e. you can't raise yourself)
                 log.debug("'{}' wins bid ({})", currBidder.getId(), getBid());
                 break;
@@ -63,26 +81,41 @@ public class Bidding {
                     addBid(currBidder, bid.get());
                 } else {
                     log.debug("{}: pass", currBidder.getId());
-                    bidders.remove();
+                    remainingSeats &= ~Seats.mask(seat);
                 }
+                observer.handleBid(seat, bid);
             }
+            seat = nextRemainingSeat(seat, remainingSeats, players.size());
         }
     }
 
+    private static int nextRemainingSeat(int seat, int remainingSeats, int numSeats) {
+        for (int i = 1; i <= numSeats; i++) {
+            int candidate = (seat + i) % numSeats;
+            if (Seats.contains(remainingSeats, candidate)) {
+                return candidate;
+            }
+        }
+        // Nobody left, the caller will stop
+        return seat;
+    }
+
     @Nullable
     private BidAndBidder getCurrMaxBidAndBidder() {
         return Iterables.getLast(bidSequence, null);
     }
 
     private void addBid(Bidder bidder, Bid newBid) {
-        Optional<Bid> currMax = getBid();
-        Verify.verify(
-                !currMax.isPresent() || newBid.isGreaterThan(currMax.get()),
-                "Player attempted to bid %s, but the current bid is already %s",
-                newBid,
-                currMax);
+        if (validationMode.isChecked()) {
+            Optional<Bid> currMax = getBid();
+            Verify.verify(
+                    !currMax.isPresent() || newBid.isGreaterThan(currMax.get()),
+                    "Player attempted to bid %s, but the current bid is already %s",
+                    newBid,
+                    currMax);
+        }
         bidSequence.add(ImmutableBidAndBidder.of(bidder, newBid));
-        maxBids.put(bidder.getId(), newBid);
+        maxBids[bidder.getSeat()] = newBid;
     }
 
     @Value.Immutable
@@ -94,9 +127,11 @@ public class Bidding {
         Bid getBid();
     }
 
-    interface Bidder {
+    public interface Bidder {
         String getId();
 
+        int getSeat();
+
         Optional<Bid> bid(Bidding state);
     }
 }
@@ -0,0 +1,305 @@
+package tarot.game;
+
+import com.google.common.base.Preconditions;
+
+import tarot.state.CardSet;
+import tarot.state.Cards;
+
+/**
+ * The tricks of a round as they are played: what each seat holds, the trick being played, the cards each side has
+ * captured, who leads and whether the fool is strong. {@link #apply} and {@link #undo} each take constant time so that
+ * search can explore variations in place, and {@link #fork} is a handful of array copies.
+ *
+ * Hands are stored as pairs of longs: the {@link CardSet#getSuitedBits()} of seat 's' at '2s' and its
+ * {@link CardSet#getTrumpBits()} at '2s + 1'. Captured cards follow the same rules as {@link RoundLedger}. Not
+ * thread-safe.
+ */
+public final class GameState {
+    public static final int HANDS_LENGTH = 2 * Seats.NUM_SEATS;
+
+    // The captured bits after each number of tricks are the attackers' suited and trump bits then the defenders'
+    private static final int CAPTURED_LENGTH = 4;
+
+    private final int attackerSeats;
+    // The number of tricks complete when this state was created. Undo stops at the start of that trick
+    private final int firstTrick;
+    private final long[] hands;
+    // Complete tricks by their number in the round
+    private final long[] tricks;
+    // The rest are indexed by the number of complete tricks so that undoing a trick is just decrementing numTricks
+    private final int[] leaders;
+    private final int[] numAttackerTricks;
+    private final long[] capturedBits;
+    private final int[] attackerDoublePoints;
+    private final int[] defenderDoublePoints;
+
+    private int numTricks;
+    private long currentTrick;
+
+    private GameState(int attackerSeats, int firstTrick, long[] hands) {
+        this.attackerSeats = attackerSeats;
+        this.firstTrick = firstTrick;
+        this.hands = hands;
+        this.tricks = new long[Trick.TRICKS_PER_ROUND];
+        this.leaders = new int[Trick.TRICKS_PER_ROUND + 1];
+        this.numAttackerTricks = new int[Trick.TRICKS_PER_ROUND + 1];
+        this.capturedBits = new long[(Trick.TRICKS_PER_ROUND + 1) * CAPTURED_LENGTH];
+        this.attackerDoublePoints = new int[Trick.TRICKS_PER_ROUND + 1];
+        this.defenderDoublePoints = new int[Trick.TRICKS_PER_ROUND + 1];
+    }
+
+    private GameState(GameState other) {
+        this.attackerSeats = other.attackerSeats;
+        this.firstTrick = other.firstTrick;
+        this.hands = other.hands.clone();
+        this.tricks = other.tricks.clone();
+        this.leaders = other.leaders.clone();
+        this.numAttackerTricks = other.numAttackerTricks.clone();
+        this.capturedBits = other.capturedBits.clone();
+        this.attackerDoublePoints = other.attackerDoublePoints.clone();
+        this.defenderDoublePoints = other.defenderDoublePoints.clone();
+        this.numTricks = other.numTricks;
+        this.currentTrick = other.currentTrick;
+    }
+
+    /**
+     * @param hands Each seat's hand at the start of the tricks. Copied
+     * @param attackerSeats The {@link Seats} mask of the taker and partner
+     */
+    public static GameState create(long[] hands, int attackerSeats, int leader) {
+        return resume(hands, attackerSeats, leader, 0, 0, PackedTricks.EMPTY);
+    }
+
+    /**
+     * Starts partway through a round. Only the cards captured from 'currentTrick' on are counted and plays can't be
+     * undone past its start.
+     *
+     * @param hands What each seat holds now. Copied
+     * @param leader The seat that leads 'currentTrick'
+     * @param numTricks The number of tricks already complete
+     * @param numAttackerTricks How many of those the attackers won, which decides whether the fool is strong in the
+     *                          last trick
+     * @param currentTrick The trick being played, packed with {@link PackedTricks}
+     */
+    public static GameState resume(long[] hands,
+                                   int attackerSeats,
+                                   int leader,
+                                   int numTricks,
+                                   int numAttackerTricks,
+                                   long currentTrick) {
+        Preconditions.checkArgument(hands.length == HANDS_LENGTH, "Expected %s longs of hands", HANDS_LENGTH);
+        Preconditions.checkArgument(
+                numTricks < Trick.TRICKS_PER_ROUND && numAttackerTricks <= numTricks,
+                "Bad trick counts: %s of %s",
+                numAttackerTricks,
+                numTricks);
+        GameState state = new GameState(attackerSeats, numTricks, hands.clone());
+        state.numTricks = numTricks;
+        state.leaders[numTricks] = leader;
+        state.numAttackerTricks[numTricks] = numAttackerTricks;
+        state.currentTrick = PackedTricks.withStrongFoolSeats(currentTrick, state.getStrongFoolSeats());
+        return state;
+    }
+
+    /**
+     * @return A copy that is independent of this state
+     */
+    public GameState fork() {
+        return new GameState(this);
+    }
+
+    /**
+     * Plays 'cardIndex' for {@link #getNextSeat()}, which must hold it. Whether it is legal isn't checked
+     */
+    public void apply(int cardIndex) {
+        int seat = getNextSeat();
+        int slot = getSlot(seat, cardIndex);
+        long bit = getBit(cardIndex);
+        Preconditions.checkArgument((hands[slot] & bit) != 0, "Seat %s doesn't hold card %s", seat, cardIndex);
+        hands[slot] &= ~bit;
+        currentTrick = PackedTricks.addPlay(currentTrick, seat, cardIndex);
+        if (PackedTricks.size(currentTrick) == Seats.NUM_SEATS) {
+            completeTrick();
+        }
+    }
+
+    /**
+     * Takes back the last {@link #apply}
+     */
+    public void undo() {
+        if (PackedTricks.size(currentTrick) == 0) {
+            Preconditions.checkState(numTricks > firstTrick, "Nothing to undo");
+            numTricks--;
+            currentTrick = tricks[numTricks];
+        }
+        int position = PackedTricks.size(currentTrick) - 1;
+        int cardIndex = PackedTricks.getCardIndex(currentTrick, position);
+        hands[getSlot(PackedTricks.getSeat(currentTrick, position), cardIndex)] |= getBit(cardIndex);
+        currentTrick = PackedTricks.removeLastPlay(currentTrick);
+    }
+
+    public int getAttackerSeats() {
+        return attackerSeats;
+    }
+
+    public boolean isComplete() {
+        return numTricks == Trick.TRICKS_PER_ROUND;
+    }
+
+    public int getNumTricks() {
+        return numTricks;
+    }
+
+    /**
+     * @return The number of cards played since the round started, which goes down again with {@link #undo}
+     */
+    public int getNumPlays() {
+        return numTricks * Seats.NUM_SEATS + PackedTricks.size(currentTrick);
+    }
+
+    /**
+     * @return A complete trick, packed with {@link PackedTricks}
+     */
+    public long getTrick(int numberInRound) {
+        Preconditions.checkElementIndex(numberInRound, numTricks);
+        return tricks[numberInRound];
+    }
+
+    /**
+     * @return The trick being played packed with {@link PackedTricks}, including its strong fool seats. Empty once the
+     * last trick is complete
+     */
+    public long getCurrentTrick() {
+        return currentTrick;
+    }
+
+    /**
+     * @return The seat that leads the current trick
+     */
+    public int getLeader() {
+        return leaders[numTricks];
+    }
+
+    public int getNextSeat() {
+        int size = PackedTricks.size(currentTrick);
+        return size == 0 ? getLeader() : Seats.next(PackedTricks.getSeat(currentTrick, size - 1));
+    }
+
+    public long getSuitedBits(int seat) {
+        return hands[2 * seat];
+    }
+
+    public long getTrumpBits(int seat) {
+        return hands[2 * seat + 1];
+    }
+
+    public CardSet getHand(int seat) {
+        return CardSet.fromBits(getSuitedBits(seat), getTrumpBits(seat));
+    }
+
+    /**
+     * @return The suited bits of the cards {@link #getNextSeat()} may play
+     */
+    public long getLegalSuitedBits() {
+        int seat = getNextSeat();
+        return LegalMoves.getLegalSuitedBits(
+                getSuitedBits(seat),
+                getTrumpBits(seat),
+                PackedTricks.getLedSuit(currentTrick));
+    }
+
+    /**
+     * @return The trump bits of the cards {@link #getNextSeat()} may play
+     */
+    public long getLegalTrumpBits() {
+        int seat = getNextSeat();
+        return LegalMoves.getLegalTrumpBits(
+                getSuitedBits(seat),
+                getTrumpBits(seat),
+                PackedTricks.getLedSuit(currentTrick),
+                PackedTricks.getMaxTrumpStrength(currentTrick));
+    }
+
+    /**
+     * @return The {@link Seats} mask of players for which the fool is strong in the current trick
+     */
+    public int getStrongFoolSeats() {
+        return RoundLedger.getStrongFoolSeats(attackerSeats, numTricks, numAttackerTricks[numTricks]);
+    }
+
+    public int getNumAttackerTricks() {
+        return numAttackerTricks[numTricks];
+    }
+
+    public CardSet getAttackerCards() {
+        int offset = numTricks * CAPTURED_LENGTH;
+        return CardSet.fromBits(capturedBits[offset], capturedBits[offset + 1]);
+    }
+
+    public CardSet getDefenderCards() {
+        int offset = numTricks * CAPTURED_LENGTH;
+        return CardSet.fromBits(capturedBits[offset + 2], capturedBits[offset + 3]);
+    }
+
+    /**
+     * @return Twice the card points the attackers have captured in the complete tricks
+     */
+    public int getAttackerDoublePoints() {
+        return attackerDoublePoints[numTricks];
+    }
+
+    /**
+     * @return Twice the card points the defenders have captured in the complete tricks
+     */
+    public int getDefenderDoublePoints() {
+        return defenderDoublePoints[numTricks];
+    }
+
+    private void completeTrick() {
+        int winningSeat = PackedTricks.getWinningSeat(currentTrick);
+        boolean attackersWon = Seats.contains(attackerSeats, winningSeat);
+        int next = numTricks + 1;
+        System.arraycopy(
+                capturedBits,
+                numTricks * CAPTURED_LENGTH,
+                capturedBits,
+                next * CAPTURED_LENGTH,
+                CAPTURED_LENGTH);
+        attackerDoublePoints[next] = attackerDoublePoints[numTricks];
+        defenderDoublePoints[next] = defenderDoublePoints[numTricks];
+        for (int position = 0; position < Seats.NUM_SEATS; position++) {
+            int cardIndex = PackedTricks.getCardIndex(currentTrick, position);
+            boolean playedByAttacker = Seats.contains(attackerSeats, PackedTricks.getSeat(currentTrick, position));
+            boolean capturedByAttackers = RoundLedger.isCapturedByAttackers(
+                    cardIndex,
+                    playedByAttacker,
+                    attackersWon,
+                    numTricks,
+                    numAttackerTricks[numTricks]);
+            capture(next, capturedByAttackers, cardIndex);
+        }
+        numAttackerTricks[next] = numAttackerTricks[numTricks] + (attackersWon ? 1 : 0);
+        leaders[next] = winningSeat;
+        tricks[numTricks] = currentTrick;
+        numTricks = next;
+        currentTrick = PackedTricks.withStrongFoolSeats(PackedTricks.EMPTY, getStrongFoolSeats());
+    }
+
+    private void capture(int afterTricks, boolean byAttackers, int cardIndex) {
+        int offset = afterTricks * CAPTURED_LENGTH + (byAttackers ? 0 : 2) + (Cards.isTrump(cardIndex) ? 1 : 0);
+        capturedBits[offset] |= getBit(cardIndex);
+        if (byAttackers) {
+            attackerDoublePoints[afterTricks] += Cards.getDoublePoints(cardIndex);
+        } else {
+            defenderDoublePoints[afterTricks] += Cards.getDoublePoints(cardIndex);
+        }
+    }
+
+    private static int getSlot(int seat, int cardIndex) {
+        return 2 * seat + (Cards.isTrump(cardIndex) ? 1 : 0);
+    }
+
+    private static long getBit(int cardIndex) {
+        return Cards.isTrump(cardIndex) ? 1L << (cardIndex - Cards.NUM_SUITED_CARDS) : 1L << cardIndex;
+    }
+}
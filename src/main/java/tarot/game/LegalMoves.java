@@ -0,0 +1,151 @@
+package tarot.game;
+
+import java.util.List;
+
+import tarot.game.Trick.Play;
+import tarot.state.Card;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Suit;
+
+/**
+ * Computes the cards that may legally be played into a partial trick. The primitive methods work directly on the
+ * bits of a {@link CardSet} and a trick context (led suit and highest trump played) so they can be used in tight loops
+ * without allocating.
+ *
+ * The rules are:
+ * <ul>
+ *     <li>The fool can always be played</li>
+ *     <li>If the fool was led, the next card determines what was led</li>
+ *     <li>You must follow the led suit if you can</li>
+ *     <li>Otherwise (or if trump was led) you must play a trump higher than every trump played so far if you can,
+ *     otherwise any trump, otherwise anything</li>
+ * </ul>
+ */
+public class LegalMoves {
+    /**
+     * Led suit for a trick in which nothing (other than possibly the fool) has been played
+     */
+    public static final int NOTHING_LED = -2;
+
+    /**
+     * Led suit for a trick in which trump was led
+     */
+    public static final int TRUMP_LED = Cards.NO_SUIT;
+
+    /**
+     * Max trump strength for a trick in which no trump (including the fool) has been played
+     */
+    public static final int NO_TRUMP_PLAYED = -1;
+
+    private static final long FOOL_BIT = CardSet.of(Trump.FOOL).getTrumpBits();
+    private static final long NON_FOOL_TRUMP_BITS = CardSet.ALL_TRUMP.getTrumpBits() & ~FOOL_BIT;
+    private static final long[] SUIT_BITS = new long[Suit.values().length];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            SUIT_BITS[suit.ordinal()] = CardSet.allOf(suit).getSuitedBits();
+        }
+    }
+
+    private LegalMoves() {
+        // Prevent instantiation
+    }
+
+    public static CardSet getLegalMoves(CardSet hand, List<Play> currentTrick) {
+        int ledSuit = getLedSuit(currentTrick);
+        int maxTrumpStrength = getMaxTrumpStrength(currentTrick);
+        return CardSet.fromBits(
+                getLegalSuitedBits(hand.getSuitedBits(), hand.getTrumpBits(), ledSuit),
+                getLegalTrumpBits(hand.getSuitedBits(), hand.getTrumpBits(), ledSuit, maxTrumpStrength));
+    }
+
+    public static boolean isLegal(CardSet hand, Card card, List<Play> currentTrick) {
+        int ledSuit = getLedSuit(currentTrick);
+        int index = card.getIndex();
+        if (Cards.isTrump(index)) {
+            long legal = getLegalTrumpBits(
+                    hand.getSuitedBits(),
+                    hand.getTrumpBits(),
+                    ledSuit,
+                    getMaxTrumpStrength(currentTrick));
+            return (legal & (1L << (index - Cards.NUM_SUITED_CARDS))) != 0;
+        } else {
+            long legal = getLegalSuitedBits(hand.getSuitedBits(), hand.getTrumpBits(), ledSuit);
+            return (legal & (1L << index)) != 0;
+        }
+    }
+
+    /**
+     * @return The legal suited cards as {@link CardSet#getSuitedBits()}
+     */
+    public static long getLegalSuitedBits(long handSuitedBits, long handTrumpBits, int ledSuit) {
+        if (ledSuit == NOTHING_LED) {
+            return handSuitedBits;
+        }
+        if (ledSuit != TRUMP_LED) {
+            long following = handSuitedBits & SUIT_BITS[ledSuit];
+            if (following != 0) {
+                return following;
+            }
+        }
+        // Either trump was led or we can't follow. Suited cards are only playable if we don't have trump to play
+        return (handTrumpBits & NON_FOOL_TRUMP_BITS) != 0 ? 0L : handSuitedBits;
+    }
+
+    /**
+     * @return The legal trump as {@link CardSet#getTrumpBits()}
+     */
+    public static long getLegalTrumpBits(long handSuitedBits, long handTrumpBits, int ledSuit, int maxTrumpStrength) {
+        if (ledSuit == NOTHING_LED) {
+            return handTrumpBits;
+        }
+        long fool = handTrumpBits & FOOL_BIT;
+        if (ledSuit != TRUMP_LED && (handSuitedBits & SUIT_BITS[ledSuit]) != 0) {
+            return fool;
+        }
+        long higher = handTrumpBits & getTrumpBitsAbove(maxTrumpStrength);
+        if (higher != 0) {
+            return higher | fool;
+        }
+        // Any trump we have (or just the fool, or nothing at which point suited cards are legal)
+        return handTrumpBits;
+    }
+
+    /**
+     * @return The non-fool trump with a {@link Trump#getStrength()} strictly greater than 'strength'
+     */
+    public static long getTrumpBitsAbove(int strength) {
+        if (strength <= 0) {
+            return NON_FOOL_TRUMP_BITS;
+        }
+        // Trump with strength s lives at bit s - 1
+        return NON_FOOL_TRUMP_BITS & -(1L << strength);
+    }
+
+    /**
+     * @return The {@link Suit#ordinal()} of the first non-fool card, {@link #TRUMP_LED} if it is a trump, or
+     * {@link #NOTHING_LED}
+     */
+    public static int getLedSuit(List<Play> currentTrick) {
+        for (int i = 0; i < currentTrick.size(); i++) {
+            Card card = currentTrick.get(i).getCard();
+            if (card != Trump.FOOL) {
+                return Cards.getSuitOrdinal(card.getIndex());
+            }
+        }
+        return NOTHING_LED;
+    }
+
+    /**
+     * @return The largest {@link Trump#getStrength()} played so far or {@link #NO_TRUMP_PLAYED}
+     */
+    public static int getMaxTrumpStrength(List<Play> currentTrick) {
+        int maxStrength = NO_TRUMP_PLAYED;
+        for (int i = 0; i < currentTrick.size(); i++) {
+            maxStrength = Math.max(maxStrength, Cards.getTrumpStrength(currentTrick.get(i).getCard().getIndex()));
+        }
+        return maxStrength;
+    }
+}
@@ -0,0 +1,258 @@
+package tarot.game;
+
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import tarot.game.Trick.Play;
+import tarot.state.Card;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Suit;
+
+/**
+ * A trick packed into a single long so that the engine doesn't need to allocate a {@link Trick} and five
+ * {@link Play}s for every trick it plays. Players are identified by seat, i.e. their index in the round's list of
+ * player ids. The layout is:
+ * <ul>
+ *     <li>bits 0-2: the number of plays</li>
+ *     <li>bits 3-7: a mask of the seats for which the fool is strong (see
+ *     {@link Trick#getPlayersWithStrongFool()})</li>
+ *     <li>bits 8-57: up to five plays of 10 bits each, in the order they were played. The low 7 bits of a play are the
+ *     {@link Card#getIndex()} and the high 3 bits are the seat</li>
+ * </ul>
+ */
+public class PackedTricks {
+    public static final long EMPTY = 0L;
+
+    private static final int MAX_PLAYS = 5;
+    private static final int SIZE_BITS = 3;
+    private static final int STRONG_FOOL_SHIFT = SIZE_BITS;
+    private static final int STRONG_FOOL_BITS = 5;
+    private static final int PLAYS_SHIFT = STRONG_FOOL_SHIFT + STRONG_FOOL_BITS;
+    private static final int PLAY_BITS = 10;
+    private static final int CARD_BITS = 7;
+
+    private static final long SIZE_MASK = (1L << SIZE_BITS) - 1;
+    private static final long STRONG_FOOL_MASK = ((1L << STRONG_FOOL_BITS) - 1) << STRONG_FOOL_SHIFT;
+    private static final int CARD_MASK = (1 << CARD_BITS) - 1;
+    private static final int SEAT_MASK = (1 << (PLAY_BITS - CARD_BITS)) - 1;
+
+    private static final int FOOL_INDEX = Trump.FOOL.getIndex();
+
+    // Strength of each card given what was led. Index with getStrengthSlot(ledSuit) * NUM_CARDS + cardIndex. A higher
+    // strength wins the trick. Cards that can't win (off-suit and the weak fool) have strength 0
+    private static final int NUM_STRENGTH_SLOTS = Suit.values().length + 1;
+    private static final int TRUMP_SLOT = NUM_STRENGTH_SLOTS - 1;
+    private static final int STRONG_FOOL_STRENGTH = 20;
+    private static final byte[] STRENGTHS = computeStrengths();
+
+    private PackedTricks() {
+        // Prevent instantiation
+    }
+
+    public static long addPlay(long trick, int seat, int cardIndex) {
+        int size = size(trick);
+        Preconditions.checkState(size < MAX_PLAYS, "Trick is already full");
+        long play = ((long) seat << CARD_BITS) | cardIndex;
+        return (trick & ~SIZE_MASK) | (play << (PLAYS_SHIFT + size * PLAY_BITS)) | (size + 1);
+    }
+
+    public static long addPlay(long trick, int seat, Card card) {
+        return addPlay(trick, seat, card.getIndex());
+    }
+
+    /**
+     * @return 'trick' as it was before its last play
+     */
+    public static long removeLastPlay(long trick) {
+        int size = size(trick);
+        Preconditions.checkState(size > 0, "Trick is empty");
+        long playMask = ((1L << PLAY_BITS) - 1) << (PLAYS_SHIFT + (size - 1) * PLAY_BITS);
+        return (trick & ~playMask & ~SIZE_MASK) | (size - 1);
+    }
+
+    public static int size(long trick) {
+        return (int) (trick & SIZE_MASK);
+    }
+
+    public static int getSeat(long trick, int position) {
+        return (int) (trick >>> (PLAYS_SHIFT + position * PLAY_BITS + CARD_BITS)) & SEAT_MASK;
+    }
+
+    public static int getCardIndex(long trick, int position) {
+        return (int) (trick >>> (PLAYS_SHIFT + position * PLAY_BITS)) & CARD_MASK;
+    }
+
+    public static Card getCard(long trick, int position) {
+        return Cards.fromIndex(getCardIndex(trick, position));
+    }
+
+    /**
+     * @param seats A bit mask of seats (bit 'i' is seat 'i') for which the fool is strong
+     */
+    public static long withStrongFoolSeats(long trick, int seats) {
+        return (trick & ~STRONG_FOOL_MASK) | ((long) seats << STRONG_FOOL_SHIFT);
+    }
+
+    public static int getStrongFoolSeats(long trick) {
+        return (int) ((trick & STRONG_FOOL_MASK) >>> STRONG_FOOL_SHIFT);
+    }
+
+    public static CardSet getCards(long trick) {
+        CardSet.Builder cards = CardSet.builder();
+        for (int i = 0; i < size(trick); i++) {
+            cards.add(getCard(trick, i));
+        }
+        return cards.build();
+    }
+
+    /**
+     * @return The same as {@link LegalMoves#getLedSuit(List)}
+     */
+    public static int getLedSuit(long trick) {
+        for (int i = 0; i < size(trick); i++) {
+            int cardIndex = getCardIndex(trick, i);
+            if (cardIndex != FOOL_INDEX) {
+                return Cards.getSuitOrdinal(cardIndex);
+            }
+        }
+        return LegalMoves.NOTHING_LED;
+    }
+
+    /**
+     * @return The same as {@link LegalMoves#getMaxTrumpStrength(List)}
+     */
+    public static int getMaxTrumpStrength(long trick) {
+        int maxStrength = LegalMoves.NO_TRUMP_PLAYED;
+        for (int i = 0; i < size(trick); i++) {
+            maxStrength = Math.max(maxStrength, Cards.getTrumpStrength(getCardIndex(trick, i)));
+        }
+        return maxStrength;
+    }
+
+    /**
+     * Same rules as {@link Tricks#getWinner(Trick)}.
+     *
+     * @return The position (not the seat) of the winning play
+     */
+    public static int getWinningPosition(long trick) {
+        int size = size(trick);
+        Preconditions.checkArgument(size > 0, "Cannot compute the winner of an empty trick");
+        int strongFoolSeats = getStrongFoolSeats(trick);
+
+        int start = 0;
+        if (getCardIndex(trick, 0) == FOOL_INDEX) {
+            if (isStrongFool(strongFoolSeats, getSeat(trick, 0)) || size == 1) {
+                return 0;
+            }
+            // weak fool. We can pretend the trick doesn't involve the first play when computing the winner
+            start = 1;
+        }
+
+        int slotOffset = getStrengthSlot(Cards.getSuitOrdinal(getCardIndex(trick, start))) * Cards.NUM_CARDS;
+        int winner = start;
+        int winnerStrength = STRENGTHS[slotOffset + getCardIndex(trick, start)];
+        for (int i = start + 1; i < size; i++) {
+            int cardIndex = getCardIndex(trick, i);
+            if (cardIndex == FOOL_INDEX) {
+                // A strong fool takes the trick from whatever is currently winning, but any trump played after it
+                // still beats it
+                if (isStrongFool(strongFoolSeats, getSeat(trick, i))) {
+                    winner = i;
+                    winnerStrength = STRONG_FOOL_STRENGTH;
+                }
+                continue;
+            }
+            int strength = STRENGTHS[slotOffset + cardIndex];
+            if (strength > winnerStrength) {
+                winner = i;
+                winnerStrength = strength;
+            }
+        }
+        return winner;
+    }
+
+    public static int getWinningSeat(long trick) {
+        return getSeat(trick, getWinningPosition(trick));
+    }
+
+    /**
+     * @param playerIds The ids of the players by seat
+     */
+    public static long fromTrick(Trick trick, List<String> playerIds) {
+        long packed = fromPlays(trick.getPlays(), playerIds);
+        int strongFoolSeats = 0;
+        for (String playerId : trick.getPlayersWithStrongFool()) {
+            strongFoolSeats |= 1 << getSeat(playerIds, playerId);
+        }
+        return withStrongFoolSeats(packed, strongFoolSeats);
+    }
+
+    /**
+     * @param playerIds The ids of the players by seat
+     */
+    public static long fromPlays(List<Play> plays, List<String> playerIds) {
+        long packed = EMPTY;
+        for (int i = 0; i < plays.size(); i++) {
+            Play play = plays.get(i);
+            packed = addPlay(packed, getSeat(playerIds, play.getPlayer()), play.getCard());
+        }
+        return packed;
+    }
+
+    /**
+     * @param playerIds The ids of the players by seat
+     */
+    public static Trick toTrick(long trick, int numberInRound, List<String> playerIds) {
+        ImmutableTrick.Builder builder = ImmutableTrick.builder().numberInRound(numberInRound);
+        for (int i = 0; i < size(trick); i++) {
+            builder.addPlays(ImmutablePlay.of(playerIds.get(getSeat(trick, i)), getCard(trick, i)));
+        }
+        ImmutableSet.Builder<String> playersWithStrongFool = ImmutableSet.builder();
+        int strongFoolSeats = getStrongFoolSeats(trick);
+        for (int seat = 0; seat < playerIds.size(); seat++) {
+            if (isStrongFool(strongFoolSeats, seat)) {
+                playersWithStrongFool.add(playerIds.get(seat));
+            }
+        }
+        return builder.playersWithStrongFool(playersWithStrongFool.build()).build();
+    }
+
+    private static int getSeat(List<String> playerIds, String playerId) {
+        int seat = playerIds.indexOf(playerId);
+        Preconditions.checkArgument(seat >= 0, "Unknown player '%s'. Players: %s", playerId, playerIds);
+        return seat;
+    }
+
+    private static boolean isStrongFool(int strongFoolSeats, int seat) {
+        return (strongFoolSeats & (1 << seat)) != 0;
+    }
+
+    private static int getStrengthSlot(int ledSuit) {
+        return ledSuit == Cards.NO_SUIT ? TRUMP_SLOT : ledSuit;
+    }
+
+    private static byte[] computeStrengths() {
+        byte[] strengths = new byte[NUM_STRENGTH_SLOTS * Cards.NUM_CARDS];
+        for (int slot = 0; slot < NUM_STRENGTH_SLOTS; slot++) {
+            for (int cardIndex = 0; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+                int strength;
+                if (cardIndex == FOOL_INDEX) {
+                    strength = 0;
+                } else if (Cards.isTrump(cardIndex)) {
+                    // Beats the strong fool and every suited card
+                    strength = STRONG_FOOL_STRENGTH + Cards.getTrumpStrength(cardIndex);
+                } else if (Cards.getSuitOrdinal(cardIndex) == slot) {
+                    strength = Cards.getSuitedValue(cardIndex);
+                } else {
+                    strength = 0;
+                }
+                strengths[slot * Cards.NUM_CARDS + cardIndex] = (byte) strength;
+            }
+        }
+        return strengths;
+    }
+}
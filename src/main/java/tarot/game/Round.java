@@ -1,18 +1,14 @@
 package tarot.game;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import javax.annotation.Nullable;
 
@@ -22,77 +18,131 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 
 import tarot.ai.BiddingStrategy;
 import tarot.ai.DogStrategy;
+import tarot.ai.Lineup;
 import tarot.ai.PartnerStrategy;
-import tarot.ai.RandomDogStrategy;
-import tarot.ai.RandomPartnerStrategy;
-import tarot.ai.RandomTrickStrategy;
+import tarot.ai.PlayerStrategies;
 import tarot.ai.TrickStrategy;
 import tarot.game.Bidding.Bidder;
 import tarot.game.Round.SetupState.PlayerState;
 import tarot.game.Trick.Play;
+import tarot.random.RandomSource;
 import tarot.state.Bid;
 import tarot.state.Bids;
 import tarot.state.Card;
-import tarot.state.Card.Trump;
+import tarot.state.CardSet;
 import tarot.state.Deck;
 import tarot.state.Deck.Deal;
 import tarot.state.Hand;
-import tarot.state.ImmutableDeal;
 import tarot.state.ImmutableHand;
 
 public class Round {
     private static final Logger log = LoggerFactory.getLogger(Round.class);
 
-    private static final Random rng = new Random();
-
     private final List<String> playerIds;
     private final Deck deck;
     private final Scorer scorer;
-
-    private Round(List<String> playerIds, Deck deck, Scorer scorer) {
+    private final Lineup lineup;
+    private final RandomSource rng;
+    private final ValidationMode validationMode;
+
+    private Round(List<String> playerIds,
+                  Deck deck,
+                  Scorer scorer,
+                  Lineup lineup,
+                  RandomSource rng,
+                  ValidationMode validationMode) {
         this.playerIds = playerIds;
         this.deck = deck;
         this.scorer = scorer;
+        this.lineup = lineup;
+        this.rng = rng;
+        this.validationMode = validationMode;
     }
 
-    public static Round create(List<String> playerIds, Deck deck, Scorer scorer) {
+    public static Round create(List<String> playerIds,
+                               Deck deck,
+                               Scorer scorer,
+                               Lineup lineup,
+                               RandomSource rng) {
+        return create(playerIds, deck, scorer, lineup, rng, ValidationMode.FULL);
+    }
+
+    /**
+     * @param lineup The strategies for each seat, indexed the same as 'playerIds'
+     * @param rng Used by this round only. Each player's strategies get their own {@link RandomSource#split()} of it
+     */
+    public static Round create(List<String> playerIds,
+                               Deck deck,
+                               Scorer scorer,
+                               Lineup lineup,
+                               RandomSource rng,
+                               ValidationMode validationMode) {
         Preconditions.checkArgument(
                 playerIds.stream().distinct().count() == 5,
                 "Only five player mode is supported right now. All ids should be unique. Input: %s",
                 playerIds);
-        return new Round(playerIds, deck, scorer);
+        return new Round(playerIds, deck, scorer, lineup, rng, validationMode);
     }
 
     public Optional<Result> play() {
+        return play(false);
+    }
+
+    /**
+     * Same as {@link #play()} except that the round stops as soon as {@link Scorer#decideContract} says that the
+     * contract is made or lost, in which case the result is {@link Result#isDecidedEarly()}. For callers that only need
+     * to know the outcome
+     */
+    public Optional<Result> playUntilDecided() {
+        return play(true);
+    }
+
+    private Optional<Result> play(boolean stopWhenDecided) {
         Optional<SetupState> setupResult = setup();
         if (!setupResult.isPresent()) {
             return Optional.empty();
         } else {
-            return playAfterSetup(setupResult.get());
+            return playAfterSetup(setupResult.get(), stopWhenDecided);
         }
     }
 
-    private Optional<Result> playAfterSetup(SetupState setup) {
+    private Optional<Result> playAfterSetup(SetupState setup, boolean stopWhenDecided) {
         PlayerState playerState = setup.getPlayerState();
+        GameState state = createGameState(playerState);
 
         Set<Card> handful = checkHandful(
                 playerState.getTaker(),
                 setup.getBidding(),
-                Players.getIds(playerState.getPlayers()),
-                ImmutableSet.copyOf(playerState.getPlayers()));
-        List<Trick> tricks = playTricks(setup, !handful.isEmpty());
-        Map<Player, Float> score = score(tricks, setup, handful);
-
-        return Optional.of(ImmutableResult.builder()
+                playerIds,
+                playerState.getPlayers(),
+                state,
+                setup.getEvents());
+        RoundLedger ledger = new RoundLedger(playerState.getAttackerSeats());
+        long[] tricks = new long[Trick.TRICKS_PER_ROUND];
+        Optional<Boolean> decision = playTricks(setup, state, !handful.isEmpty(), stopWhenDecided, tricks, ledger);
+
+        ImmutableResult.Builder builder = ImmutableResult.builder();
+        if (decision.isPresent()) {
+            builder.isDecidedEarly(true)
+                    .isMadeContract(decision.get())
+                    .packedTricks(Arrays.copyOf(tricks, ledger.getNumTricks()));
+        } else {
+            Map<Player, Float> score = score(ledger, setup, handful);
+            if (ledger.getPetitAuBoutSeat() != RoundLedger.NO_SEAT) {
+                builder.petitAuBoutPlayer(playerIds.get(ledger.getPetitAuBoutSeat()));
+            }
+            builder.isMadeContract(score.get(playerState.getTaker()) > 0)
+                    .packedTricks(tricks)
+                    .score(score.entrySet()
+                            .stream()
+                            .collect(Collectors.toMap(e -> e.getKey().getId(), e -> e.getValue())));
+        }
+        Result result = builder
+                .playerIds(playerIds)
                 .bidding(setup.getBidding())
                 .firstPlayer(playerIds.iterator().next())
                 .taker(playerState.getTaker().getId())
@@ -100,29 +150,34 @@ public class Round {
                 .partnerCard(setup.getPartnerCard())
                 .dog(setup.getDeal().getDog())
                 .aside(setup.getAside())
-                .tricks(tricks)
-                .score(score.entrySet().stream().collect(Collectors.toMap(e -> e.getKey().getId(), e -> e.getValue())))
-                .build());
+                .handful(CardSet.copyOf(handful))
+                .build();
+        if (validationMode.isChecked()) {
+            // Build (and so check) the tricks now rather than whenever they are first asked for
+            result.getTricks();
+        }
+        return Optional.of(result);
     }
 
     private Optional<SetupState> setup() {
         Deal deal = softShuffleAndDeal();
 
         List<Player> players = initializePlayers(deal);
+        RoundObserver events = new Broadcast(players);
 
-        Bidding bidding = bid(players);
+        Bidding bidding = bid(players, events);
         if (!bidding.getBid().isPresent()) {
             // Round ended without a successful bid
             return Optional.empty();
         }
 
-        String takerId = bidding.getTaker().get().getId();
-        Player taker = players.stream().filter(p -> p.getId().equals(takerId)).findFirst().get();
+        Player taker = players.get(bidding.getTaker().get().getSeat());
 
         Optional<Card> partnerCard = taker.callPartnerIfPossible(bidding);
+        events.handleCall(taker.getSeat(), partnerCard);
         Player partner = computePartner(players, partnerCard.orElse(null)).orElse(taker);
 
-        Set<Card> aside = handleDog(deal, bidding, taker, partnerCard.orElse(null));
+        CardSet aside = handleDog(deal, bidding, players, taker, partnerCard.orElse(null), events);
 
         return Optional.of(ImmutableSetupState.builder()
                 .deal(deal)
@@ -130,85 +185,40 @@ public class Round {
                 .partnerCard(partnerCard)
                 .playerState(ImmutablePlayerState.builder().players(players).taker(taker).partner(partner).build())
                 .aside(aside)
+                .events(events)
                 .build());
     }
 
     private Deal softShuffleAndDeal() {
         while (true) {
-            deck.softShuffle();
-            Deal potentialDeal = deal(deck);
-            boolean isMaldonne = potentialDeal.getHands().stream().anyMatch(h -> {
-                Set<Card> trumpCards = h.getCards().stream().filter(c -> c instanceof Trump).collect(Collectors.toSet());
-                return trumpCards.equals(ImmutableSet.of(Trump.ONE));
-            });
-            if (!isMaldonne) {
-                log.debug("deal: {}", potentialDeal);
-                return potentialDeal;
+            deck.softShuffle(rng);
+            Optional<Deal> potentialDeal = deck.deal(rng);
+            if (potentialDeal.isPresent()) {
+                log.debug("deal: {}", potentialDeal.get());
+                return potentialDeal.get();
             }
         }
     }
 
-    private Deal deal(Deck deck) {
-        List<ImmutableHand.Builder> hands =
-                IntStream.range(0, 5).mapToObj(unused -> ImmutableHand.builder()).collect(Collectors.toList());
-        Set<Card> dog = new HashSet<>(3);
-
-        List<Card> asList = new ArrayList<>(deck.getCards());
-        Iterator<ImmutableHand.Builder> currHand = Iterators.cycle(hands);
-        for (int i = 0; i < asList.size(); /* done in loop */){
-            if (shouldAddToDog(i, deck, dog.size())) {
-                dog.add(asList.get(i));
-                i++;
-            } else {
-                currHand.next().addCards(asList.get(i++));
-                currHand.next().addCards(asList.get(i++));
-                currHand.next().addCards(asList.get(i++));
-            }
-        }
-
-        return ImmutableDeal.builder()
-                .addAllHands(Collections2.transform(hands, ImmutableHand.Builder::build))
-                .addAllDog(dog)
-                .build();
-    }
-
-    private boolean shouldAddToDog(int deckIndex, Deck deck, int currDogSize) {
-        if (currDogSize == 3) {
-            // Already done
-            return false;
-        } else if (deckIndex == 0) {
-            // Never deal the first card to the dog
-            return false;
-        } else {
-            // Including the current one
-            int numCardsRemaining = deck.getCards().size() - deckIndex;
-            int numDogCardsRemaining = 3 - currDogSize;
-            // We can't deal to the dog more than once and we can't deal to the dog last, so if we hit this bound we
-            // _need_ to deal to the dog
-            if (numCardsRemaining <= numDogCardsRemaining * 4) {
-                return true;
-            } else {
-                return rng.nextBoolean();
+    private List<Player> initializePlayers(Deal deal) {
+        List<Player> players = new ArrayList<>(playerIds.size());
+        for (int seat = 0; seat < playerIds.size(); seat++) {
+            Player player = Player.create(
+                    playerIds.get(seat),
+                    seat,
+                    deal.getHands().get(seat),
+                    lineup.create(seat, rng.split()));
+            for (RoundObserver observer : player.getObservers()) {
+                observer.handleDeal(seat, playerIds, player.getOriginalHand().getCards());
             }
+            players.add(player);
         }
+        return players;
     }
 
-    private List<Player> initializePlayers(Deal deal) {
-        Iterator<Hand> handsIter = deal.getHands().iterator();
-        return playerIds.stream()
-                .map(id -> Player.create(
-                        id,
-                        handsIter.next(),
-                        new BiddingStrategy.Random(),
-                        new RandomPartnerStrategy(),
-                        new RandomDogStrategy(),
-                        new RandomTrickStrategy()))
-                .collect(Collectors.toList());
-    }
-
-    private Bidding bid(List<Player> players) {
-        Bidding bidding = Bidding.newBidding();
-        bidding.run(players);
+    private Bidding bid(List<Player> players, RoundObserver events) {
+        Bidding bidding = Bidding.newBidding(validationMode);
+        bidding.run(players, events);
         return bidding;
     }
 
@@ -226,156 +236,165 @@ public class Round {
         }
     }
 
-    private Set<Card> handleDog(Deal deal, Bidding bidding, Player taker, @Nullable Card partnerCard) {
+    private CardSet handleDog(Deal deal,
+                              Bidding bidding,
+                              List<Player> players,
+                              Player taker,
+                              @Nullable Card partnerCard,
+                              RoundObserver events) {
         if (Bids.canSeeDog(bidding.getBid().get())) {
-            return taker.chooseAside(deal.getDog(), bidding, partnerCard);
+            events.handleDog(deal.getDog());
+            CardSet aside = taker.chooseAside(deal.getDog(), bidding, partnerCard);
+            for (RoundObserver observer : taker.getObservers()) {
+                observer.handleAside(aside);
+            }
             // TODO: handle if trumps are in aside which becomes public information!
+            for (Player player : players) {
+                player.handleDog(deal.getDog(), player == taker ? aside : null, bidding, playerIds);
+            }
+            return aside;
         } else {
-            return ImmutableSet.copyOf(deal.getDog());
+            return deal.getDog();
         }
     }
 
-    private static List<Trick> playTricks(SetupState setup, boolean handfulShown) {
-        PlayerState playerState = setup.getPlayerState();
+    private static GameState createGameState(PlayerState playerState) {
+        long[] hands = new long[GameState.HANDS_LENGTH];
+        for (Player player : playerState.getPlayers()) {
+            CardSet cards = player.getStartingHand().getCards();
+            hands[2 * player.getSeat()] = cards.getSuitedBits();
+            hands[2 * player.getSeat() + 1] = cards.getTrumpBits();
+        }
+        return GameState.create(hands, playerState.getAttackerSeats(), 0);
+    }
 
-        List<String> playerIds = Players.getIds(playerState.getPlayers());
-        Set<String> attackerIds = Players.getIds(playerState.getTaker(), playerState.getPartner());
-        Set<String> defenderIds = Players.getIds(playerState.getPlayers().stream()
-                .filter(p -> !p.equals(playerState.getTaker()) && !p.equals(playerState.getPartner()))
-                .collect(Collectors.toSet()));
+    /**
+     * @param state Played through as the tricks are
+     * @param tricks Filled with the tricks packed with {@link PackedTricks} as they are played
+     * @param ledger Updated with each trick as it completes
+     * @return Whether the contract was made if 'stopWhenDecided' and that was decided before the last trick
+     */
+    private Optional<Boolean> playTricks(SetupState setup,
+                                         @Output GameState state,
+                                         boolean handfulShown,
+                                         boolean stopWhenDecided,
+                                         @Output long[] tricks,
+                                         @Output RoundLedger ledger) {
+        PlayerState playerState = setup.getPlayerState();
+        List<Player> players = playerState.getPlayers();
+        List<String> playerIds = Players.getIds(players);
         AtomicReference<Boolean> handfulShownWrapped = new AtomicReference<>(handfulShown);
 
-        List<Trick> tricks = new ArrayList<>();
-        Player currPlayer = playerState.getPlayers().iterator().next();
+        Bid bid = setup.getBidding().getBid().get();
         for (int numTrick = 0; numTrick < Trick.TRICKS_PER_ROUND; numTrick++) {
-            Trick trick = playTrick(
-                    currPlayer,
+            long packedTrick = playTrick(
+                    state,
+                    numTrick == 0,
+                    players,
                     playerIds,
-                    attackerIds,
-                    defenderIds,
                     playerState.getTaker(),
-                    playerState.getNextPlayers(),
                     setup.getBidding(),
                     setup.getPartnerCard().orElse(null),
                     handfulShownWrapped,
-                    tricks);
-            tricks.add(trick);
-            currPlayer = playerState.getPlayer(trick.getWinner().getPlayer());
+                    validationMode,
+                    setup.getEvents());
+            tricks[numTrick] = packedTrick;
+            ledger.addTrick(packedTrick);
+
+            if (stopWhenDecided && !ledger.isComplete()) {
+                Optional<Boolean> decision = scorer.decideContract(bid, ledger, setup.getAside());
+                if (decision.isPresent()) {
+                    log.debug("Contract decided after {} tricks: {}", ledger.getNumTricks(), decision.get());
+                    return decision;
+                }
+            }
         }
-        return tricks;
+        return Optional.empty();
     }
 
-    private static Trick playTrick(Player currPlayer,
-                                   List<String> playerIds,
-                                   Set<String> attackerIds,
-                                   Set<String> defenderIds,
-                                   Player taker,
-                                   Map<Player, Player> nextPlayers,
-                                   Bidding bidding,
-                                   @Nullable Card partnerCard,
-                                   AtomicReference<Boolean> handfulShown,
-                                   @Output List<Trick> tricks) {
-        boolean isFirstTrick = tricks.isEmpty();
+    /**
+     * @return The trick that was played packed with {@link PackedTricks}, including its strong fool seats
+     */
+    private static long playTrick(@Output GameState state,
+                                  boolean isFirstTrick,
+                                  List<Player> players,
+                                  List<String> playerIds,
+                                  Player taker,
+                                  Bidding bidding,
+                                  @Nullable Card partnerCard,
+                                  AtomicReference<Boolean> handfulShown,
+                                  ValidationMode validationMode,
+                                  RoundObserver events) {
         boolean hasTakerPlayed = !isFirstTrick;
 
-        List<Play> currentPlays = new ArrayList<>(playerIds.size());
-        for (int numPlayer = 0; numPlayer < playerIds.size(); numPlayer++) {
+        List<Play> currentPlays = new ArrayList<>(players.size());
+        for (int numPlayer = 0; numPlayer < players.size(); numPlayer++) {
             if (isFirstTrick && !hasTakerPlayed && !handfulShown.get()) {
-                Set<Card> shownCards = checkHandful(taker, bidding, playerIds, nextPlayers.keySet());
+                Set<Card> shownCards = checkHandful(taker, bidding, playerIds, players, state, events);
                 if (!shownCards.isEmpty()) {
                     handfulShown.set(true);
                 }
             }
 
-            Card card = currPlayer.play(currentPlays, bidding, playerIds, taker.getId(), partnerCard);
+            Player currPlayer = players.get(state.getNextSeat());
+            Card card = currPlayer.play(
+                    state,
+                    currentPlays,
+                    bidding,
+                    playerIds,
+                    taker.getId(),
+                    partnerCard,
+                    validationMode);
             currentPlays.add(ImmutablePlay.of(currPlayer.getId(), card));
+            events.handlePlay(currPlayer.getSeat(), card);
 
-            if (!hasTakerPlayed && currPlayer.equals(taker)) {
+            if (!hasTakerPlayed && currPlayer == taker) {
                 hasTakerPlayed = true;
             }
-            currPlayer = nextPlayers.get(currPlayer);
-        }
-        int numberInRound = tricks.size() + 1;
-        List<String> playersWithStrongFool =
-                computePlayersWithStrongFool(numberInRound, attackerIds, defenderIds, tricks);
-        return ImmutableTrick.builder()
-                .numberInRound(numberInRound)
-                .addAllPlays(currentPlays)
-                .playersWithStrongFool(playersWithStrongFool)
-                .build();
+        }
+        long trick = state.getTrick(state.getNumTricks() - 1);
+        events.handleTrick(trick, state.getLeader());
+        return trick;
     }
 
-    private static Set<Card> checkHandful(Player taker, Bidding bidding, List<String> playerIds, Set<Player> players) {
-        Set<Card> shownCards = taker.checkHandful(bidding);
+    private static Set<Card> checkHandful(Player taker,
+                                          Bidding bidding,
+                                          List<String> playerIds,
+                                          List<Player> players,
+                                          GameState state,
+                                          RoundObserver events) {
+        Set<Card> shownCards = taker.checkHandful(bidding, state);
         if (!shownCards.isEmpty()) {
+            events.handleHandful(taker.getSeat(), CardSet.copyOf(shownCards));
             for (Player player : players) {
-                if (!player.equals(taker)) {
-                    player.handleHandful(shownCards, bidding, playerIds);
+                if (player != taker) {
+                    player.handleHandful(shownCards, bidding, playerIds, state);
                 }
             }
         }
         return shownCards;
     }
 
-    private static List<String> computePlayersWithStrongFool(int numberInRound,
-                                                             Collection<String> attackerIds,
-                                                             Collection<String> defenderIds,
-                                                             List<Trick> tricks) {
-        if (numberInRound == Trick.TRICKS_PER_ROUND) {
-            if (tricks.stream().allMatch(t -> attackerIds.contains(t.getWinner().getPlayer()))) {
-                return ImmutableList.copyOf(attackerIds);
-            } else if (tricks.stream().allMatch(t -> defenderIds.contains(t.getWinner().getPlayer()))) {
-                return ImmutableList.copyOf(defenderIds);
-            }
-            // fall through
-        }
-        return ImmutableList.of();
-    }
-
-    private Map<Player, Float> score(List<Trick> tricks, SetupState setup, Set<Card> handfulShown) {
+    private Map<Player, Float> score(RoundLedger ledger, SetupState setup, Set<Card> handfulShown) {
         PlayerState playerState = setup.getPlayerState();
-        Set<String> attackerIds = Players.getIds(playerState.getTaker(), playerState.getPartner());
-        Set<String> defenderIds = Players.getIds(playerState.getPlayers().stream()
-                .filter(p -> !p.equals(playerState.getTaker()) && !p.equals(playerState.getPartner()))
-                .collect(Collectors.toSet()));
         float handScore = scorer.computeHandScore(
                 setup.getBidding().getBid().get(),
                 handfulShown,
-                tricks,
-                attackerIds,
-                defenderIds,
+                ledger,
                 setup.getAside());
 
         Map<Player, Float> allScores = new HashMap<>(playerState.getPlayers().size());
         for (Player player : playerState.getPlayers()) {
-            boolean isTaker = player.equals(playerState.getTaker());
-            boolean isPartner = player.equals(playerState.getPartner());
-            allScores.put(player, computePlayerScore(handScore, isTaker, isPartner, setup.getPartnerCard().orElse(null)));
+            // A taker who couldn't call a partner, or called themselves, is their own partner and so plays alone
+            allScores.put(player, Scorer.computePlayerScore(
+                    handScore,
+                    player.getSeat(),
+                    playerState.getTaker().getSeat(),
+                    playerState.getAttackerSeats()));
         }
         return allScores;
     }
 
-    private float computePlayerScore(float handScore, boolean isTaker, boolean isPartner, @Nullable Card partnerCard) {
-        if (isTaker) {
-            if (partnerCard == null) {
-                // Couldn't call partner
-                return handScore * 3;
-            } else if (isPartner) {
-                // Called him/herself
-                return handScore * 3;
-            } else {
-                return handScore * 2;
-            }
-        } else if (isPartner) {
-            // Note that this must go after the 'isTaker' check since we handle the case when a taker calls
-            // him/herself in that block
-            return handScore;
-        } else {
-            // Defender
-            return -handScore;
-        }
-    }
-
     @Value.Immutable
     public interface Result {
         Bidding getBidding();
@@ -392,37 +411,96 @@ public class Round {
 
         Optional<Card> getPartnerCard();
 
-        Set<Card> getDog();
+        CardSet getDog();
 
-        Set<Card> getAside();
+        CardSet getAside();
 
-        List<Trick> getTricks();
+        /**
+         * @return The handful the taker showed or an empty set if they didn't show one
+         */
+        CardSet getHandful();
+
+        /**
+         * @return The players by seat
+         */
+        List<String> getPlayerIds();
 
+        /**
+         * @return The tricks packed with {@link PackedTricks} where seats index {@link #getPlayerIds()}. Only the
+         * tricks that were played if {@link #isDecidedEarly()}. Left out of toString, where the raw numbers mean
+         * nothing: print {@link #getTricks()} instead
+         */
+        @Value.Redacted
+        long[] getPackedTricks();
+
+        @Value.Lazy
+        default List<Trick> getTricks() {
+            long[] packedTricks = getPackedTricks();
+            ImmutableList.Builder<Trick> tricks = ImmutableList.builder();
+            for (int i = 0; i < packedTricks.length; i++) {
+                tricks.add(PackedTricks.toTrick(packedTricks[i], i + 1, getPlayerIds()));
+            }
+            return tricks.build();
+        }
+
+        /**
+         * @return The score of each player or an empty map if {@link #isDecidedEarly()}
+         */
         Map<String, Float> getScore();
+
+        boolean isMadeContract();
+
+        /**
+         * @return The player who played the petit au bout, if anybody did. Empty if {@link #isDecidedEarly()}
+         */
+        Optional<String> getPetitAuBoutPlayer();
+
+        /**
+         * @return Whether the round was stopped as soon as {@link #isMadeContract()} was known, in which case it has no
+         * score and not all of its tricks
+         */
+        @Value.Default
+        default boolean isDecidedEarly() {
+            return false;
+        }
     }
 
     static class Player implements Bidder {
         private final String id;
+        private final int seat;
         private final Hand originalHand;
         private final Strategy strategy;
+        private final List<RoundObserver> observers;
 
-        private Hand currentHand;
+        private Hand startingHand;
 
-        private Player(String id, Hand originalHand, Strategy strategy, Hand currentHand) {
+        private Player(String id,
+                       int seat,
+                       Hand originalHand,
+                       Strategy strategy,
+                       List<RoundObserver> observers,
+                       Hand startingHand) {
             this.id = id;
+            this.seat = seat;
             this.originalHand = originalHand;
             this.strategy = strategy;
-            this.currentHand = currentHand;
+            this.observers = observers;
+            this.startingHand = startingHand;
         }
 
-        public static Player create(String id,
-                                    Hand hand,
-                                    BiddingStrategy biddingStrategy,
-                                    PartnerStrategy partnerStrategy,
-                                    DogStrategy dogStrategy,
-                                    TrickStrategy trickStrategy) {
-            Strategy strategy = new Strategy(biddingStrategy, partnerStrategy, dogStrategy, trickStrategy);
-            return new Player(id, ImmutableHand.copyOf(hand), strategy, ImmutableHand.copyOf(hand));
+        public static Player create(String id, int seat, Hand hand, PlayerStrategies strategies) {
+            Strategy strategy = new Strategy(
+                    strategies.getBiddingStrategy(),
+                    strategies.getPartnerStrategy(),
+                    strategies.getDogStrategy(),
+                    strategies.getTrickStrategy());
+            return new Player(
+                    id,
+                    seat,
+                    ImmutableHand.copyOf(hand),
+                    strategy,
+                    strategies.getObservers(),
+                    ImmutableHand.copyOf(hand));
         }
 
         @Override
@@ -430,12 +508,25 @@ public class Round {
             return id;
         }
 
+        @Override
+        public int getSeat() {
+            return seat;
+        }
+
         Hand getOriginalHand() {
             return originalHand;
         }
 
-        Hand getCurrentHand() {
-            return currentHand;
+        List<RoundObserver> getObservers() {
+            return observers;
+        }
+
+        /**
+         * @return The hand the player starts the tricks with, i.e. after any exchange with the dog. The cards held
+         * after that are in the round's {@link GameState}
+         */
+        Hand getStartingHand() {
+            return startingHand;
         }
 
         @Override
@@ -447,33 +538,43 @@ public class Round {
             return strategy.callIfPossible(getOriginalHand(), bidding);
         }
 
-        public Set<Card> chooseAside(Set<Card> dog, Bidding bidding, @Nullable Card partnerCard) {
-            Set<Card> aside = strategy.chooseAside(getOriginalHand(), dog, bidding, partnerCard);
-            this.currentHand = ImmutableHand.of(Sets.difference(Sets.union(getOriginalHand().getCards(), dog), aside));
+        public CardSet chooseAside(CardSet dog, Bidding bidding, @Nullable Card partnerCard) {
+            CardSet aside = CardSet.copyOf(strategy.chooseAside(getOriginalHand(), dog, bidding, partnerCard));
+            this.startingHand = ImmutableHand.of(getOriginalHand().getCards().union(dog).difference(aside));
             return aside;
         }
 
-        public Set<Card> checkHandful(Bidding bidding) {
-            return strategy.checkHandful(getCurrentHand(), bidding);
+        public void handleDog(CardSet dog, @Nullable CardSet aside, Bidding bidding, List<String> playerIds) {
+            strategy.handleDog(dog, aside, bidding, playerIds);
         }
 
-        public void handleHandful(Set<Card> shownCards, Bidding bidding, List<String> playerIds) {
-            strategy.handleHandful(shownCards, bidding, playerIds, getCurrentHand());
+        public Set<Card> checkHandful(Bidding bidding, GameState state) {
+            return strategy.checkHandful(ImmutableHand.of(state.getHand(seat)), bidding);
+        }
+
+        public void handleHandful(Set<Card> shownCards, Bidding bidding, List<String> playerIds, GameState state) {
+            strategy.handleHandful(shownCards, bidding, playerIds, ImmutableHand.of(state.getHand(seat)));
         }
 
         /**
          * Only public information is passed in. So, for instance, the previous tricks of the round are not passed in.
-         * Implementations should feel free to record previous tricks as is necessary
+         * Implementations should feel free to record previous tricks as is necessary, e.g. with a {@link RoundObserver}
+         *
+         * @param state Where the card is played. It must be this player's turn
          */
-        public Card play(List<Play> currentTrick,
+        public Card play(@Output GameState state,
+                         List<Play> currentTrick,
                          Bidding bidding,
                          List<String> playerIds,
                          String takerId,
-                         Card partnerCard) {
-            Hand hand = getCurrentHand();
+                         Card partnerCard,
+                         ValidationMode validationMode) {
+            Hand hand = ImmutableHand.of(state.getHand(seat));
             Card play = strategy.pickCard(currentTrick, hand, bidding, playerIds, takerId, partnerCard);
-            Tricks.verifyPlay(hand, play, currentTrick);
-            this.currentHand = ImmutableHand.of(Sets.difference(hand.getCards(), ImmutableSet.of(play)));
+            if (validationMode.isChecked()) {
+                Tricks.verifyPlay(hand, play, currentTrick);
+            }
+            state.apply(play.getIndex());
             return play;
         }
 
@@ -481,8 +582,9 @@ public class Round {
         public String toString() {
             return MoreObjects.toStringHelper(this)
                     .add("id", id)
+                    .add("seat", seat)
                     .add("originalHand", originalHand)
-                    .add("currentHand", currentHand)
+                    .add("startingHand", startingHand)
                     .add("strategy", strategy)
                     .toString();
         }
@@ -528,6 +630,11 @@ public class Round {
                 trickStrategy.handleHandful(shownCards, bidding, playerIds, currentHand);
             }
 
+            @Override
+            public void handleDog(Set<Card> dog, @Nullable Set<Card> aside, Bidding bidding, List<String> playerIds) {
+                trickStrategy.handleDog(dog, aside, bidding, playerIds);
+            }
+
             @Override
             public Card pickCard(List<Play> currentTrick,
                                  Hand hand,
@@ -550,6 +657,61 @@ public class Round {
         }
     }
 
+    /**
+     * Passes each event on to the observers of every player
+     */
+    private static final class Broadcast implements RoundObserver {
+        private final List<RoundObserver> observers = new ArrayList<>();
+
+        Broadcast(List<Player> players) {
+            for (Player player : players) {
+                observers.addAll(player.getObservers());
+            }
+        }
+
+        @Override
+        public void handleBid(int seat, Optional<Bid> bid) {
+            for (RoundObserver observer : observers) {
+                observer.handleBid(seat, bid);
+            }
+        }
+
+        @Override
+        public void handleCall(int takerSeat, Optional<Card> partnerCard) {
+            for (RoundObserver observer : observers) {
+                observer.handleCall(takerSeat, partnerCard);
+            }
+        }
+
+        @Override
+        public void handleDog(CardSet dog) {
+            for (RoundObserver observer : observers) {
+                observer.handleDog(dog);
+            }
+        }
+
+        @Override
+        public void handleHandful(int seat, CardSet shownCards) {
+            for (RoundObserver observer : observers) {
+                observer.handleHandful(seat, shownCards);
+            }
+        }
+
+        @Override
+        public void handlePlay(int seat, Card card) {
+            for (RoundObserver observer : observers) {
+                observer.handlePlay(seat, card);
+            }
+        }
+
+        @Override
+        public void handleTrick(long trick, int winningSeat) {
+            for (RoundObserver observer : observers) {
+                observer.handleTrick(trick, winningSeat);
+            }
+        }
+    }
+
     @Value.Immutable
     interface SetupState {
         Deal getDeal();
@@ -560,7 +722,12 @@ public class Round {
 
         Optional<Card> getPartnerCard();
 
-        Set<Card> getAside();
+        CardSet getAside();
+
+        /**
+         * @return Passes the public events of the round on to every player's observers
+         */
+        RoundObserver getEvents();
 
         @Value.Immutable
         interface PlayerState {
@@ -570,27 +737,12 @@ public class Round {
 
             Player getPartner();
 
+            /**
+             * @return The {@link Seats} mask of the taker and partner
+             */
             @Value.Derived
-            default Map<String, Player> getPlayersById() {
-                return Maps.uniqueIndex(getPlayers(), Player::getId);
-            }
-
-            default Player getPlayer(String playerId) {
-                Preconditions.checkArgument(getPlayersById().containsKey(playerId), "No player found with id '%s'", playerId);
-                return getPlayersById().get(playerId);
-            }
-
-            @Value.Derived
-            default Map<Player, Player> getNextPlayers() {
-                List<Player> players = getPlayers();
-                return IntStream.range(0, players.size()).boxed().collect(Collectors.toMap(
-                        players::get,
-                        i -> players.get((i + 1) % players.size())));
-            }
-
-            default Player getNextPlayer(Player player) {
-                Preconditions.checkArgument(getNextPlayers().containsKey(player), "No next player found for '%s'", player);
-                return getNextPlayers().get(player);
+            default int getAttackerSeats() {
+                return Seats.mask(getTaker().getSeat()) | Seats.mask(getPartner().getSeat());
             }
         }
     }
@@ -0,0 +1,267 @@
+package tarot.game;
+
+import com.google.common.base.Preconditions;
+
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+
+/**
+ * Everything scoring needs to know about the tricks of a round, updated as each trick completes so that neither the
+ * strong fool check nor the final score has to replay the round. Not thread-safe.
+ */
+public final class RoundLedger {
+    public static final int NO_SEAT = -1;
+
+    private static final int FOOL_INDEX = Trump.FOOL.getIndex();
+    private static final int ONE_INDEX = Trump.ONE.getIndex();
+    private static final int LAST_TRICK = Trick.TRICKS_PER_ROUND - 1;
+
+    private final int attackerSeats;
+    private final int defenderSeats;
+
+    private long attackerSuitedBits;
+    private long attackerTrumpBits;
+    private long defenderSuitedBits;
+    private long defenderTrumpBits;
+    private int attackerDoublePoints;
+    private int defenderDoublePoints;
+    private int numTricks;
+    private int numAttackerTricks;
+    private boolean attackersOwedPoint;
+    private boolean defendersOwedPoint;
+    // The seat that played the petit in the second to last trick, if it could still be a petit au bout
+    private int secondToLastPetitSeat = NO_SEAT;
+    private int petitAuBoutSeat = NO_SEAT;
+
+    /**
+     * @param attackerSeats The {@link Seats} mask of the taker and partner
+     */
+    public RoundLedger(int attackerSeats) {
+        this.attackerSeats = attackerSeats;
+        this.defenderSeats = Seats.complement(attackerSeats);
+    }
+
+    private RoundLedger(RoundLedger other) {
+        this.attackerSeats = other.attackerSeats;
+        this.defenderSeats = other.defenderSeats;
+        this.attackerSuitedBits = other.attackerSuitedBits;
+        this.attackerTrumpBits = other.attackerTrumpBits;
+        this.defenderSuitedBits = other.defenderSuitedBits;
+        this.defenderTrumpBits = other.defenderTrumpBits;
+        this.attackerDoublePoints = other.attackerDoublePoints;
+        this.defenderDoublePoints = other.defenderDoublePoints;
+        this.numTricks = other.numTricks;
+        this.numAttackerTricks = other.numAttackerTricks;
+        this.attackersOwedPoint = other.attackersOwedPoint;
+        this.defendersOwedPoint = other.defendersOwedPoint;
+        this.secondToLastPetitSeat = other.secondToLastPetitSeat;
+        this.petitAuBoutSeat = other.petitAuBoutSeat;
+    }
+
+    /**
+     * @return A copy that is independent of this ledger
+     */
+    public RoundLedger fork() {
+        return new RoundLedger(this);
+    }
+
+    public int getAttackerSeats() {
+        return attackerSeats;
+    }
+
+    public int getDefenderSeats() {
+        return defenderSeats;
+    }
+
+    /**
+     * @return The {@link Seats} mask of players for which the fool is strong in the trick currently being played
+     */
+    public int getStrongFoolSeats() {
+        return getStrongFoolSeats(attackerSeats, numTricks, numAttackerTricks);
+    }
+
+    /**
+     * The fool is strong in the last trick for a side that won every other trick.
+     *
+     * @param numTricks The number of complete tricks
+     * @param numAttackerTricks How many of those the attackers won
+     * @return The {@link Seats} mask of players for which the fool is strong in the next trick
+     */
+    public static int getStrongFoolSeats(int attackerSeats, int numTricks, int numAttackerTricks) {
+        if (numTricks != LAST_TRICK) {
+            return 0;
+        } else if (numAttackerTricks == LAST_TRICK) {
+            return attackerSeats;
+        } else if (numAttackerTricks == 0) {
+            return Seats.complement(attackerSeats);
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * @param trick A complete trick packed with {@link PackedTricks}, including its strong fool seats
+     */
+    public void addTrick(long trick) {
+        Preconditions.checkState(numTricks < Trick.TRICKS_PER_ROUND, "All tricks have already been added");
+        boolean attackersWon = Seats.contains(attackerSeats, PackedTricks.getWinningSeat(trick));
+        boolean isLastTrick = numTricks == LAST_TRICK;
+        for (int position = 0; position < PackedTricks.size(trick); position++) {
+            int cardIndex = PackedTricks.getCardIndex(trick, position);
+            boolean playedByAttacker = Seats.contains(attackerSeats, PackedTricks.getSeat(trick, position));
+            boolean capturedByAttackers =
+                    isCapturedByAttackers(cardIndex, playedByAttacker, attackersWon, numTricks, numAttackerTricks);
+            capture(capturedByAttackers, cardIndex);
+            if (cardIndex == FOOL_INDEX && !isLastTrick) {
+                // The fool stays with the side that played it, which then owes the winners a point
+                if (playedByAttacker && !attackersWon) {
+                    attackersOwedPoint = true;
+                } else if (!playedByAttacker && attackersWon) {
+                    defendersOwedPoint = true;
+                }
+            } else if (cardIndex == FOOL_INDEX && getStrongFoolSeats() == 0) {
+                // It was lost by whoever played it
+                if (!playedByAttacker && !attackersWon) {
+                    defendersOwedPoint = true;
+                } else if (playedByAttacker && attackersWon) {
+                    attackersOwedPoint = true;
+                }
+            }
+        }
+
+        if (numTricks == LAST_TRICK - 1) {
+            secondToLastPetitSeat = findSeat(trick, ONE_INDEX, Seats.ALL);
+        } else if (isLastTrick) {
+            petitAuBoutSeat = computePetitAuBoutSeat(trick, attackersWon);
+        }
+        if (attackersWon) {
+            numAttackerTricks++;
+        }
+        numTricks++;
+    }
+
+    /**
+     * @param numTricks The number of tricks complete before this one
+     * @param numAttackerTricks How many of those the attackers won
+     * @return Whether the attackers capture 'cardIndex' from a complete trick
+     */
+    public static boolean isCapturedByAttackers(int cardIndex,
+                                                boolean playedByAttacker,
+                                                boolean attackersWon,
+                                                int numTricks,
+                                                int numAttackerTricks) {
+        if (cardIndex != FOOL_INDEX) {
+            return attackersWon;
+        } else if (numTricks != LAST_TRICK) {
+            // The fool stays with the side that played it
+            return playedByAttacker;
+        } else if (numAttackerTricks == LAST_TRICK) {
+            // If the defenders played it, then they lost it. If an attacker played it, then it was strong and won the
+            // trick
+            return true;
+        } else if (numAttackerTricks == 0) {
+            // The opposite of the previous case
+            return false;
+        } else {
+            // It was lost by whoever played it
+            return !playedByAttacker;
+        }
+    }
+
+    public boolean isComplete() {
+        return numTricks == Trick.TRICKS_PER_ROUND;
+    }
+
+    public int getNumTricks() {
+        return numTricks;
+    }
+
+    public int getNumAttackerTricks() {
+        return numAttackerTricks;
+    }
+
+    public CardSet getAttackerCards() {
+        return CardSet.fromBits(attackerSuitedBits, attackerTrumpBits);
+    }
+
+    public CardSet getDefenderCards() {
+        return CardSet.fromBits(defenderSuitedBits, defenderTrumpBits);
+    }
+
+    /**
+     * @return Twice the card points captured by the attackers so far
+     */
+    public int getAttackerDoublePoints() {
+        return attackerDoublePoints;
+    }
+
+    /**
+     * @return Twice the card points captured by the defenders so far
+     */
+    public int getDefenderDoublePoints() {
+        return defenderDoublePoints;
+    }
+
+    public boolean isAttackersOwedPoint() {
+        return attackersOwedPoint;
+    }
+
+    public boolean isDefendersOwedPoint() {
+        return defendersOwedPoint;
+    }
+
+    /**
+     * @return The seat that played the petit au bout or {@link #NO_SEAT}. Only known once the round is complete
+     */
+    public int getPetitAuBoutSeat() {
+        return petitAuBoutSeat;
+    }
+
+    private void capture(boolean byAttackers, int cardIndex) {
+        if (byAttackers) {
+            attackerDoublePoints += Cards.getDoublePoints(cardIndex);
+            if (Cards.isTrump(cardIndex)) {
+                attackerTrumpBits |= 1L << (cardIndex - Cards.NUM_SUITED_CARDS);
+            } else {
+                attackerSuitedBits |= 1L << cardIndex;
+            }
+        } else {
+            defenderDoublePoints += Cards.getDoublePoints(cardIndex);
+            if (Cards.isTrump(cardIndex)) {
+                defenderTrumpBits |= 1L << (cardIndex - Cards.NUM_SUITED_CARDS);
+            } else {
+                defenderSuitedBits |= 1L << cardIndex;
+            }
+        }
+    }
+
+    private int computePetitAuBoutSeat(long lastTrick, boolean attackersWonLastTrick) {
+        int numAttackerTricksInRound = numAttackerTricks + (attackersWonLastTrick ? 1 : 0);
+        int slamSeats = numAttackerTricksInRound == Trick.TRICKS_PER_ROUND
+                ? attackerSeats
+                : numAttackerTricksInRound == 0 ? defenderSeats : 0;
+        if (slamSeats != 0
+                && secondToLastPetitSeat != NO_SEAT
+                && Seats.contains(slamSeats, secondToLastPetitSeat)
+                && findSeat(lastTrick, FOOL_INDEX, slamSeats) != NO_SEAT) {
+            // (anti-)slam. The petit was played in the second to last trick and followed by the fool in the last
+            return secondToLastPetitSeat;
+        }
+        // typical case. one at the end
+        return findSeat(lastTrick, ONE_INDEX, Seats.ALL);
+    }
+
+    /**
+     * @return The seat in 'seats' that played 'cardIndex' in 'trick' or {@link #NO_SEAT}
+     */
+    private static int findSeat(long trick, int cardIndex, int seats) {
+        for (int position = 0; position < PackedTricks.size(trick); position++) {
+            if (PackedTricks.getCardIndex(trick, position) == cardIndex) {
+                int seat = PackedTricks.getSeat(trick, position);
+                return Seats.contains(seats, seat) ? seat : NO_SEAT;
+            }
+        }
+        return NO_SEAT;
+    }
+}
@@ -0,0 +1,61 @@
+package tarot.game;
+
+import java.util.List;
+import java.util.Optional;
+
+import tarot.state.Bid;
+import tarot.state.Card;
+import tarot.state.CardSet;
+
+/**
+ * Told what happens in a {@link Round} as it happens, from the point of view of one seat. Apart from
+ * {@link #handleDeal} and {@link #handleAside}, every event is public, i.e. seen by all players. Seats index the
+ * round's player ids. Every method does nothing by default.
+ */
+public interface RoundObserver {
+    RoundObserver NONE = new RoundObserver() {
+    };
+
+    /**
+     * @param seat The seat being observed
+     * @param hand What that seat was dealt
+     */
+    default void handleDeal(int seat, List<String> playerIds, CardSet hand) {
+    }
+
+    /**
+     * @param bid {@link Optional#empty()} for a pass
+     */
+    default void handleBid(int seat, Optional<Bid> bid) {
+    }
+
+    /**
+     * @param partnerCard {@link Optional#empty()} if the taker couldn't call a partner
+     */
+    default void handleCall(int takerSeat, Optional<Card> partnerCard) {
+    }
+
+    /**
+     * Called once the dog is turned over, if the contract lets everyone see it
+     */
+    default void handleDog(CardSet dog) {
+    }
+
+    /**
+     * Only called for the taker's seat
+     */
+    default void handleAside(CardSet aside) {
+    }
+
+    default void handleHandful(int seat, CardSet shownCards) {
+    }
+
+    default void handlePlay(int seat, Card card) {
+    }
+
+    /**
+     * @param trick Packed with {@link PackedTricks}
+     */
+    default void handleTrick(long trick, int winningSeat) {
+    }
+}
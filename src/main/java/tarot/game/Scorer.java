@@ -1,6 +1,5 @@
 package tarot.game;
 
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -8,121 +7,125 @@ import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.Iterables;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 
-import tarot.game.Trick.Play;
 import tarot.state.Bid;
 import tarot.state.Card;
-import tarot.state.Card.Trump;
+import tarot.state.CardSet;
 import tarot.state.Cards;
 
 public interface Scorer {
-    float computeHandScore(Bid bid,
-                           Set<Card> handfulShown,
-                           List<Trick> tricks,
-                           Set<String> attackers,
-                           Set<String> defenders,
-                           Set<Card> aside);
+    /**
+     * @param ledger A complete ledger of the round's tricks
+     */
+    float computeHandScore(Bid bid, Set<Card> handfulShown, RoundLedger ledger, Set<Card> aside);
+
+    /**
+     * Bounds what the attackers can still score from the tricks played so far.
+     *
+     * @param ledger The tricks played so far, which may be all of them
+     * @return Whether the contract is made if that can no longer change, whatever is played in the remaining tricks
+     */
+    default Optional<Boolean> decideContract(Bid bid, RoundLedger ledger, Set<Card> aside) {
+        return Optional.empty();
+    }
+
+    /**
+     * @param tricks The tricks of the round packed with {@link PackedTricks}
+     * @param attackerSeats The {@link Seats} mask of the taker and partner. Every other seat is a defender
+     */
+    default float computeHandScore(Bid bid, Set<Card> handfulShown, long[] tricks, int attackerSeats, Set<Card> aside) {
+        RoundLedger ledger = new RoundLedger(attackerSeats);
+        for (long trick : tricks) {
+            ledger.addTrick(trick);
+        }
+        return computeHandScore(bid, handfulShown, ledger, aside);
+    }
+
+    /**
+     * Same as {@link #computeHandScore(Bid, Set, long[], int, Set)} for callers that identify players by id
+     */
+    default float computeHandScore(Bid bid,
+                                   Set<Card> handfulShown,
+                                   List<Trick> tricks,
+                                   Set<String> attackers,
+                                   Set<String> defenders,
+                                   Set<Card> aside) {
+        List<String> playerIds = ImmutableList.copyOf(Sets.union(attackers, defenders));
+        long[] packedTricks = new long[tricks.size()];
+        for (int i = 0; i < tricks.size(); i++) {
+            packedTricks[i] = PackedTricks.fromTrick(tricks.get(i), playerIds);
+        }
+        int attackerSeats = 0;
+        for (int seat = 0; seat < playerIds.size(); seat++) {
+            if (attackers.contains(playerIds.get(seat))) {
+                attackerSeats |= Seats.mask(seat);
+            }
+        }
+        return computeHandScore(bid, handfulShown, packedTricks, attackerSeats, aside);
+    }
+
+    /**
+     * @param handScore What {@link #computeHandScore} gave for the round
+     * @param attackerSeats The {@link Seats} mask of the taker and partner, only the taker if they play alone
+     * @return The score of the player at 'seat': twice the hand score for the taker, who takes the partner's share too
+     * when playing alone, the hand score for the partner and its opposite for each defender
+     */
+    static float computePlayerScore(float handScore, int seat, int takerSeat, int attackerSeats) {
+        if (seat == takerSeat) {
+            return attackerSeats == Seats.mask(takerSeat) ? handScore * 3 : handScore * 2;
+        } else if (Seats.contains(attackerSeats, seat)) {
+            return handScore;
+        } else {
+            return -handScore;
+        }
+    }
 
     class PalantirScorer implements Scorer {
         private static final Logger log = LoggerFactory.getLogger(PalantirScorer.class);
 
-        @Override
-        public float computeHandScore(Bid bid,
-                                      Set<Card> handfulShown,
-                                      List<Trick> tricks,
-                                      Set<String> attackers,
-                                      Set<String> defenders,
-                                      Set<Card> aside) {
-            log.debug(
-                    "Computing hand score.\n\tbid: {}\n\thandful: {}\n\ttricks: {}\n\tattackers: {}" +
-                            "\n\tdefenders: {}\n\taside: {}",
-                    bid,
-                    handfulShown,
-                    tricks,
-                    attackers,
-                    defenders,
-                    aside);
-
-            Set<Card> attackerCards = new HashSet<>();
-            Set<Card> defenderCards = new HashSet<>();
-            int numAttackerTricks = 0;
-            boolean attackersOwedPoint = false;
-            boolean defendersOwedPoint = false;
+        private static final CardSet LOW_CARDS = computeLowCards();
+        private static final CardSet BOUTS = Cards.getBouts();
+        private static final int TOTAL_DOUBLE_POINTS = computeDoublePoints(CardSet.ALL);
 
-            for (int i = 0; i < tricks.size() - 1; i++) {
-                Trick trick = tricks.get(i);
-                if (defenders.contains(trick.getWinner().getPlayer())) {
-                    for (Play play : trick.getPlays()) {
-                        if (play.getCard() == Trump.FOOL && attackers.contains(play.getPlayer())) {
-                            attackerCards.add(play.getCard());
-                            attackersOwedPoint = true;
-                        } else {
-                            defenderCards.add(play.getCard());
-                        }
-                    }
-                } else {
-                    for (Play play : trick.getPlays()) {
-                        if (play.getCard() == Trump.FOOL && defenders.contains(play.getPlayer())) {
-                            defenderCards.add(play.getCard());
-                            defendersOwedPoint = true;
-                        } else {
-                            attackerCards.add(play.getCard());
-                        }
-                    }
-                    numAttackerTricks++;
-                }
+        @Override
+        public float computeHandScore(Bid bid, Set<Card> handfulShown, RoundLedger ledger, Set<Card> aside) {
+            Preconditions.checkArgument(
+                    ledger.isComplete(),
+                    "Round is not over: %s tricks played",
+                    ledger.getNumTricks());
+            if (log.isDebugEnabled()) {
+                // Search strategies score every rollout, so skip building the strings
+                log.debug(
+                        "Computing hand score.\n\tbid: {}\n\thandful: {}\n\tattackers: {}\n\tdefenders: {}" +
+                                "\n\taside: {}",
+                        bid,
+                        handfulShown,
+                        Integer.toBinaryString(ledger.getAttackerSeats()),
+                        Integer.toBinaryString(ledger.getDefenderSeats()),
+                        aside);
             }
-            Trick lastTrick = Iterables.getLast(tricks);
-            for (Play play : lastTrick.getPlays()) {
-                boolean defendersWon = defenders.contains(lastTrick.getWinner().getPlayer());
-                if (play.getCard() != Trump.FOOL) {
-                    if (!defendersWon) {
-                        attackerCards.add(play.getCard());
-                    } else {
-                        defenderCards.add(play.getCard());
-                    }
-                } else {
-                    if (numAttackerTricks == Trick.TRICKS_PER_ROUND - 1) {
-                        // if the defenders played it, then they lost it. If an attacker played it, then it was strong
-                        // and won the trick
-                        attackerCards.add(play.getCard());
-                    } else if (numAttackerTricks == 0) {
-                        // the opposite of the previous case
-                        defenderCards.add(play.getCard());
-                    } else {
-                        // it was lost by whoever played it
-                        if (defenders.contains(play.getPlayer())) {
-                            attackerCards.add(play.getCard());
-                            if (defendersWon) {
-                                defendersOwedPoint = true;
-                            }
-                        } else {
-                            defenderCards.add(play.getCard());
-                            if (!defendersWon) {
-                                attackersOwedPoint = true;
-                            }
-                        }
-                    }
-                }
 
-                if (!defendersWon) {
-                    numAttackerTricks++;
-                }
-            }
+            CardSet attackerCards = ledger.getAttackerCards();
+            CardSet defenderCards = ledger.getDefenderCards();
             log.debug("attacker cards: {}\ndefender cards: {}", attackerCards, defenderCards);
 
             // Double to avoid rounding errors. Although half points should be representable exactly in a float, I think
             int actualDoublePoints =
-                    computeDoublePoints(attackerCards) +
-                    computeDoubleAsidePoints(bid, aside) +
-                    computeDoubleFoolAdjustment(attackerCards, defenderCards, attackersOwedPoint, defendersOwedPoint);
-            int targetDoublePoints = 2 * computeTargetPoints(attackerCards);
+                    ledger.getAttackerDoublePoints() +
+                    computeDoubleAsidePoints(bid, CardSet.copyOf(aside)) +
+                    computeDoubleFoolAdjustment(
+                            attackerCards,
+                            defenderCards,
+                            ledger.isAttackersOwedPoint(),
+                            ledger.isDefendersOwedPoint());
+            int targetDoublePoints = 2 * computeTargetPoints(attackerCards.intersection(BOUTS).size());
             boolean madeContract = actualDoublePoints >= targetDoublePoints;
             int bonusPoints =
                     computePointDifferenceBonus(actualDoublePoints, targetDoublePoints) +
-                    computePetitAuBoutPoints(madeContract, numAttackerTricks, tricks, attackers, defenders) +
+                    computePetitAuBoutPoints(madeContract, ledger) +
                     computeHandfulPoints(handfulShown);
             int finalScore = getScoreForBid(bid) + bonusPoints;
 
@@ -134,7 +137,35 @@ public interface Scorer {
             }
         }
 
-        private static int computeDoubleAsidePoints(Bid bid, Set<Card> aside) {
+        @Override
+        public Optional<Boolean> decideContract(Bid bid, RoundLedger ledger, Set<Card> aside) {
+            CardSet asideCards = CardSet.copyOf(aside);
+            CardSet attackerCards = ledger.getAttackerCards();
+            CardSet defenderCards = ledger.getDefenderCards();
+            // The aside is never played, so whatever isn't captured or aside is still in someone's hand
+            int unplayedDoublePoints = TOTAL_DOUBLE_POINTS
+                    - ledger.getAttackerDoublePoints()
+                    - ledger.getDefenderDoublePoints()
+                    - computeDoublePoints(asideCards);
+            int numBouts = attackerCards.intersection(BOUTS).size();
+            int numUnplayedBouts = BOUTS.size()
+                    - numBouts
+                    - defenderCards.intersection(BOUTS).size()
+                    - asideCards.intersection(BOUTS).size();
+
+            // The fool adjustment is at most half a point either way
+            int minDoublePoints = ledger.getAttackerDoublePoints() + computeDoubleAsidePoints(bid, asideCards) - 1;
+            int maxDoublePoints = minDoublePoints + unplayedDoublePoints + 2;
+            if (minDoublePoints >= 2 * computeTargetPoints(numBouts)) {
+                return Optional.of(true);
+            } else if (maxDoublePoints < 2 * computeTargetPoints(numBouts + numUnplayedBouts)) {
+                return Optional.of(false);
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        private static int computeDoubleAsidePoints(Bid bid, CardSet aside) {
             switch (bid) {
             case SMALL:
                 // fall through
@@ -151,26 +182,42 @@ public interface Scorer {
             }
         }
 
-        private static int computeDoublePoints(Set<Card> cards) {
-            return cards.stream().map(Cards::getDoublePoints).reduce((a, b) -> a + b).orElse(0);
+        private static int computeDoublePoints(CardSet cards) {
+            int doublePoints = 0;
+            for (Card card : cards) {
+                doublePoints += Cards.getDoublePoints(card);
+            }
+            return doublePoints;
         }
 
-        private static int computeDoubleFoolAdjustment(Set<Card> attackerCards,
-                                                       Set<Card> defenderCards,
+        private static int computeDoubleFoolAdjustment(CardSet attackerCards,
+                                                       CardSet defenderCards,
                                                        boolean attackersOwedPoint,
                                                        boolean defendersOwedPoint) {
-            if (attackersOwedPoint && defenderCards.stream().anyMatch(c -> Cards.getDoublePoints(c) == 1)) {
+            if (attackersOwedPoint && hasLowCard(defenderCards)) {
                 return 1;
-            } else if (defendersOwedPoint &&
-                    attackerCards.stream().anyMatch(c -> Cards.getDoublePoints(c) == 1)) {
+            } else if (defendersOwedPoint && hasLowCard(attackerCards)) {
                 return -1;
             } else {
                 return 0;
             }
         }
 
-        private static int computeTargetPoints(Set<Card> cards) {
-            int numBouts = Sets.intersection(Cards.getBouts(), cards).size();
+        private static boolean hasLowCard(CardSet cards) {
+            return cards.intersects(LOW_CARDS);
+        }
+
+        private static CardSet computeLowCards() {
+            CardSet.Builder lowCards = CardSet.builder();
+            for (Card card : CardSet.ALL) {
+                if (Cards.getDoublePoints(card) == 1) {
+                    lowCards.add(card);
+                }
+            }
+            return lowCards.build();
+        }
+
+        private static int computeTargetPoints(int numBouts) {
             if (numBouts == 0) {
                 return 56;
             } else if (numBouts == 1) {
@@ -200,15 +247,10 @@ public interface Scorer {
             return bonus;
         }
 
-        private static int computePetitAuBoutPoints(boolean madeContract,
-                                                    int numTakerAndPartnerTricks,
-                                                    List<Trick> tricks,
-                                                    Set<String> attackers,
-                                                    Set<String> defenders) {
-            Optional<String> petitAuBoutPlayer =
-                    getPetitAuBoutPlayer(numTakerAndPartnerTricks, tricks, attackers, defenders);
-            if (petitAuBoutPlayer.isPresent()) {
-                if (defenders.contains(petitAuBoutPlayer.get())) {
+        private static int computePetitAuBoutPoints(boolean madeContract, RoundLedger ledger) {
+            int petitAuBoutSeat = ledger.getPetitAuBoutSeat();
+            if (petitAuBoutSeat != RoundLedger.NO_SEAT) {
+                if (Seats.contains(ledger.getDefenderSeats(), petitAuBoutSeat)) {
                     if (madeContract) {
                         return -10;
                     } else {
@@ -226,43 +268,6 @@ public interface Scorer {
             }
         }
 
-        private static Optional<String> getPetitAuBoutPlayer(int numTakerAndPartnerTricks,
-                                                             List<Trick> tricks,
-                                                             Set<String> attackers,
-                                                             Set<String> defenders) {
-            if (numTakerAndPartnerTricks == Trick.TRICKS_PER_ROUND) {
-                // slam. Check for '1' play followed by the fool in the last round
-                Optional<String> petitAuBoutPlayer = tricks.get(Trick.TRICKS_PER_ROUND - 2).getPlays().stream()
-                        .filter(pac -> pac.getCard() == Trump.ONE && attackers.contains(pac.getPlayer()))
-                        .map(Play::getPlayer)
-                        .findAny();
-                boolean trumpPlayedLast = Iterables.getLast(tricks).getPlays().stream()
-                        .anyMatch(pac -> pac.getCard() == Trump.FOOL && attackers.contains(pac.getPlayer()));
-                if (petitAuBoutPlayer.isPresent() && trumpPlayedLast) {
-                    return petitAuBoutPlayer;
-                }
-                // fall-through to the standard petit au bout check
-            } else if (numTakerAndPartnerTricks == 0) {
-                // anti-slam. Check for '1' play followed by the fool in the last round
-                Optional<String> petitAuBoutPlayer = tricks.get(Trick.TRICKS_PER_ROUND - 2).getPlays().stream()
-                        .filter(pac -> pac.getCard() == Trump.ONE && defenders.contains(pac.getPlayer()))
-                        .map(Play::getPlayer)
-                        .findAny();
-                boolean trumpPlayedLast = Iterables.getLast(tricks).getPlays().stream()
-                        .anyMatch(pac -> pac.getCard() == Trump.FOOL && defenders.contains(pac.getPlayer()));
-                if (petitAuBoutPlayer.isPresent() && trumpPlayedLast) {
-                    return petitAuBoutPlayer;
-                }
-                // fall-through to the standard petit au bout check
-            }
-
-            // typical case. one at the end
-            return Iterables.getLast(tricks).getPlays().stream()
-                    .filter(pac -> pac.getCard() == Trump.ONE)
-                    .map(Play::getPlayer)
-                    .findAny();
-        }
-
         // All handfuls are treated the same
         private static int computeHandfulPoints(Set<Card> handful) {
             if (handful.size() > 0) {
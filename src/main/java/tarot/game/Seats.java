@@ -0,0 +1,38 @@
+package tarot.game;
+
+/**
+ * The engine identifies players by seat: their index in the list of player ids the round was created with. Seat 0
+ * plays first. Groups of players (e.g. the attackers) are bit masks where bit 'i' is set if seat 'i' is included.
+ */
+public class Seats {
+    public static final int NUM_SEATS = 5;
+
+    public static final int ALL = (1 << NUM_SEATS) - 1;
+
+    private Seats() {
+        // Prevent instantiation
+    }
+
+    public static int mask(int seat) {
+        return 1 << seat;
+    }
+
+    public static boolean contains(int seats, int seat) {
+        return (seats & (1 << seat)) != 0;
+    }
+
+    /**
+     * @return The seats not in 'seats'
+     */
+    public static int complement(int seats) {
+        return ALL & ~seats;
+    }
+
+    public static int next(int seat) {
+        return seat == NUM_SEATS - 1 ? 0 : seat + 1;
+    }
+
+    public static int size(int seats) {
+        return Integer.bitCount(seats);
+    }
+}
@@ -0,0 +1,20 @@
+package tarot.game;
+
+/**
+ * How much of a round the engine checks as it plays
+ */
+public enum ValidationMode {
+    /**
+     * Every bid and play is verified and every {@link Trick} is built (and so checked) as the round is played
+     */
+    FULL,
+    /**
+     * Nothing is verified. Only for strategies that are known to play legally, e.g. the built-in ones in self-play.
+     * {@link Trick}s are only built if {@link Round.Result#getTricks()} is called
+     */
+    TRUSTED;
+
+    public boolean isChecked() {
+        return this == FULL;
+    }
+}
@@ -0,0 +1,201 @@
+package tarot.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Bidding.BidAndBidder;
+import tarot.game.PackedTricks;
+import tarot.game.Round.Result;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Deck;
+
+/**
+ * The binary round log is a header followed by back-to-back records.
+ *
+ * Header: magic (int), version (byte), number of players (byte) and then each player id as a length (short) and UTF-8
+ * bytes. Seats in records are indexes into these ids.
+ *
+ * Record, with the fixed-size part first so any field can be read without decoding the others:
+ * <ul>
+ *     <li>length of the whole record in bytes (short)</li>
+ *     <li>flags (byte): bits 0-2 the contract {@link tarot.state.Bid#ordinal()}, bit 3 set if a partner card was
+ *     called, bit 4 set if a handful was shown, bits 5-7 the first player's seat</li>
+ *     <li>seats (byte): bits 0-2 the taker, bits 3-5 the partner</li>
+ *     <li>partner card {@link Card#getIndex()} (byte)</li>
+ *     <li>dog and aside (long): six 7-bit card indexes, dog first, each in {@link CardSet} order</li>
+ *     <li>tricks (15 longs) as {@link PackedTricks}, i.e. 7-bit cards and 3-bit seats</li>
+ *     <li>scores (5 floats) by seat</li>
+ *     <li>number of bids (byte) followed by one byte per bid: bits 0-2 the bidder's seat, bits 3-5 the bid</li>
+ *     <li>if a handful was shown, its {@link CardSet#getSuitedBits()} and {@link CardSet#getTrumpBits()} (2 longs)</li>
+ * </ul>
+ */
+class RoundLogFormat {
+    static final int MAGIC = 0x54524C47;
+    static final byte VERSION = 1;
+
+    static final int LENGTH_OFFSET = 0;
+    static final int FLAGS_OFFSET = LENGTH_OFFSET + Short.BYTES;
+    static final int SEATS_OFFSET = FLAGS_OFFSET + 1;
+    static final int PARTNER_CARD_OFFSET = SEATS_OFFSET + 1;
+    static final int DOG_AND_ASIDE_OFFSET = PARTNER_CARD_OFFSET + 1;
+    static final int TRICKS_OFFSET = DOG_AND_ASIDE_OFFSET + Long.BYTES;
+    static final int SCORES_OFFSET = TRICKS_OFFSET + Trick.TRICKS_PER_ROUND * Long.BYTES;
+    static final int NUM_BIDS_OFFSET = SCORES_OFFSET + Seats.NUM_SEATS * Float.BYTES;
+    static final int BIDS_OFFSET = NUM_BIDS_OFFSET + 1;
+
+    static final int BID_MASK = 0b111;
+    static final int HAS_PARTNER_CARD_FLAG = 1 << 3;
+    static final int HAS_HANDFUL_FLAG = 1 << 4;
+    static final int FIRST_SEAT_SHIFT = 5;
+    static final int SEAT_MASK = 0b111;
+    static final int PARTNER_SEAT_SHIFT = 3;
+    static final int BID_SHIFT = 3;
+    static final int CARD_BITS = 7;
+    static final int CARD_MASK = (1 << CARD_BITS) - 1;
+
+    // At most one bid per seat for each of the five contracts
+    private static final int MAX_BIDS = Seats.NUM_SEATS * 5;
+    static final int MAX_RECORD_SIZE = BIDS_OFFSET + MAX_BIDS + 2 * Long.BYTES;
+
+    private RoundLogFormat() {
+        // Prevent instantiation
+    }
+
+    static void writeHeader(FileChannel channel, List<String> playerIds) throws IOException {
+        Preconditions.checkArgument(
+                playerIds.size() == Seats.NUM_SEATS,
+                "Expected %s players: %s",
+                Seats.NUM_SEATS,
+                playerIds);
+        int size = Integer.BYTES + 2;
+        for (String playerId : playerIds) {
+            size += Short.BYTES + playerId.getBytes(StandardCharsets.UTF_8).length;
+        }
+        ByteBuffer header = ByteBuffer.allocate(size);
+        header.putInt(MAGIC).put(VERSION).put((byte) playerIds.size());
+        for (String playerId : playerIds) {
+            byte[] bytes = playerId.getBytes(StandardCharsets.UTF_8);
+            header.putShort((short) bytes.length).put(bytes);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Reads the header at the channel's current position and leaves the position at the first record
+     */
+    static List<String> readHeader(FileChannel channel) throws IOException {
+        ByteBuffer fixed = readFully(channel, Integer.BYTES + 2);
+        if (fixed.getInt() != MAGIC) {
+            throw new IOException("Not a round log");
+        }
+        byte version = fixed.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported round log version: " + version);
+        }
+        int numPlayers = fixed.get();
+        ImmutableList.Builder<String> playerIds = ImmutableList.builder();
+        for (int i = 0; i < numPlayers; i++) {
+            int length = readFully(channel, Short.BYTES).getShort() & 0xFFFF;
+            playerIds.add(new String(readFully(channel, length).array(), StandardCharsets.UTF_8));
+        }
+        return playerIds.build();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated round log header");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Appends the record for 'result' at the buffer's position, which must have {@link #MAX_RECORD_SIZE} remaining
+     */
+    static void writeRecord(ByteBuffer buffer, Result result, List<String> playerIds) {
+        Preconditions.checkArgument(
+                result.getPlayerIds().equals(playerIds),
+                "Result is for players %s, not %s",
+                result.getPlayerIds(),
+                playerIds);
+        Preconditions.checkArgument(!result.isDecidedEarly(), "Round stopped before the last trick: %s", result);
+        long[] tricks = result.getPackedTricks();
+        Preconditions.checkArgument(tricks.length == Trick.TRICKS_PER_ROUND, "Incomplete round: %s", result);
+        // Everything that can be rejected is checked before the first put, so a bad result leaves no partial record
+        int flags = result.getBidding().getBid().get().ordinal();
+        if (result.getPartnerCard().isPresent()) {
+            flags |= HAS_PARTNER_CARD_FLAG;
+        }
+        if (!result.getHandful().isEmpty()) {
+            flags |= HAS_HANDFUL_FLAG;
+        }
+        flags |= getSeat(playerIds, result.getFirstPlayer()) << FIRST_SEAT_SHIFT;
+        int seats = getSeat(playerIds, result.getTaker())
+                | getSeat(playerIds, result.getPartner()) << PARTNER_SEAT_SHIFT;
+        long dogAndAside = packDogAndAside(result.getDog(), result.getAside());
+        Preconditions.checkArgument(
+                result.getScore().keySet().containsAll(playerIds),
+                "Missing scores: %s",
+                result.getScore());
+
+        int start = buffer.position();
+        buffer.putShort((short) 0)
+                .put((byte) flags)
+                .put((byte) seats)
+                .put((byte) (int) result.getPartnerCard().map(Card::getIndex).orElse(0))
+                .putLong(dogAndAside);
+        for (long trick : tricks) {
+            buffer.putLong(trick);
+        }
+        for (String playerId : playerIds) {
+            buffer.putFloat(result.getScore().get(playerId));
+        }
+
+        List<BidAndBidder> bids = result.getBidding().getBidSequence();
+        buffer.put((byte) bids.size());
+        for (BidAndBidder bid : bids) {
+            buffer.put((byte) (bid.getBidder().getSeat() | bid.getBid().ordinal() << BID_SHIFT));
+        }
+        if (!result.getHandful().isEmpty()) {
+            buffer.putLong(result.getHandful().getSuitedBits()).putLong(result.getHandful().getTrumpBits());
+        }
+        buffer.putShort(start + LENGTH_OFFSET, (short) (buffer.position() - start));
+    }
+
+    private static long packDogAndAside(CardSet dog, CardSet aside) {
+        Preconditions.checkArgument(dog.size() == Deck.DOG_SIZE, "Unexpected dog: %s", dog);
+        Preconditions.checkArgument(aside.size() == Deck.DOG_SIZE, "Unexpected aside: %s", aside);
+        long packed = 0;
+        int shift = 0;
+        for (Card card : dog) {
+            packed |= (long) card.getIndex() << shift;
+            shift += CARD_BITS;
+        }
+        for (Card card : aside) {
+            packed |= (long) card.getIndex() << shift;
+            shift += CARD_BITS;
+        }
+        return packed;
+    }
+
+    private static int getSeat(List<String> playerIds, String playerId) {
+        int seat = playerIds.indexOf(playerId);
+        Preconditions.checkArgument(seat >= 0, "Unknown player '%s'. Players: %s", playerId, playerIds);
+        return seat;
+    }
+}
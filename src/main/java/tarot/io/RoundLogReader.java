@@ -0,0 +1,104 @@
+package tarot.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Reads a binary round log (see {@link RoundLogFormat}) by memory-mapping it one segment at a time. Moving to the next
+ * record only reads its length, so records that are skipped are never decoded. Not thread-safe.
+ *
+ * <pre>
+ * while (reader.next()) {
+ *     RoundRecord record = reader.getRecord();
+ *     ...
+ * }
+ * </pre>
+ */
+public final class RoundLogReader implements Closeable {
+    private static final long SEGMENT_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final List<String> playerIds;
+    private final long fileSize;
+    private final RoundRecord record;
+
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private long segmentEnd;
+    private long nextPosition;
+
+    private RoundLogReader(FileChannel channel, List<String> playerIds, long firstRecordPosition) throws IOException {
+        this.channel = channel;
+        this.playerIds = playerIds;
+        this.fileSize = channel.size();
+        this.record = new RoundRecord(playerIds);
+        this.nextPosition = firstRecordPosition;
+    }
+
+    public static RoundLogReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            List<String> playerIds = RoundLogFormat.readHeader(channel);
+            return new RoundLogReader(channel, playerIds, channel.position());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    /**
+     * Moves to the next record
+     *
+     * @return False if there are no more records
+     */
+    public boolean next() throws IOException {
+        if (nextPosition >= fileSize) {
+            return false;
+        }
+        if (segment == null || nextPosition + Short.BYTES > segmentEnd) {
+            map(nextPosition);
+        }
+        int length = segment.getShort((int) (nextPosition - segmentStart)) & 0xFFFF;
+        if (length < RoundLogFormat.BIDS_OFFSET) {
+            throw new IOException("Record of " + length + " bytes at position " + nextPosition);
+        }
+        if (nextPosition + length > fileSize) {
+            throw new IOException("Truncated record at position " + nextPosition);
+        }
+        if (nextPosition + length > segmentEnd) {
+            map(nextPosition);
+        }
+        record.reset(segment, (int) (nextPosition - segmentStart));
+        nextPosition += length;
+        return true;
+    }
+
+    /**
+     * @return The current record. Only valid until the next call to {@link #next()}
+     */
+    public RoundRecord getRecord() {
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void map(long position) throws IOException {
+        long size = Math.min(SEGMENT_SIZE, fileSize - position);
+        segment = channel.map(MapMode.READ_ONLY, position, size);
+        segmentStart = position;
+        segmentEnd = position + size;
+    }
+}
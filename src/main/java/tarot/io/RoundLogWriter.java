@@ -0,0 +1,86 @@
+package tarot.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Round.Result;
+
+/**
+ * Appends {@link Result}s to a binary round log (see {@link RoundLogFormat}). Records are batched in a direct buffer
+ * and written to the file when it fills up, on {@link #flush()} and on {@link #close()}. Not thread-safe.
+ */
+public final class RoundLogWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final List<String> playerIds;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private RoundLogWriter(FileChannel channel, List<String> playerIds) {
+        this.channel = channel;
+        this.playerIds = playerIds;
+    }
+
+    /**
+     * Creates the log if it doesn't exist, otherwise appends to it
+     *
+     * @param playerIds The players by seat. Must match the players of an existing log
+     */
+    public static RoundLogWriter open(Path path, List<String> playerIds) throws IOException {
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                RoundLogFormat.writeHeader(channel, playerIds);
+            } else {
+                List<String> existingPlayerIds = RoundLogFormat.readHeader(channel);
+                if (!existingPlayerIds.equals(playerIds)) {
+                    throw new IOException(String.format(
+                            "%s was written for players %s, not %s",
+                            path,
+                            existingPlayerIds,
+                            playerIds));
+                }
+                channel.position(channel.size());
+            }
+            return new RoundLogWriter(channel, ImmutableList.copyOf(playerIds));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public void write(Result result) throws IOException {
+        if (buffer.remaining() < RoundLogFormat.MAX_RECORD_SIZE) {
+            flush();
+        }
+        RoundLogFormat.writeRecord(buffer, result, playerIds);
+    }
+
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
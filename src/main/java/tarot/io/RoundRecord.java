@@ -0,0 +1,151 @@
+package tarot.io;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import tarot.game.PackedTricks;
+import tarot.game.Trick;
+import tarot.state.Bid;
+import tarot.state.Card;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+
+/**
+ * A view of one record of a round log. Fields are decoded from the underlying buffer when they are asked for, and the
+ * view is reused: it is only valid until the {@link RoundLogReader} moves to the next record.
+ */
+public final class RoundRecord {
+    private static final Bid[] BIDS = Bid.values();
+
+    private final List<String> playerIds;
+    private ByteBuffer buffer;
+    private int offset;
+
+    RoundRecord(List<String> playerIds) {
+        this.playerIds = playerIds;
+    }
+
+    void reset(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+
+    public Bid getBid() {
+        return BIDS[getFlags() & RoundLogFormat.BID_MASK];
+    }
+
+    public String getFirstPlayer() {
+        return playerIds.get(getFlags() >>> RoundLogFormat.FIRST_SEAT_SHIFT & RoundLogFormat.SEAT_MASK);
+    }
+
+    public int getTakerSeat() {
+        return getSeats() & RoundLogFormat.SEAT_MASK;
+    }
+
+    public String getTaker() {
+        return playerIds.get(getTakerSeat());
+    }
+
+    public int getPartnerSeat() {
+        return getSeats() >>> RoundLogFormat.PARTNER_SEAT_SHIFT & RoundLogFormat.SEAT_MASK;
+    }
+
+    public String getPartner() {
+        return playerIds.get(getPartnerSeat());
+    }
+
+    public Optional<Card> getPartnerCard() {
+        if ((getFlags() & RoundLogFormat.HAS_PARTNER_CARD_FLAG) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Cards.fromIndex(buffer.get(offset + RoundLogFormat.PARTNER_CARD_OFFSET)));
+    }
+
+    public CardSet getDog() {
+        return unpackCards(0);
+    }
+
+    public CardSet getAside() {
+        return unpackCards(Deck.DOG_SIZE);
+    }
+
+    public CardSet getHandful() {
+        if ((getFlags() & RoundLogFormat.HAS_HANDFUL_FLAG) == 0) {
+            return CardSet.EMPTY;
+        }
+        int handfulOffset = offset + RoundLogFormat.BIDS_OFFSET + getNumBids();
+        return CardSet.fromBits(buffer.getLong(handfulOffset), buffer.getLong(handfulOffset + Long.BYTES));
+    }
+
+    /**
+     * @return The trick with index 'n' (0 is the first trick) packed with {@link PackedTricks}
+     */
+    public long getPackedTrick(int n) {
+        return buffer.getLong(offset + RoundLogFormat.TRICKS_OFFSET + n * Long.BYTES);
+    }
+
+    public List<Trick> getTricks() {
+        ImmutableList.Builder<Trick> tricks = ImmutableList.builder();
+        for (int n = 0; n < Trick.TRICKS_PER_ROUND; n++) {
+            tricks.add(PackedTricks.toTrick(getPackedTrick(n), n + 1, playerIds));
+        }
+        return tricks.build();
+    }
+
+    public float getScore(int seat) {
+        return buffer.getFloat(offset + RoundLogFormat.SCORES_OFFSET + seat * Float.BYTES);
+    }
+
+    public Map<String, Float> getScore() {
+        ImmutableMap.Builder<String, Float> score = ImmutableMap.builder();
+        for (int seat = 0; seat < playerIds.size(); seat++) {
+            score.put(playerIds.get(seat), getScore(seat));
+        }
+        return score.build();
+    }
+
+    public int getNumBids() {
+        return buffer.get(offset + RoundLogFormat.NUM_BIDS_OFFSET);
+    }
+
+    /**
+     * @return The seat of the player that made the 'n'th bid of the bidding
+     */
+    public int getBidderSeat(int n) {
+        return getBidByte(n) & RoundLogFormat.SEAT_MASK;
+    }
+
+    /**
+     * @return The 'n'th bid of the bidding
+     */
+    public Bid getBidAt(int n) {
+        return BIDS[getBidByte(n) >>> RoundLogFormat.BID_SHIFT & RoundLogFormat.BID_MASK];
+    }
+
+    private int getBidByte(int n) {
+        return buffer.get(offset + RoundLogFormat.BIDS_OFFSET + n);
+    }
+
+    private int getFlags() {
+        return buffer.get(offset + RoundLogFormat.FLAGS_OFFSET) & 0xFF;
+    }
+
+    private int getSeats() {
+        return buffer.get(offset + RoundLogFormat.SEATS_OFFSET) & 0xFF;
+    }
+
+    private CardSet unpackCards(int first) {
+        long packed = buffer.getLong(offset + RoundLogFormat.DOG_AND_ASIDE_OFFSET);
+        CardSet.Builder cards = CardSet.builder();
+        for (int i = first; i < first + Deck.DOG_SIZE; i++) {
+            cards.add(Cards.fromIndex((int) (packed >>> (i * RoundLogFormat.CARD_BITS)) & RoundLogFormat.CARD_MASK));
+        }
+        return cards.build();
+    }
+}
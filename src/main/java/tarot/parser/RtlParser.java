@@ -25,11 +25,15 @@ import com.google.common.collect.Maps;
 
 import tarot.game.ImmutablePlay;
 import tarot.game.ImmutableTrick;
+import tarot.game.PackedTricks;
+import tarot.game.RoundLedger;
+import tarot.game.Seats;
 import tarot.game.Trick;
 import tarot.game.Trick.Play;
 import tarot.state.Card;
 import tarot.state.Card.Suited;
 import tarot.state.Card.Trump;
+import tarot.state.CardSet;
 import tarot.state.Hand;
 import tarot.state.Hands;
 import tarot.state.ImmutableHand;
@@ -181,21 +185,28 @@ public class RtlParser {
 
     private static List<Trick> parseTricks(List<String> rtlTricks, PlayerInfo playerInfo) {
         List<Trick> tricks = new ArrayList<>(Trick.TRICKS_PER_ROUND);
+        RoundLedger ledger = new RoundLedger(playerInfo.getAttackerSeats());
         for (int numTrick = 0; numTrick < rtlTricks.size() - 1; numTrick++) {
-            tricks.add(parseTrick(rtlTricks.get(numTrick), numTrick + 1, playerInfo, ImmutableSet.of()));
+            Trick trick = parseTrick(rtlTricks.get(numTrick), numTrick + 1, playerInfo, ImmutableSet.of());
+            ledger.addTrick(PackedTricks.fromTrick(trick, playerInfo.getPlayerIds()));
+            tricks.add(trick);
         }
-        tricks.add(parseLastTrick(Iterables.getLast(rtlTricks), playerInfo, tricks));
+        tricks.add(parseTrick(
+                Iterables.getLast(rtlTricks),
+                Trick.TRICKS_PER_ROUND,
+                playerInfo,
+                getPlayers(ledger.getStrongFoolSeats(), playerInfo)));
         return tricks;
     }
 
-    private static Trick parseLastTrick(String rtlLastTrick, PlayerInfo playerInfo, List<Trick> tricks) {
-        if (tricks.stream().allMatch(t -> playerInfo.getDefenders().contains(t.getWinner().getPlayer()))) {
-            return parseTrick(rtlLastTrick, Trick.TRICKS_PER_ROUND, playerInfo, playerInfo.getDefenders());
-        } else if (tricks.stream().noneMatch(t -> playerInfo.getDefenders().contains(t.getWinner().getPlayer()))) {
-            return parseTrick(rtlLastTrick, Trick.TRICKS_PER_ROUND, playerInfo, playerInfo.getAttackers());
-        } else {
-            return parseTrick(rtlLastTrick, Trick.TRICKS_PER_ROUND, playerInfo, ImmutableSet.of());
+    private static Set<String> getPlayers(int seats, PlayerInfo playerInfo) {
+        ImmutableSet.Builder<String> players = ImmutableSet.builder();
+        for (int seat = 0; seat < playerInfo.getPlayerIds().size(); seat++) {
+            if (Seats.contains(seats, seat)) {
+                players.add(playerInfo.getPlayerIds().get(seat));
+            }
         }
+        return players.build();
     }
 
     private static Trick parseTrick(String rtlTrick,
@@ -237,13 +248,13 @@ public class RtlParser {
     }
 
     private static List<Hand> parseHands(List<Trick> tricks, PlayerInfo playerInfo) {
-        Map<String, ImmutableHand.Builder> hands = Maps.toMap(playerInfo.getPlayerIds(), p -> ImmutableHand.builder());
+        Map<String, CardSet.Builder> hands = Maps.toMap(playerInfo.getPlayerIds(), p -> CardSet.builder());
         for (Trick trick : tricks) {
             for (Play play : trick.getPlays()) {
-                hands.get(play.getPlayer()).addCards(play.getCard());
+                hands.get(play.getPlayer()).add(play.getCard());
             }
         }
-        return hands.values().stream().map(b -> b.build()).collect(Collectors.toList());
+        return hands.values().stream().map(b -> ImmutableHand.of(b.build())).collect(Collectors.toList());
     }
 
     @Value.Immutable
@@ -264,16 +275,12 @@ public class RtlParser {
 
         String getPartner();
 
+        /**
+         * @return The {@link Seats} mask of the taker and partner where seats are indexes into {@link #getPlayerIds()}
+         */
         @Value.Lazy
-        default Set<String> getAttackers() {
-            return ImmutableSet.of(getTaker(), getPartner());
-        }
-
-        @Value.Lazy
-        default Set<String> getDefenders() {
-            return getPlayerIds().stream()
-                    .filter(p -> !p.equals(getTaker()) && !p.equals(getPartner()))
-                    .collect(Collectors.toSet());
+        default int getAttackerSeats() {
+            return Seats.mask(getPlayerIds().indexOf(getTaker())) | Seats.mask(getPlayerIds().indexOf(getPartner()));
         }
     }
 }
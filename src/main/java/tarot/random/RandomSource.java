@@ -0,0 +1,47 @@
+package tarot.random;
+
+import java.util.List;
+
+/**
+ * A source of randomness for everything stochastic in a round (shuffling, dealing and the random strategies).
+ * Implementations are not thread-safe. Instead of sharing one, {@link #split()} off an independent source for each
+ * round, thread or player. Two sources created with the same seed and split in the same order produce the same values,
+ * so rounds played from a seeded source are exactly reproducible.
+ */
+public interface RandomSource {
+    static RandomSource splittable(long seed) {
+        return new SplittableRandomSource(seed);
+    }
+
+    static RandomSource xoshiro(long seed) {
+        return new XoshiroRandomSource(seed);
+    }
+
+    long nextLong();
+
+    /**
+     * @return A uniformly distributed value in [0, bound)
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return A uniformly distributed value in [0, 1)
+     */
+    double nextDouble();
+
+    /**
+     * @return A new source, statistically independent of this one, for use by another round, thread or player
+     */
+    RandomSource split();
+
+    default boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    default <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = nextInt(i + 1);
+            list.set(j, list.set(i, list.get(j)));
+        }
+    }
+}
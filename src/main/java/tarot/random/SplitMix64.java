@@ -0,0 +1,25 @@
+package tarot.random;
+
+/**
+ * The SplitMix64 generator's constants, which also make a good hash of a long. Its finalizer is a bijection that sends
+ * nearby inputs far apart.
+ */
+public final class SplitMix64 {
+    /**
+     * The odd constant SplitMix64 adds to its state for each value
+     */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix64() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return The SplitMix64 output for state 'z'
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
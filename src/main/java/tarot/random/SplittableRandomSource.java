@@ -0,0 +1,35 @@
+package tarot.random;
+
+import java.util.SplittableRandom;
+
+class SplittableRandomSource implements RandomSource {
+    private final SplittableRandom rng;
+
+    SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom rng) {
+        this.rng = rng;
+    }
+
+    @Override
+    public long nextLong() {
+        return rng.nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return rng.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return rng.nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(rng.split());
+    }
+}
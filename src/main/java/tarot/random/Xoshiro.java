@@ -0,0 +1,38 @@
+package tarot.random;
+
+/**
+ * The parts of xoshiro256** that {@link XoshiroRandomSource} and {@link XoshiroBatch} share, so that a stream gives
+ * the same values whichever one holds its state.
+ */
+final class Xoshiro {
+    private Xoshiro() {
+        // Prevent instantiation
+    }
+
+    /**
+     * The state is seeded with SplitMix64 as the authors of xoshiro recommend
+     *
+     * @return Word 'i' of the state seeded with 'seed'
+     */
+    static long seed(long seed, int i) {
+        return SplitMix64.mix(seed + (i + 1) * SplitMix64.GOLDEN_GAMMA);
+    }
+
+    /**
+     * The first step of Lemire's multiply-shift: the value drawn is the high 32 bits of the product, unless
+     * {@link #isBiased} rejects it and another is drawn
+     *
+     * @param random The next value of the stream
+     */
+    static long multiply(long random, int bound) {
+        return (random >>> 32) * bound;
+    }
+
+    /**
+     * @return Whether the low bits of 'product' fall in the few values that would make some results more likely
+     */
+    static boolean isBiased(long product, int bound) {
+        long low = product & 0xFFFFFFFFL;
+        return low < bound && low < (0x100000000L - bound) % bound;
+    }
+}
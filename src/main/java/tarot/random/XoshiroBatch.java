@@ -0,0 +1,64 @@
+package tarot.random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Many xoshiro256** streams kept in four columns of state, one entry per stream, for engines that advance many rounds
+ * in lockstep. Stream 'i' seeded with 's' produces the same values as {@link RandomSource#xoshiro(long)} of 's'. Not
+ * thread-safe.
+ */
+public final class XoshiroBatch {
+    private final long[] s0;
+    private final long[] s1;
+    private final long[] s2;
+    private final long[] s3;
+
+    public XoshiroBatch(int numStreams) {
+        this.s0 = new long[numStreams];
+        this.s1 = new long[numStreams];
+        this.s2 = new long[numStreams];
+        this.s3 = new long[numStreams];
+    }
+
+    public int getNumStreams() {
+        return s0.length;
+    }
+
+    public void seed(int stream, long seed) {
+        s0[stream] = Xoshiro.seed(seed, 0);
+        s1[stream] = Xoshiro.seed(seed, 1);
+        s2[stream] = Xoshiro.seed(seed, 2);
+        s3[stream] = Xoshiro.seed(seed, 3);
+    }
+
+    public long nextLong(int stream) {
+        long a = s0[stream];
+        long b = s1[stream];
+        long c = s2[stream];
+        long d = s3[stream];
+        long result = Long.rotateLeft(b * 5, 7) * 9;
+        long t = b << 17;
+        c ^= a;
+        d ^= b;
+        b ^= c;
+        a ^= d;
+        c ^= t;
+        s0[stream] = a;
+        s1[stream] = b;
+        s2[stream] = c;
+        s3[stream] = Long.rotateLeft(d, 45);
+        return result;
+    }
+
+    /**
+     * @return A uniformly distributed value in [0, bound), drawn as {@link RandomSource#nextInt(int)} draws it
+     */
+    public int nextInt(int stream, int bound) {
+        Preconditions.checkArgument(bound > 0, "bound must be positive: %s", bound);
+        long product = Xoshiro.multiply(nextLong(stream), bound);
+        while (Xoshiro.isBiased(product, bound)) {
+            product = Xoshiro.multiply(nextLong(stream), bound);
+        }
+        return (int) (product >>> 32);
+    }
+}
@@ -0,0 +1,54 @@
+package tarot.random;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * xoshiro256** (http://prng.di.unimi.it/). The state is seeded with SplitMix64 as its authors recommend.
+ */
+class XoshiroRandomSource implements RandomSource {
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    XoshiroRandomSource(long seed) {
+        s0 = Xoshiro.seed(seed, 0);
+        s1 = Xoshiro.seed(seed, 1);
+        s2 = Xoshiro.seed(seed, 2);
+        s3 = Xoshiro.seed(seed, 3);
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+        return result;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        Preconditions.checkArgument(bound > 0, "bound must be positive: %s", bound);
+        // Lemire's multiply-shift with rejection of the biased low values
+        long product = Xoshiro.multiply(nextLong(), bound);
+        while (Xoshiro.isBiased(product, bound)) {
+            product = Xoshiro.multiply(nextLong(), bound);
+        }
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    @Override
+    public RandomSource split() {
+        return new XoshiroRandomSource(nextLong());
+    }
+}
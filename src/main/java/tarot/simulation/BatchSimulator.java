@@ -0,0 +1,436 @@
+package tarot.simulation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import tarot.ai.BiddingStrategy;
+import tarot.ai.DogStrategy;
+import tarot.ai.Lineup;
+import tarot.ai.PartnerStrategy;
+import tarot.ai.RandomDogStrategy;
+import tarot.ai.RandomPartnerStrategy;
+import tarot.game.Bidding;
+import tarot.game.Bidding.Bidder;
+import tarot.game.ImmutableResult;
+import tarot.game.LegalMoves;
+import tarot.game.PackedTricks;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.RoundLedger;
+import tarot.game.Scorer;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.game.ValidationMode;
+import tarot.random.RandomSource;
+import tarot.random.XoshiroBatch;
+import tarot.state.Bid;
+import tarot.state.Bids;
+import tarot.state.Card;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+import tarot.state.Deck.Deal;
+import tarot.state.Hand;
+
+/**
+ * Plays batches of rounds of {@link Lineup#random()} together, for bulk statistics. Each round is set up (dealt, bid,
+ * called and the dog taken) on its own, then the tricks of all the rounds with a bid are played in lockstep: every
+ * round has the same number of plays, so each step works through primitive columns with one entry per round (the
+ * hands, the trick being played and its context, the sources the plays are drawn from) instead of a {@link Round} and
+ * its players per round. The rounds are scored once their tricks are over.
+ * <p>
+ * The passes over the columns are plain loops, as the build targets Java 8, which has no vector API. Each pass (legal
+ * moves, random plays, trick completion) is kept apart so that a vectorized one could replace it.
+ * <p>
+ * Round 'i' draws the same values as a {@link Round} of {@link Lineup#random()} with a fresh {@link Deck} and the
+ * source {@link SimulationRunner} gives it, so it has the same deal, bids, tricks and score. Not thread-safe.
+ */
+public final class BatchSimulator {
+    private static final int NUM_SEATS = Seats.NUM_SEATS;
+    private static final int FOOL_INDEX = Trump.FOOL.getIndex();
+    private static final Set<Card> NO_HANDFUL = ImmutableSet.of();
+
+    private final List<String> playerIds;
+    private final Scorer scorer;
+    private final int capacity;
+
+    // The rounds with a bid are played in lanes 0 to numGames - 1. Columns with an entry per seat are indexed by
+    // 'seat * capacity + lane' and those with one per trick by 'trick * capacity + lane'
+    private int numGames;
+    private final int[] roundIndices;
+
+    // Set up one round at a time
+    private final Bidding[] biddings;
+    private final Card[] partnerCards;
+    private final CardSet[] dogs;
+    private final CardSet[] asides;
+    private final int[] takerSeats;
+    private final int[] partnerSeats;
+    private final int[] attackerSeats;
+
+    // Played in lockstep
+    private final long[] suitedBits;
+    private final long[] trumpBits;
+    // The source of each seat's trick strategy
+    private final XoshiroBatch rngs;
+    private final long[] legalSuitedBits;
+    private final long[] legalTrumpBits;
+    private final long[] currentTricks;
+    private final int[] nextSeats;
+    private final int[] ledSuits;
+    private final int[] maxTrumpStrengths;
+    private final int[] numAttackerTricks;
+    private final long[] tricks;
+
+    // Filled in once the tricks are over
+    private final int[] attackerDoublePoints;
+    private final int[] petitAuBoutSeats;
+    private final float[] scores;
+
+    /**
+     * @param scorer Only used by this simulator
+     * @param capacity The most rounds played at once
+     */
+    public BatchSimulator(List<String> playerIds, Scorer scorer, int capacity) {
+        Preconditions.checkArgument(playerIds.size() == NUM_SEATS, "Expected %s players: %s", NUM_SEATS, playerIds);
+        Preconditions.checkArgument(capacity > 0, "Capacity must be positive: %s", capacity);
+        this.playerIds = ImmutableList.copyOf(playerIds);
+        this.scorer = scorer;
+        this.capacity = capacity;
+        this.roundIndices = new int[capacity];
+        this.biddings = new Bidding[capacity];
+        this.partnerCards = new Card[capacity];
+        this.dogs = new CardSet[capacity];
+        this.asides = new CardSet[capacity];
+        this.takerSeats = new int[capacity];
+        this.partnerSeats = new int[capacity];
+        this.attackerSeats = new int[capacity];
+        this.suitedBits = new long[NUM_SEATS * capacity];
+        this.trumpBits = new long[NUM_SEATS * capacity];
+        this.rngs = new XoshiroBatch(NUM_SEATS * capacity);
+        this.legalSuitedBits = new long[capacity];
+        this.legalTrumpBits = new long[capacity];
+        this.currentTricks = new long[capacity];
+        this.nextSeats = new int[capacity];
+        this.ledSuits = new int[capacity];
+        this.maxTrumpStrengths = new int[capacity];
+        this.numAttackerTricks = new int[capacity];
+        this.tricks = new long[Trick.TRICKS_PER_ROUND * capacity];
+        this.attackerDoublePoints = new int[capacity];
+        this.petitAuBoutSeats = new int[capacity];
+        this.scores = new float[NUM_SEATS * capacity];
+    }
+
+    /**
+     * Usage: BatchSimulator [numRounds] [batchSize] [seed]
+     * <p>
+     * Plays on one thread, for comparison with {@link SimulationRunner} at a parallelism of 1
+     */
+    public static void main(String[] args) {
+        int numRounds = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        List<String> playerIds = ImmutableList.of("n", "e", "s", "w", "nw");
+
+        BatchSimulator simulator = new BatchSimulator(playerIds, new PalantirScorer(), batchSize);
+        RoundStatistics statistics = new RoundStatistics(playerIds, 1);
+        long start = System.nanoTime();
+        for (int fromRound = 0; fromRound < numRounds; fromRound += batchSize) {
+            int batchRounds = Math.min(batchSize, numRounds - fromRound);
+            int numGames = simulator.play(seed, fromRound, batchRounds);
+            for (int lane = 0; lane < numGames; lane++) {
+                statistics.add(Optional.of(simulator.getResult(lane)));
+            }
+            for (int i = numGames; i < batchRounds; i++) {
+                statistics.add(Optional.empty());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(statistics);
+        System.out.printf("%.0f rounds/s%n", numRounds * 1e9 / elapsed);
+    }
+
+    /**
+     * Plays rounds 'fromRound' to 'fromRound + numRounds - 1' of 'seed', replacing the previous batch
+     *
+     * @return The number of those rounds with a bid, which are the lanes the getters take
+     */
+    public int play(long seed, int fromRound, int numRounds) {
+        Preconditions.checkArgument(
+                numRounds >= 0 && numRounds <= capacity,
+                "Can play 0 to %s rounds at once: %s",
+                capacity,
+                numRounds);
+        numGames = 0;
+        for (int i = 0; i < numRounds; i++) {
+            if (setUp(numGames, SimulationRunner.getRoundRandomSource(seed, fromRound + i))) {
+                roundIndices[numGames] = fromRound + i;
+                numGames++;
+            }
+        }
+        for (int trick = 0; trick < Trick.TRICKS_PER_ROUND; trick++) {
+            for (int position = 0; position < NUM_SEATS; position++) {
+                findLegalMoves();
+                playRandomMoves();
+            }
+            completeTricks(trick);
+        }
+        score();
+        return numGames;
+    }
+
+    public int getNumGames() {
+        return numGames;
+    }
+
+    /**
+     * @return The index of the round played in 'lane', from 'fromRound' on
+     */
+    public int getRoundIndex(int lane) {
+        Preconditions.checkElementIndex(lane, numGames);
+        return roundIndices[lane];
+    }
+
+    public int getTakerSeat(int lane) {
+        Preconditions.checkElementIndex(lane, numGames);
+        return takerSeats[lane];
+    }
+
+    /**
+     * @return Twice the card points the attackers captured in their tricks, not counting the aside
+     */
+    public int getAttackerDoublePoints(int lane) {
+        Preconditions.checkElementIndex(lane, numGames);
+        return attackerDoublePoints[lane];
+    }
+
+    public float getScore(int lane, int seat) {
+        Preconditions.checkElementIndex(lane, numGames);
+        return scores[seat * capacity + lane];
+    }
+
+    /**
+     * @return The same result as the {@link Round} would have, built from the columns
+     */
+    public Result getResult(int lane) {
+        Preconditions.checkElementIndex(lane, numGames);
+        long[] roundTricks = new long[Trick.TRICKS_PER_ROUND];
+        for (int trick = 0; trick < roundTricks.length; trick++) {
+            roundTricks[trick] = tricks[trick * capacity + lane];
+        }
+        Map<String, Float> score = new HashMap<>(NUM_SEATS);
+        for (int seat = 0; seat < NUM_SEATS; seat++) {
+            score.put(playerIds.get(seat), scores[seat * capacity + lane]);
+        }
+        return ImmutableResult.builder()
+                .playerIds(playerIds)
+                .bidding(biddings[lane])
+                .firstPlayer(playerIds.get(0))
+                .taker(playerIds.get(takerSeats[lane]))
+                .partner(playerIds.get(partnerSeats[lane]))
+                .partnerCard(Optional.ofNullable(partnerCards[lane]))
+                .dog(dogs[lane])
+                .aside(asides[lane])
+                .handful(CardSet.EMPTY)
+                .packedTricks(roundTricks)
+                .score(score)
+                .isMadeContract(scores[takerSeats[lane] * capacity + lane] > 0)
+                .petitAuBoutPlayer(petitAuBoutSeats[lane] == RoundLedger.NO_SEAT
+                        ? Optional.empty()
+                        : Optional.of(playerIds.get(petitAuBoutSeats[lane])))
+                .build();
+    }
+
+    /**
+     * Deals, bids, calls and takes the dog as {@link Round} does with {@link Lineup#random()}, drawing the same values
+     * from 'rng', and readies 'lane' for the tricks
+     *
+     * @return Whether anybody bid
+     */
+    private boolean setUp(int lane, RandomSource rng) {
+        Deal deal = deal(rng);
+        List<SeatBidder> bidders = new ArrayList<>(NUM_SEATS);
+        PartnerStrategy[] partnerStrategies = new PartnerStrategy[NUM_SEATS];
+        DogStrategy[] dogStrategies = new DogStrategy[NUM_SEATS];
+        for (int seat = 0; seat < NUM_SEATS; seat++) {
+            // Split as PlayerStrategies.random splits the player's source
+            RandomSource playerRng = rng.split();
+            Hand hand = deal.getHands().get(seat);
+            bidders.add(new SeatBidder(playerIds.get(seat), seat, hand, new BiddingStrategy.Random(playerRng.split())));
+            partnerStrategies[seat] = new RandomPartnerStrategy(playerRng.split());
+            dogStrategies[seat] = new RandomDogStrategy(playerRng.split());
+            // The trick strategy's split. Its plays are drawn from the columns instead
+            rngs.seed(seat * capacity + lane, playerRng.nextLong());
+        }
+
+        // The built-in strategies only make legal bids
+        Bidding bidding = Bidding.newBidding(ValidationMode.TRUSTED);
+        bidding.run(bidders);
+        if (!bidding.getBid().isPresent()) {
+            return false;
+        }
+        Bid bid = bidding.getBid().get();
+        int takerSeat = bidding.getTaker().get().getSeat();
+        Hand takerHand = deal.getHands().get(takerSeat);
+
+        Card partnerCard = partnerStrategies[takerSeat].callIfPossible(takerHand, bidding).orElse(null);
+        int partnerSeat = takerSeat;
+        for (int seat = 0; seat < NUM_SEATS && partnerCard != null; seat++) {
+            if (deal.getHands().get(seat).getCards().contains(partnerCard)) {
+                partnerSeat = seat;
+            }
+        }
+
+        CardSet aside = deal.getDog();
+        for (int seat = 0; seat < NUM_SEATS; seat++) {
+            CardSet cards = deal.getHands().get(seat).getCards();
+            if (seat == takerSeat && Bids.canSeeDog(bid)) {
+                aside = CardSet.copyOf(
+                        dogStrategies[takerSeat].chooseAside(takerHand, deal.getDog(), bidding, partnerCard));
+                cards = cards.union(deal.getDog()).difference(aside);
+            }
+            suitedBits[seat * capacity + lane] = cards.getSuitedBits();
+            trumpBits[seat * capacity + lane] = cards.getTrumpBits();
+        }
+
+        biddings[lane] = bidding;
+        partnerCards[lane] = partnerCard;
+        dogs[lane] = deal.getDog();
+        asides[lane] = aside;
+        takerSeats[lane] = takerSeat;
+        partnerSeats[lane] = partnerSeat;
+        attackerSeats[lane] = Seats.mask(takerSeat) | Seats.mask(partnerSeat);
+        currentTricks[lane] = PackedTricks.EMPTY;
+        nextSeats[lane] = 0;
+        ledSuits[lane] = LegalMoves.NOTHING_LED;
+        maxTrumpStrengths[lane] = LegalMoves.NO_TRUMP_PLAYED;
+        numAttackerTricks[lane] = 0;
+        return true;
+    }
+
+    /**
+     * As {@link Round} deals, from a fresh deck
+     */
+    private static Deal deal(RandomSource rng) {
+        Deck deck = Deck.unshuffled();
+        while (true) {
+            deck.softShuffle(rng);
+            Optional<Deal> deal = deck.deal(rng);
+            if (deal.isPresent()) {
+                return deal.get();
+            }
+        }
+    }
+
+    private void findLegalMoves() {
+        for (int lane = 0; lane < numGames; lane++) {
+            int slot = nextSeats[lane] * capacity + lane;
+            long suited = suitedBits[slot];
+            long trump = trumpBits[slot];
+            legalSuitedBits[lane] = LegalMoves.getLegalSuitedBits(suited, trump, ledSuits[lane]);
+            legalTrumpBits[lane] = LegalMoves.getLegalTrumpBits(suited, trump, ledSuits[lane], maxTrumpStrengths[lane]);
+        }
+    }
+
+    /**
+     * Plays a legal card in every lane as RandomTrickStrategy picks it: the n-th in {@link CardSet} order
+     */
+    private void playRandomMoves() {
+        for (int lane = 0; lane < numGames; lane++) {
+            int seat = nextSeats[lane];
+            int slot = seat * capacity + lane;
+            long legalSuited = legalSuitedBits[lane];
+            long legalTrump = legalTrumpBits[lane];
+            int numSuited = Long.bitCount(legalSuited);
+            int n = rngs.nextInt(slot, numSuited + Long.bitCount(legalTrump));
+            int cardIndex;
+            if (n < numSuited) {
+                int bit = CardSet.selectBit(legalSuited, n);
+                suitedBits[slot] &= ~(1L << bit);
+                cardIndex = bit;
+            } else {
+                int bit = CardSet.selectBit(legalTrump, n - numSuited);
+                trumpBits[slot] &= ~(1L << bit);
+                cardIndex = Cards.NUM_SUITED_CARDS + bit;
+            }
+            currentTricks[lane] = PackedTricks.addPlay(currentTricks[lane], seat, cardIndex);
+            nextSeats[lane] = Seats.next(seat);
+            if (ledSuits[lane] == LegalMoves.NOTHING_LED && cardIndex != FOOL_INDEX) {
+                ledSuits[lane] = Cards.getSuitOrdinal(cardIndex);
+            }
+            maxTrumpStrengths[lane] = Math.max(maxTrumpStrengths[lane], Cards.getTrumpStrength(cardIndex));
+        }
+    }
+
+    private void completeTricks(int trick) {
+        for (int lane = 0; lane < numGames; lane++) {
+            long packed = currentTricks[lane];
+            int winningSeat = PackedTricks.getWinningSeat(packed);
+            tricks[trick * capacity + lane] = packed;
+            if (Seats.contains(attackerSeats[lane], winningSeat)) {
+                numAttackerTricks[lane]++;
+            }
+            nextSeats[lane] = winningSeat;
+            ledSuits[lane] = LegalMoves.NOTHING_LED;
+            maxTrumpStrengths[lane] = LegalMoves.NO_TRUMP_PLAYED;
+            currentTricks[lane] = PackedTricks.withStrongFoolSeats(
+                    PackedTricks.EMPTY,
+                    RoundLedger.getStrongFoolSeats(attackerSeats[lane], trick + 1, numAttackerTricks[lane]));
+        }
+    }
+
+    private void score() {
+        for (int lane = 0; lane < numGames; lane++) {
+            RoundLedger ledger = new RoundLedger(attackerSeats[lane]);
+            for (int trick = 0; trick < Trick.TRICKS_PER_ROUND; trick++) {
+                ledger.addTrick(tricks[trick * capacity + lane]);
+            }
+            attackerDoublePoints[lane] = ledger.getAttackerDoublePoints();
+            petitAuBoutSeats[lane] = ledger.getPetitAuBoutSeat();
+            float handScore = scorer.computeHandScore(biddings[lane].getBid().get(), NO_HANDFUL, ledger, asides[lane]);
+            for (int seat = 0; seat < NUM_SEATS; seat++) {
+                scores[seat * capacity + lane] =
+                        Scorer.computePlayerScore(handScore, seat, takerSeats[lane], attackerSeats[lane]);
+            }
+        }
+    }
+
+    private static final class SeatBidder implements Bidder {
+        private final String id;
+        private final int seat;
+        private final Hand hand;
+        private final BiddingStrategy strategy;
+
+        SeatBidder(String id, int seat, Hand hand, BiddingStrategy strategy) {
+            this.id = id;
+            this.seat = seat;
+            this.hand = hand;
+            this.strategy = strategy;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public int getSeat() {
+            return seat;
+        }
+
+        @Override
+        public Optional<Bid> bid(Bidding state) {
+            return strategy.bid(hand, state);
+        }
+    }
+}
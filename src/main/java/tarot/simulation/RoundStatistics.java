@@ -0,0 +1,268 @@
+package tarot.simulation;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Round.Result;
+import tarot.state.Bid;
+
+/**
+ * Aggregates {@link Result}s as they are produced without retaining them. Safe to feed from many threads: each thread
+ * updates one of several independently locked stripes (picked by thread id) so parallel workers rarely touch the same
+ * lock, and the stripes are merged when read.
+ */
+public class RoundStatistics {
+    public enum Role {
+        TAKER,
+        PARTNER,
+        DEFENDER
+    }
+
+    private static final int NUM_BIDS = Bid.values().length;
+
+    private final List<String> playerIds;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public RoundStatistics(List<String> playerIds) {
+        this(playerIds, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    public RoundStatistics(List<String> playerIds, int minStripes) {
+        Preconditions.checkArgument(minStripes > 0, "Must have at least one stripe: %s", minStripes);
+        this.playerIds = ImmutableList.copyOf(playerIds);
+        // A power of two so a stripe can be picked with a mask
+        int numStripes = 1;
+        while (numStripes < minStripes) {
+            numStripes <<= 1;
+        }
+        this.stripes = new Stripe[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new Stripe(playerIds.size());
+        }
+        this.stripeMask = numStripes - 1;
+    }
+
+    /**
+     * @param result The outcome of {@link tarot.game.Round#play()} or {@link tarot.game.Round#playUntilDecided()}.
+     * Empty if nobody bid. Rounds that were {@link Result#isDecidedEarly()} only count towards the deal and contract
+     * statistics
+     */
+    public void add(Optional<Result> result) {
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        synchronized (stripe) {
+            if (result.isPresent()) {
+                stripe.add(result.get(), playerIds);
+            } else {
+                stripe.numDeadDeals++;
+            }
+        }
+    }
+
+    /**
+     * Adds everything recorded by 'other', which must be for the same players
+     */
+    public void merge(RoundStatistics other) {
+        Preconditions.checkArgument(
+                other.playerIds.equals(playerIds),
+                "Players differ: %s, %s",
+                playerIds,
+                other.playerIds);
+        Stripe merged = other.snapshot();
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+        synchronized (stripe) {
+            stripe.merge(merged);
+        }
+    }
+
+    public List<String> getPlayerIds() {
+        return playerIds;
+    }
+
+    /**
+     * @return The number of deals including dead ones
+     */
+    public long getNumDeals() {
+        Stripe snapshot = snapshot();
+        return snapshot.numDeadDeals + snapshot.numPlayed();
+    }
+
+    public long getNumDeadDeals() {
+        return snapshot().numDeadDeals;
+    }
+
+    /**
+     * @return The fraction of deals in which nobody bid
+     */
+    public double getDeadDealRate() {
+        Stripe snapshot = snapshot();
+        return rate(snapshot.numDeadDeals, snapshot.numDeadDeals + snapshot.numPlayed());
+    }
+
+    public long getNumContracts(Bid bid) {
+        return snapshot().numContracts[bid.ordinal()];
+    }
+
+    /**
+     * @return The fraction of rounds won by the taker's side out of those with 'bid' as the contract
+     */
+    public double getContractSuccessRate(Bid bid) {
+        Stripe snapshot = snapshot();
+        return rate(snapshot.numContractsMade[bid.ordinal()], snapshot.numContracts[bid.ordinal()]);
+    }
+
+    public RunningMoments getSeatScore(int seat) {
+        return snapshot().seatScores[seat];
+    }
+
+    /**
+     * A taker that called themselves (or couldn't call) is only counted as {@link Role#TAKER}
+     */
+    public RunningMoments getRoleScore(Role role) {
+        return snapshot().roleScores.get(role);
+    }
+
+    public double getHandfulRate() {
+        Stripe snapshot = snapshot();
+        return rate(snapshot.numHandfuls, snapshot.numPlayed());
+    }
+
+    /**
+     * @return The fraction of rounds played to the end with a petit au bout: the petit was played in the last trick or,
+     * when one side took every trick, in the second to last one
+     */
+    public double getPetitAuBoutRate() {
+        Stripe snapshot = snapshot();
+        return rate(snapshot.numPetitAuBout, snapshot.numPlayed() - snapshot.numDecidedEarly);
+    }
+
+    public long getNumDecidedEarly() {
+        return snapshot().numDecidedEarly;
+    }
+
+    @Override
+    public String toString() {
+        Stripe snapshot = snapshot();
+        long numPlayed = snapshot.numPlayed();
+        MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper(this)
+                .add("deals", snapshot.numDeadDeals + numPlayed)
+                .add("deadDealRate", rate(snapshot.numDeadDeals, snapshot.numDeadDeals + numPlayed))
+                .add("handfulRate", rate(snapshot.numHandfuls, numPlayed))
+                .add("petitAuBoutRate", rate(snapshot.numPetitAuBout, numPlayed - snapshot.numDecidedEarly))
+                .add("decidedEarly", snapshot.numDecidedEarly);
+        for (Bid bid : Bid.values()) {
+            helper.add(
+                    bid + "SuccessRate",
+                    rate(snapshot.numContractsMade[bid.ordinal()], snapshot.numContracts[bid.ordinal()]));
+        }
+        for (int seat = 0; seat < playerIds.size(); seat++) {
+            helper.add(playerIds.get(seat), snapshot.seatScores[seat]);
+        }
+        for (Role role : Role.values()) {
+            helper.add(role.name(), snapshot.roleScores.get(role));
+        }
+        return helper.toString();
+    }
+
+    private Stripe snapshot() {
+        Stripe snapshot = new Stripe(playerIds.size());
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                snapshot.merge(stripe);
+            }
+        }
+        return snapshot;
+    }
+
+    private static double rate(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    private static final class Stripe {
+        private final RunningMoments[] seatScores;
+        private final Map<Role, RunningMoments> roleScores = new EnumMap<>(Role.class);
+        private final long[] numContracts = new long[NUM_BIDS];
+        private final long[] numContractsMade = new long[NUM_BIDS];
+        private long numDeadDeals;
+        private long numHandfuls;
+        private long numPetitAuBout;
+        private long numDecidedEarly;
+
+        Stripe(int numPlayers) {
+            seatScores = new RunningMoments[numPlayers];
+            for (int seat = 0; seat < numPlayers; seat++) {
+                seatScores[seat] = new RunningMoments();
+            }
+            for (Role role : Role.values()) {
+                roleScores.put(role, new RunningMoments());
+            }
+        }
+
+        long numPlayed() {
+            long numPlayed = 0;
+            for (long n : numContracts) {
+                numPlayed += n;
+            }
+            return numPlayed;
+        }
+
+        void add(Result result, List<String> playerIds) {
+            int bid = result.getBidding().getBid().get().ordinal();
+            numContracts[bid]++;
+            if (result.isMadeContract()) {
+                numContractsMade[bid]++;
+            }
+            if (!result.getHandful().isEmpty()) {
+                numHandfuls++;
+            }
+            if (result.isDecidedEarly()) {
+                numDecidedEarly++;
+                return;
+            }
+
+            Map<String, Float> score = result.getScore();
+            for (int seat = 0; seat < playerIds.size(); seat++) {
+                String playerId = playerIds.get(seat);
+                float playerScore = score.get(playerId);
+                seatScores[seat].add(playerScore);
+                roleScores.get(getRole(result, playerId)).add(playerScore);
+            }
+            if (result.getPetitAuBoutPlayer().isPresent()) {
+                numPetitAuBout++;
+            }
+        }
+
+        void merge(Stripe other) {
+            for (int seat = 0; seat < seatScores.length; seat++) {
+                seatScores[seat].merge(other.seatScores[seat]);
+            }
+            for (Role role : Role.values()) {
+                roleScores.get(role).merge(other.roleScores.get(role));
+            }
+            for (int bid = 0; bid < NUM_BIDS; bid++) {
+                numContracts[bid] += other.numContracts[bid];
+                numContractsMade[bid] += other.numContractsMade[bid];
+            }
+            numDeadDeals += other.numDeadDeals;
+            numHandfuls += other.numHandfuls;
+            numPetitAuBout += other.numPetitAuBout;
+            numDecidedEarly += other.numDecidedEarly;
+        }
+
+        private static Role getRole(Result result, String playerId) {
+            if (playerId.equals(result.getTaker())) {
+                return Role.TAKER;
+            } else if (playerId.equals(result.getPartner())) {
+                return Role.PARTNER;
+            } else {
+                return Role.DEFENDER;
+            }
+        }
+    }
+}
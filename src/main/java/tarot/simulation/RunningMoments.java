@@ -0,0 +1,66 @@
+package tarot.simulation;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Count, mean and variance of a stream of values in constant space using Welford's algorithm. Two instances can be
+ * merged exactly (Chan et al.), so partial results from different workers can be combined. Not thread-safe.
+ */
+public final class RunningMoments {
+    private long count;
+    private double mean;
+    // Sum of squared differences from the mean
+    private double m2;
+
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+    }
+
+    public void merge(RunningMoments other) {
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
+    public RunningMoments copy() {
+        RunningMoments copy = new RunningMoments();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getSum() {
+        return mean * count;
+    }
+
+    /**
+     * @return The sample variance or 0 if there are fewer than two values
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("count", count)
+                .add("mean", mean)
+                .add("variance", getVariance())
+                .toString();
+    }
+}
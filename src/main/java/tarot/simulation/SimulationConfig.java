@@ -0,0 +1,76 @@
+package tarot.simulation;
+
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Scorer;
+import tarot.game.ValidationMode;
+
+@Value.Immutable
+public interface SimulationConfig {
+    int getNumRounds();
+
+    /**
+     * Shared by every worker, so it must be thread-safe
+     */
+    Scorer getScorer();
+
+    /**
+     * Shared by every worker, so it must be thread-safe. The strategies it creates are only used by one round
+     */
+    Lineup getLineup();
+
+    @Value.Default
+    default int getParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Round 'i' is played with a {@link tarot.random.RandomSource} derived from only this seed and 'i', so the results
+     * don't depend on {@link #getParallelism()}
+     */
+    long getSeed();
+
+    @Value.Default
+    default List<String> getPlayerIds() {
+        return ImmutableList.of("n", "e", "s", "w", "nw");
+    }
+
+    @Value.Default
+    default ValidationMode getValidationMode() {
+        return ValidationMode.FULL;
+    }
+
+    /**
+     * The fraction of rounds that are still played with {@link ValidationMode#FULL} when {@link #getValidationMode()}
+     * is {@link ValidationMode#TRUSTED}, to catch a strategy that isn't as trustworthy as it was assumed to be
+     */
+    @Value.Default
+    default double getAuditRate() {
+        return 0;
+    }
+
+    /**
+     * Whether rounds are played with {@link tarot.game.Round#playUntilDecided()}, for jobs that only need contract
+     * statistics
+     */
+    @Value.Default
+    default boolean isOutcomeOnly() {
+        return false;
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(getNumRounds() >= 0, "Number of rounds must be non-negative: %s", getNumRounds());
+        Preconditions.checkArgument(getParallelism() > 0, "Parallelism must be positive: %s", getParallelism());
+        Preconditions.checkArgument(
+                getAuditRate() >= 0 && getAuditRate() <= 1,
+                "Audit rate must be in [0, 1]: %s",
+                getAuditRate());
+    }
+}
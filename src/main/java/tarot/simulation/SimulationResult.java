@@ -0,0 +1,17 @@
+package tarot.simulation;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface SimulationResult {
+    int getNumRounds();
+
+    long getElapsedNanos();
+
+    RoundStatistics getStatistics();
+
+    @Value.Derived
+    default double getRoundsPerSecond() {
+        return getElapsedNanos() == 0 ? 0 : getNumRounds() * 1e9 / getElapsedNanos();
+    }
+}
@@ -0,0 +1,138 @@
+package tarot.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tarot.ai.Lineup;
+import tarot.game.Round;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.game.ValidationMode;
+import tarot.random.RandomSource;
+import tarot.random.SplitMix64;
+import tarot.state.Deck;
+
+/**
+ * Plays many independent rounds across a {@link ForkJoinPool}. Every leaf task owns its {@link Deck} and creates a
+ * {@link Round} and {@link RandomSource} per round, so workers share nothing but the (thread-safe) scorer, lineup and
+ * {@link RoundStatistics}.
+ */
+public class SimulationRunner {
+    private static final Logger log = LoggerFactory.getLogger(SimulationRunner.class);
+
+    // Fixed rather than derived from the parallelism so the split (and so every round) is the same for any parallelism
+    private static final int ROUNDS_PER_TASK = 256;
+
+    // Audits are drawn from their own stream so that auditing a round doesn't change how it's played
+    private static final long AUDIT_SALT = 0x5DEECE66DL;
+
+    private SimulationRunner() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Usage: SimulationRunner [numRounds] [parallelism] [seed] [auditRate]
+     * <p>
+     * Rounds are played with {@link ValidationMode#TRUSTED} if an audit rate is given
+     */
+    public static void main(String[] args) {
+        ImmutableSimulationConfig.Builder config = ImmutableSimulationConfig.builder()
+                .numRounds(args.length > 0 ? Integer.parseInt(args[0]) : 100000)
+                .seed(args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime())
+                .scorer(new PalantirScorer())
+                .lineup(Lineup.random());
+        if (args.length > 1) {
+            config.parallelism(Integer.parseInt(args[1]));
+        }
+        if (args.length > 3) {
+            config.validationMode(ValidationMode.TRUSTED).auditRate(Double.parseDouble(args[3]));
+        }
+        SimulationResult result = run(config.build());
+        System.out.println(result.getStatistics());
+        System.out.printf("%.0f rounds/s%n", result.getRoundsPerSecond());
+    }
+
+    public static SimulationResult run(SimulationConfig config) {
+        log.debug("Running simulation: {}", config);
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            RoundStatistics statistics = new RoundStatistics(config.getPlayerIds(), config.getParallelism() * 2);
+            long start = System.nanoTime();
+            pool.invoke(new SimulationTask(config, statistics, 0, config.getNumRounds()));
+            long elapsed = System.nanoTime() - start;
+
+            return ImmutableSimulationResult.builder()
+                    .numRounds(config.getNumRounds())
+                    .elapsedNanos(elapsed)
+                    .statistics(statistics)
+                    .build();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return The source for round 'roundIndex', independent of which worker plays it
+     */
+    static RandomSource getRoundRandomSource(long seed, int roundIndex) {
+        return RandomSource.xoshiro(seed + SplitMix64.GOLDEN_GAMMA * (roundIndex + 1));
+    }
+
+    /**
+     * @return How round 'roundIndex' is checked, independent of which worker plays it
+     */
+    static ValidationMode getRoundValidationMode(SimulationConfig config, int roundIndex) {
+        if (config.getValidationMode() == ValidationMode.TRUSTED
+                && getRoundRandomSource(config.getSeed() ^ AUDIT_SALT, roundIndex).nextDouble()
+                < config.getAuditRate()) {
+            return ValidationMode.FULL;
+        }
+        return config.getValidationMode();
+    }
+
+    private static final class SimulationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SimulationConfig config;
+        private final RoundStatistics statistics;
+        private final int fromRound;
+        private final int toRound;
+
+        SimulationTask(SimulationConfig config, RoundStatistics statistics, int fromRound, int toRound) {
+            this.config = config;
+            this.statistics = statistics;
+            this.fromRound = fromRound;
+            this.toRound = toRound;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRound - fromRound <= ROUNDS_PER_TASK) {
+                playRounds();
+            } else {
+                int mid = (fromRound + toRound) >>> 1;
+                invokeAll(
+                        new SimulationTask(config, statistics, fromRound, mid),
+                        new SimulationTask(config, statistics, mid, toRound));
+            }
+        }
+
+        private void playRounds() {
+            Deck deck = Deck.unshuffled();
+            for (int i = fromRound; i < toRound; i++) {
+                RandomSource rng = getRoundRandomSource(config.getSeed(), i);
+                ValidationMode validationMode = getRoundValidationMode(config, i);
+                Round round = Round.create(
+                        config.getPlayerIds(),
+                        deck,
+                        config.getScorer(),
+                        config.getLineup(),
+                        rng,
+                        validationMode);
+                statistics.add(config.isOutcomeOnly() ? round.playUntilDecided() : round.play());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package tarot.simulation;
+
+import java.util.List;
+
+import org.immutables.value.Value;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Scorer;
+import tarot.game.ValidationMode;
+
+/**
+ * A comparison of a candidate lineup against a baseline by duplicate play: see {@link TournamentRunner}
+ */
+@Value.Immutable
+public interface TournamentConfig {
+    /**
+     * Shared by every worker, so it must be thread-safe. Only the strategies it creates for the candidate's seat are
+     * used
+     */
+    Lineup getCandidate();
+
+    /**
+     * Shared by every worker, so it must be thread-safe
+     */
+    Lineup getBaseline();
+
+    /**
+     * Shared by every worker, so it must be thread-safe
+     */
+    Scorer getScorer();
+
+    /**
+     * The most deals to play if the sequential test doesn't decide sooner. Each deal is played
+     * {@link TournamentRunner#ROUNDS_PER_DEAL} times
+     */
+    int getMaxDeals();
+
+    /**
+     * @return The improvement in the mean score per round that the sequential test tells apart from no improvement
+     */
+    @Value.Default
+    default double getEffectSize() {
+        return 1;
+    }
+
+    /**
+     * @return The chance of deciding that the candidate is better when it is no better
+     */
+    @Value.Default
+    default double getFalsePositiveRate() {
+        return 0.05;
+    }
+
+    /**
+     * @return The chance of deciding that the candidate is no better when it is better by {@link #getEffectSize()}
+     */
+    @Value.Default
+    default double getFalseNegativeRate() {
+        return 0.05;
+    }
+
+    @Value.Default
+    default int getParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Deal 'i' is played with {@link tarot.random.RandomSource}s derived from only this seed and 'i', so the results
+     * don't depend on {@link #getParallelism()}
+     */
+    long getSeed();
+
+    @Value.Default
+    default List<String> getPlayerIds() {
+        return ImmutableList.of("n", "e", "s", "w", "nw");
+    }
+
+    @Value.Default
+    default ValidationMode getValidationMode() {
+        return ValidationMode.FULL;
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(getMaxDeals() >= 0, "Max deals must be non-negative: %s", getMaxDeals());
+        Preconditions.checkArgument(getEffectSize() > 0, "Effect size must be positive: %s", getEffectSize());
+        Preconditions.checkArgument(
+                getFalsePositiveRate() > 0 && getFalsePositiveRate() < 1,
+                "False positive rate must be in (0, 1): %s",
+                getFalsePositiveRate());
+        Preconditions.checkArgument(
+                getFalseNegativeRate() > 0 && getFalseNegativeRate() < 1,
+                "False negative rate must be in (0, 1): %s",
+                getFalseNegativeRate());
+        Preconditions.checkArgument(getParallelism() > 0, "Parallelism must be positive: %s", getParallelism());
+    }
+}
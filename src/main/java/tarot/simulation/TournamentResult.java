@@ -0,0 +1,40 @@
+package tarot.simulation;
+
+import org.immutables.value.Value;
+
+@Value.Immutable
+public interface TournamentResult {
+    enum Decision {
+        /**
+         * The candidate is better by at least the effect size
+         */
+        BETTER,
+        /**
+         * The candidate is no better than the baseline
+         */
+        NO_BETTER,
+        /**
+         * The maximum number of deals was played before the test decided
+         */
+        UNDECIDED
+    }
+
+    Decision getDecision();
+
+    /**
+     * @return The number of deals the decision was made on. More may have been played
+     */
+    int getNumDeals();
+
+    /**
+     * @return Per deal, the candidate's mean score over the seats minus the baseline's in the same seats
+     */
+    RunningMoments getDifference();
+
+    /**
+     * @return The log likelihood ratio of the sequential test when it stopped
+     */
+    double getLogLikelihoodRatio();
+
+    long getElapsedNanos();
+}
@@ -0,0 +1,191 @@
+package tarot.simulation;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tarot.ai.ImmutableMonteCarloConfig;
+import tarot.ai.Lineup;
+import tarot.ai.MonteCarloConfig;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.game.Seats;
+import tarot.simulation.TournamentResult.Decision;
+import tarot.state.Deck;
+
+/**
+ * Compares a candidate lineup against a baseline by duplicate play. Each deal is played once by the baseline alone and
+ * then once with the candidate in each seat in turn, every time with the same cards and the same random sources for
+ * each seat, so that luck mostly cancels out of the difference between the candidate's score in a seat and the
+ * baseline's. Deals are played in parallel in batches and fed in order to a sequential probability ratio test (Wald)
+ * on the mean difference, which stops the comparison as soon as it reaches the configured error rates.
+ */
+public class TournamentRunner {
+    public static final int ROUNDS_PER_DEAL = Seats.NUM_SEATS + 1;
+
+    private static final Logger log = LoggerFactory.getLogger(TournamentRunner.class);
+
+    // Fixed rather than derived from the parallelism so the decision is the same for any parallelism
+    private static final int DEALS_PER_BATCH = 64;
+    // The variance estimate is too rough to test with before this many deals
+    private static final int MIN_DEALS = 16;
+
+    private TournamentRunner() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Usage: TournamentRunner [maxDeals] [parallelism] [seed] [rolloutsPerDecision]
+     * <p>
+     * Compares {@link Lineup#monteCarlo} against {@link Lineup#random()}
+     */
+    public static void main(String[] args) {
+        MonteCarloConfig monteCarloConfig = ImmutableMonteCarloConfig.builder()
+                .rolloutsPerDecision(args.length > 3 ? Integer.parseInt(args[3]) : 100)
+                .build();
+        Scorer scorer = new PalantirScorer();
+        ImmutableTournamentConfig.Builder config = ImmutableTournamentConfig.builder()
+                .maxDeals(args.length > 0 ? Integer.parseInt(args[0]) : 10000)
+                .seed(args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime())
+                .scorer(scorer)
+                .candidate(Lineup.monteCarlo(monteCarloConfig, scorer))
+                .baseline(Lineup.random());
+        if (args.length > 1) {
+            config.parallelism(Integer.parseInt(args[1]));
+        }
+        TournamentResult result = run(config.build());
+        System.out.println(result);
+    }
+
+    public static TournamentResult run(TournamentConfig config) {
+        log.debug("Running tournament: {}", config);
+        double lowerBound = Math.log(config.getFalseNegativeRate() / (1 - config.getFalsePositiveRate()));
+        double upperBound = Math.log((1 - config.getFalseNegativeRate()) / config.getFalsePositiveRate());
+        ForkJoinPool pool = new ForkJoinPool(config.getParallelism());
+        try {
+            long start = System.nanoTime();
+            RunningMoments difference = new RunningMoments();
+            double logLikelihoodRatio = 0;
+            for (int fromDeal = 0; fromDeal < config.getMaxDeals(); fromDeal += DEALS_PER_BATCH) {
+                int toDeal = Math.min(fromDeal + DEALS_PER_BATCH, config.getMaxDeals());
+                double[] differences = new double[toDeal - fromDeal];
+                pool.invoke(new DealTask(config, differences, fromDeal, 0, differences.length));
+                for (double value : differences) {
+                    difference.add(value);
+                    logLikelihoodRatio = computeLogLikelihoodRatio(difference, config.getEffectSize());
+                    if (difference.getCount() < MIN_DEALS || logLikelihoodRatio == 0) {
+                        continue;
+                    } else if (logLikelihoodRatio >= upperBound) {
+                        return buildResult(Decision.BETTER, difference, logLikelihoodRatio, start);
+                    } else if (logLikelihoodRatio <= lowerBound) {
+                        return buildResult(Decision.NO_BETTER, difference, logLikelihoodRatio, start);
+                    }
+                }
+                log.debug("{} deals: {}, log likelihood ratio {}", toDeal, difference, logLikelihoodRatio);
+            }
+            return buildResult(Decision.UNDECIDED, difference, logLikelihoodRatio, start);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Of a mean difference of 'effectSize' against none, taking the differences to be normal with their sample
+     * variance
+     *
+     * @return 0 if the variance is still 0
+     */
+    static double computeLogLikelihoodRatio(RunningMoments difference, double effectSize) {
+        double variance = difference.getVariance();
+        if (variance == 0) {
+            return 0;
+        }
+        return effectSize / variance * (difference.getSum() - difference.getCount() * effectSize / 2);
+    }
+
+    /**
+     * @return The candidate's mean score over the seats of deal 'dealIndex' minus the baseline's
+     */
+    static double playDeal(TournamentConfig config, int dealIndex) {
+        Optional<Result> baseline = playRound(config, config.getBaseline(), dealIndex);
+        double sum = 0;
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            int candidateSeat = seat;
+            Lineup lineup = (s, rng) -> (s == candidateSeat ? config.getCandidate() : config.getBaseline())
+                    .create(s, rng);
+            Optional<Result> candidate = playRound(config, lineup, dealIndex);
+            sum += getScore(config, candidate, seat) - getScore(config, baseline, seat);
+        }
+        return sum / Seats.NUM_SEATS;
+    }
+
+    private static Optional<Result> playRound(TournamentConfig config, Lineup lineup, int dealIndex) {
+        // A fresh deck and the same source deal the same cards every time
+        Round round = Round.create(
+                config.getPlayerIds(),
+                Deck.unshuffled(),
+                config.getScorer(),
+                lineup,
+                SimulationRunner.getRoundRandomSource(config.getSeed(), dealIndex),
+                config.getValidationMode());
+        return round.play();
+    }
+
+    /**
+     * @return The score of 'seat' or 0 if nobody bid
+     */
+    private static double getScore(TournamentConfig config, Optional<Result> result, int seat) {
+        return result.map(r -> r.getScore().get(config.getPlayerIds().get(seat))).orElse(0f);
+    }
+
+    private static TournamentResult buildResult(Decision decision,
+                                                RunningMoments difference,
+                                                double logLikelihoodRatio,
+                                                long start) {
+        return ImmutableTournamentResult.builder()
+                .decision(decision)
+                .numDeals((int) difference.getCount())
+                .difference(difference)
+                .logLikelihoodRatio(logLikelihoodRatio)
+                .elapsedNanos(System.nanoTime() - start)
+                .build();
+    }
+
+    private static final class DealTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final TournamentConfig config;
+        private final double[] differences;
+        private final int firstDeal;
+        private final int from;
+        private final int to;
+
+        /**
+         * @param differences Filled from 'from' to 'to' with the differences of the deals 'firstDeal' plus those
+         */
+        DealTask(TournamentConfig config, double[] differences, int firstDeal, int from, int to) {
+            this.config = config;
+            this.differences = differences;
+            this.firstDeal = firstDeal;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                differences[from] = playDeal(config, firstDeal + from);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(
+                        new DealTask(config, differences, firstDeal, from, mid),
+                        new DealTask(config, differences, firstDeal, mid, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package tarot.solver;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+
+import tarot.game.LegalMoves;
+import tarot.game.PackedTricks;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Hand;
+import tarot.state.Suit;
+
+/**
+ * Finds the card points the attackers capture under optimal play by both sides when every hand is known. The search
+ * is alpha-beta over single plays, with:
+ * <ul>
+ *     <li>move ordering: cheap winning cards first, then discards, with points first when a partner is winning</li>
+ *     <li>a transposition table of bounds at every play, keyed by a Zobrist hash of who holds (or played to the current
+ *     trick) each card still in play, by its rank in its suit among those cards and its points, who leads and who
+ *     attacks. Positions that only differ by which low cards were played earlier share an entry</li>
+ *     <li>equivalent-card pruning: of the cards in a hand that are adjacent in a suit once the cards already played are
+ *     removed, and that are worth the same, only one is tried</li>
+ *     <li>bounds from the points still in play, as the fool stays with its side whatever happens</li>
+ *     <li>null window searches starting from the value of a greedy playout, each moving one bound on the value</li>
+ * </ul>
+ * As in {@link tarot.ai.MonteCarloTrickStrategy}, the fool is kept by the side that plays it, the half point exchanged
+ * for it is ignored and it is never strong. Not thread-safe, but a solver can be reused and keeps its table between
+ * positions.
+ */
+public class DoubleDummySolver {
+    private static final Logger log = LoggerFactory.getLogger(DoubleDummySolver.class);
+
+    private static final int FOOL_INDEX = Trump.FOOL.getIndex();
+    private static final long FOOL_BIT = 1L << (FOOL_INDEX - Cards.NUM_SUITED_CARDS);
+    // Who has a card: the seat holding it, or NUM_SEATS plus the seat that played it to the current trick
+    private static final int NUM_HOLDERS = 2 * Seats.NUM_SEATS;
+    private static final int NUM_SUIT_SLOTS = Suit.values().length + 1;
+    private static final int TRUMP_SLOT = NUM_SUIT_SLOTS - 1;
+    private static final int MAX_DOUBLE_POINTS = 9;
+    // Index with getCardKey
+    private static final long[] CARD_KEYS =
+            new long[NUM_SUIT_SLOTS * Cards.NUM_TRUMP_CARDS * NUM_HOLDERS * (MAX_DOUBLE_POINTS + 1)];
+    private static final long[] FOOL_KEYS = new long[NUM_HOLDERS];
+    private static final long[] LEADER_KEYS = new long[Seats.NUM_SEATS];
+    private static final long[] ATTACKER_KEYS = new long[1 << Seats.NUM_SEATS];
+    private static final long[] SUIT_BITS = new long[Cards.NUM_CARDS];
+
+    static {
+        RandomSource rng = RandomSource.xoshiro(0x7A6F6272697374L);
+        for (int i = 0; i < CARD_KEYS.length; i++) {
+            CARD_KEYS[i] = rng.nextLong();
+        }
+        for (int i = 0; i < FOOL_KEYS.length; i++) {
+            FOOL_KEYS[i] = rng.nextLong();
+        }
+        for (int i = 0; i < LEADER_KEYS.length; i++) {
+            LEADER_KEYS[i] = rng.nextLong();
+        }
+        for (int i = 0; i < ATTACKER_KEYS.length; i++) {
+            ATTACKER_KEYS[i] = rng.nextLong();
+        }
+        for (int cardIndex = 0; cardIndex < Cards.NUM_SUITED_CARDS; cardIndex++) {
+            SUIT_BITS[cardIndex] = CardSet.allOf(Cards.getSuit(Cards.fromIndex(cardIndex)).get()).getSuitedBits();
+        }
+        for (int cardIndex = Cards.NUM_SUITED_CARDS; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+            SUIT_BITS[cardIndex] = CardSet.ALL_TRUMP.getTrumpBits() & ~(1L << (FOOL_INDEX - Cards.NUM_SUITED_CARDS));
+        }
+    }
+
+    private final TranspositionTable table;
+    // Indexed like Playouts: suited bits of seat s at 2s and its trump bits at 2s + 1
+    private final long[] hands = new long[2 * Seats.NUM_SEATS];
+    // One buffer of candidate plays (and their sort keys) per ply, each big enough for a full hand
+    private final int[][] moves = new int[Seats.NUM_SEATS * Trick.TRICKS_PER_ROUND][Trick.TRICKS_PER_ROUND];
+    private final int[][] sortKeys = new int[Seats.NUM_SEATS * Trick.TRICKS_PER_ROUND][Trick.TRICKS_PER_ROUND];
+    // The cards in a hand or in the current trick, for finding which cards are adjacent
+    private long aliveSuitedBits;
+    private long aliveTrumpBits;
+    private int aliveDoublePoints;
+    // Whether the fool, if it is still in play, is the attackers'
+    private boolean attackersHoldFool;
+    private int attackerSeats;
+    private long hash;
+    private long numNodes;
+
+    /**
+     * @param tableSizeInBytes The memory to use for the transposition table
+     */
+    public DoubleDummySolver(long tableSizeInBytes) {
+        this.table = new TranspositionTable(tableSizeInBytes);
+    }
+
+    /**
+     * @param hands The cards each seat still holds, indexed by seat, at most {@link Trick#TRICKS_PER_ROUND} each. E.g.
+     *              the hands {@link tarot.parser.RtlParser} reconstructs from a log, less the cards already played
+     * @param attackerSeats The {@link Seats} mask of the taker and partner
+     * @param leader The seat that led (or is to lead) the current trick
+     * @param currentTrick The plays so far in the current trick, packed with {@link PackedTricks}
+     * @return Twice the card points the attackers capture from the current trick onwards under optimal play
+     */
+    public int solve(List<? extends Hand> hands, int attackerSeats, int leader, long currentTrick) {
+        Preconditions.checkArgument(hands.size() == Seats.NUM_SEATS, "Expected a hand per seat: %s", hands);
+        Preconditions.checkArgument((attackerSeats & ~Seats.ALL) == 0, "Not a seat mask: %s", attackerSeats);
+        int numPlayed = PackedTricks.size(currentTrick);
+        Preconditions.checkArgument(
+                numPlayed == 0 || PackedTricks.getSeat(currentTrick, 0) == leader,
+                "Seat %s didn't lead %s",
+                leader,
+                PackedTricks.getCards(currentTrick));
+        int numCards = hands.get(leader).getCards().size() + (numPlayed > 0 ? 1 : 0);
+        Preconditions.checkArgument(numCards > 0, "Nothing left to play");
+        Preconditions.checkArgument(
+                numCards <= Trick.TRICKS_PER_ROUND,
+                "More than %s tricks to play: %s",
+                Trick.TRICKS_PER_ROUND,
+                numCards);
+
+        this.attackerSeats = attackerSeats;
+        long seenSuitedBits = 0L;
+        long seenTrumpBits = 0L;
+        for (int i = 0; i < Seats.NUM_SEATS; i++) {
+            int seat = (leader + i) % Seats.NUM_SEATS;
+            CardSet cards = hands.get(seat).getCards();
+            Preconditions.checkArgument(
+                    cards.size() == (i < numPlayed ? numCards - 1 : numCards),
+                    "Seat %s should hold %s cards: %s",
+                    seat,
+                    i < numPlayed ? numCards - 1 : numCards,
+                    cards);
+            Preconditions.checkArgument(
+                    (cards.getSuitedBits() & seenSuitedBits) == 0 && (cards.getTrumpBits() & seenTrumpBits) == 0,
+                    "Seat %s holds a card held or played by someone else: %s",
+                    seat,
+                    cards);
+            seenSuitedBits |= cards.getSuitedBits();
+            seenTrumpBits |= cards.getTrumpBits();
+            this.hands[2 * seat] = cards.getSuitedBits();
+            this.hands[2 * seat + 1] = cards.getTrumpBits();
+        }
+
+        CardSet trickCards = PackedTricks.getCards(currentTrick);
+        aliveSuitedBits = seenSuitedBits | trickCards.getSuitedBits();
+        aliveTrumpBits = seenTrumpBits | trickCards.getTrumpBits();
+        aliveDoublePoints = computeDoublePoints(aliveSuitedBits, aliveTrumpBits);
+        attackersHoldFool = false;
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            attackersHoldFool |= Seats.contains(attackerSeats, seat) && hands.get(seat).getCards().contains(Trump.FOOL);
+        }
+        for (int position = 0; position < numPlayed; position++) {
+            attackersHoldFool |= PackedTricks.getCardIndex(currentTrick, position) == FOOL_INDEX
+                    && Seats.contains(attackerSeats, PackedTricks.getSeat(currentTrick, position));
+        }
+        hash = computeHash(currentTrick);
+
+        long start = System.nanoTime();
+        numNodes = 0;
+        // Null window searches (as in MTD(f)) prune far more than one full window search. Each moves one bound to
+        // the value it returns, and the transposition table carries what each learns into the next
+        int nextSeat = numPlayed == 0 ? leader : Seats.next(PackedTricks.getSeat(currentTrick, numPlayed - 1));
+        int lowerBound = 0;
+        int upperBound = aliveDoublePoints;
+        int value = playGreedily(currentTrick, nextSeat, 0);
+        while (lowerBound < upperBound) {
+            int beta = value == lowerBound ? value + 1 : value;
+            value = search(currentTrick, nextSeat, 0, beta - 1, beta);
+            if (value >= beta) {
+                lowerBound = value;
+            } else {
+                upperBound = value;
+            }
+        }
+        log.debug("Solved {} tricks in {} nodes and {}us", numCards, numNodes, (System.nanoTime() - start) / 1000);
+        return lowerBound;
+    }
+
+    /**
+     * @return The number of plays searched by the last {@link #solve}
+     */
+    public long getNumNodes() {
+        return numNodes;
+    }
+
+    public void clearTable() {
+        table.clear();
+    }
+
+    private int search(long trick, int seat, int ply, int alpha, int beta) {
+        // Each card in play goes to one side or the other, and the fool to the side that holds it
+        int foolDoublePoints = (aliveTrumpBits & FOOL_BIT) != 0 ? Cards.getDoublePoints(FOOL_INDEX) : 0;
+        int minValue = attackersHoldFool ? foolDoublePoints : 0;
+        if (minValue >= beta) {
+            return minValue;
+        }
+        int maxValue = attackersHoldFool ? aliveDoublePoints : aliveDoublePoints - foolDoublePoints;
+        if (maxValue <= alpha) {
+            return maxValue;
+        }
+
+        int leader = trick == PackedTricks.EMPTY ? seat : PackedTricks.getSeat(trick, 0);
+        long key = hash ^ LEADER_KEYS[leader];
+        int slot = table.find(key);
+        int lowerBound = Integer.MIN_VALUE;
+        int upperBound = Integer.MAX_VALUE;
+        if (slot >= 0) {
+            lowerBound = table.getLowerBound(slot);
+            upperBound = table.getUpperBound(slot);
+            if (lowerBound >= beta || lowerBound == upperBound) {
+                return lowerBound;
+            } else if (upperBound <= alpha) {
+                return upperBound;
+            }
+            alpha = Math.max(alpha, lowerBound);
+            beta = Math.min(beta, upperBound);
+        }
+
+        int value = searchMoves(trick, seat, ply, alpha, beta);
+        if (value <= alpha) {
+            upperBound = value;
+        } else if (value >= beta) {
+            lowerBound = value;
+        } else {
+            lowerBound = value;
+            upperBound = value;
+        }
+        table.store(key, Math.max(lowerBound, 0), Math.min(upperBound, Short.MAX_VALUE));
+        return value;
+    }
+
+    private int searchMoves(long trick, int seat, int ply, int alpha, int beta) {
+        numNodes++;
+        int numMoves = generateMoves(trick, seat, moves[ply], sortKeys[ply]);
+        boolean maximizing = Seats.contains(attackerSeats, seat);
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int i = 0; i < numMoves; i++) {
+            int cardIndex = moves[ply][i];
+            int value = play(trick, seat, cardIndex, ply, alpha, beta);
+            if (maximizing) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays 'cardIndex' for 'seat' and searches the rest
+     *
+     * @return The value of the play, from the plays in 'trick' onwards
+     */
+    private int play(long trick, int seat, int cardIndex, int ply, int alpha, int beta) {
+        int handIndex = Cards.isTrump(cardIndex) ? 2 * seat + 1 : 2 * seat;
+        long bit = getBit(cardIndex);
+        // The cards in play don't change during a trick, so neither do their ranks
+        long cardKey = getCardKey(cardIndex, seat) ^ getCardKey(cardIndex, Seats.NUM_SEATS + seat);
+        hands[handIndex] &= ~bit;
+        hash ^= cardKey;
+        long nextTrick = PackedTricks.addPlay(trick, seat, cardIndex);
+        int value;
+        if (PackedTricks.size(nextTrick) < Seats.NUM_SEATS) {
+            value = search(nextTrick, Seats.next(seat), ply + 1, alpha, beta);
+        } else {
+            int winner = PackedTricks.getWinningSeat(nextTrick);
+            int doublePoints = computeAttackerDoublePoints(nextTrick, winner);
+            if ((hands[2 * winner] | hands[2 * winner + 1]) == 0) {
+                value = doublePoints;
+            } else {
+                long trickHash = hash;
+                setAlive(nextTrick, false);
+                hash = computeHash(PackedTricks.EMPTY);
+                int nextAlpha = sub(alpha, doublePoints);
+                int nextBeta = sub(beta, doublePoints);
+                value = doublePoints + search(PackedTricks.EMPTY, winner, ply + 1, nextAlpha, nextBeta);
+                setAlive(nextTrick, true);
+                hash = trickHash;
+            }
+        }
+        hands[handIndex] |= bit;
+        hash ^= cardKey;
+        return value;
+    }
+
+    /**
+     * Plays the first of the ordered moves for every seat to the end of the round
+     *
+     * @return The value of that line, from the plays in 'trick' onwards
+     */
+    private int playGreedily(long trick, int seat, int ply) {
+        generateMoves(trick, seat, moves[ply], sortKeys[ply]);
+        int cardIndex = moves[ply][0];
+        int handIndex = Cards.isTrump(cardIndex) ? 2 * seat + 1 : 2 * seat;
+        long bit = getBit(cardIndex);
+        hands[handIndex] &= ~bit;
+        long nextTrick = PackedTricks.addPlay(trick, seat, cardIndex);
+        int value;
+        if (PackedTricks.size(nextTrick) < Seats.NUM_SEATS) {
+            value = playGreedily(nextTrick, Seats.next(seat), ply + 1);
+        } else {
+            int winner = PackedTricks.getWinningSeat(nextTrick);
+            value = computeAttackerDoublePoints(nextTrick, winner);
+            if ((hands[2 * winner] | hands[2 * winner + 1]) != 0) {
+                setAlive(nextTrick, false);
+                value += playGreedily(PackedTricks.EMPTY, winner, ply + 1);
+                setAlive(nextTrick, true);
+            }
+        }
+        hands[handIndex] |= bit;
+        return value;
+    }
+
+    /**
+     * Fills 'moves' with the legal plays for 'seat', dropping equivalent cards and ordering the rest
+     *
+     * @return The number of moves
+     */
+    private int generateMoves(long trick, int seat, int[] moves, int[] sortKeys) {
+        long suitedBits = hands[2 * seat];
+        long trumpBits = hands[2 * seat + 1];
+        int ledSuit = PackedTricks.getLedSuit(trick);
+        int maxTrumpStrength = PackedTricks.getMaxTrumpStrength(trick);
+        long legalSuitedBits = LegalMoves.getLegalSuitedBits(suitedBits, trumpBits, ledSuit);
+        long legalTrumpBits = LegalMoves.getLegalTrumpBits(suitedBits, trumpBits, ledSuit, maxTrumpStrength);
+
+        int numMoves = 0;
+        for (long bits = legalSuitedBits; bits != 0; bits &= bits - 1) {
+            int cardIndex = Long.numberOfTrailingZeros(bits);
+            if (!isEquivalentToLower(cardIndex, 1L << cardIndex, legalSuitedBits, aliveSuitedBits)) {
+                moves[numMoves++] = cardIndex;
+            }
+        }
+        for (long bits = legalTrumpBits; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            int cardIndex = Cards.NUM_SUITED_CARDS + bit;
+            if (cardIndex == FOOL_INDEX
+                    || !isEquivalentToLower(cardIndex, 1L << bit, legalTrumpBits, aliveTrumpBits)) {
+                moves[numMoves++] = cardIndex;
+            }
+        }
+        orderMoves(trick, seat, ledSuit, maxTrumpStrength, moves, sortKeys, numMoves);
+        return numMoves;
+    }
+
+    /**
+     * @return Whether the next lower card of the same suit that is still in play is also a legal play for this seat
+     * and worth the same, in which case playing either is the same
+     */
+    private static boolean isEquivalentToLower(int cardIndex, long bit, long legalBits, long aliveBits) {
+        long lower = aliveBits & SUIT_BITS[cardIndex] & (bit - 1);
+        if (lower == 0) {
+            return false;
+        }
+        long nextLower = Long.highestOneBit(lower);
+        int nextLowerIndex = cardIndex - Long.numberOfTrailingZeros(bit) + Long.numberOfTrailingZeros(nextLower);
+        return (legalBits & nextLower) != 0
+                && Cards.getDoublePoints(nextLowerIndex) == Cards.getDoublePoints(cardIndex);
+    }
+
+    /**
+     * Cards that would take the trick come first, cheapest first. Then the rest, most valuable first if the seat's
+     * side is winning the trick and least valuable first otherwise
+     */
+    private void orderMoves(long trick,
+                            int seat,
+                            int ledSuit,
+                            int maxTrumpStrength,
+                            int[] moves,
+                            int[] sortKeys,
+                            int numMoves) {
+        boolean sideWinning = false;
+        int maxLedValue = 0;
+        if (ledSuit != LegalMoves.NOTHING_LED) {
+            sideWinning = Seats.contains(attackerSeats, PackedTricks.getWinningSeat(trick))
+                    == Seats.contains(attackerSeats, seat);
+            for (int position = 0; position < PackedTricks.size(trick); position++) {
+                int cardIndex = PackedTricks.getCardIndex(trick, position);
+                if (Cards.getSuitOrdinal(cardIndex) == ledSuit) {
+                    maxLedValue = Math.max(maxLedValue, Cards.getSuitedValue(cardIndex));
+                }
+            }
+        }
+
+        for (int i = 0; i < numMoves; i++) {
+            int cardIndex = moves[i];
+            int trumpStrength = Cards.getTrumpStrength(cardIndex);
+            boolean takesTrick;
+            if (cardIndex == FOOL_INDEX) {
+                takesTrick = false;
+            } else if (ledSuit == LegalMoves.NOTHING_LED) {
+                takesTrick = true;
+            } else if (trumpStrength > 0) {
+                takesTrick = trumpStrength > maxTrumpStrength;
+            } else {
+                // The fool has strength 0, so this checks that no other trump was played
+                takesTrick = maxTrumpStrength <= 0
+                        && Cards.getSuitOrdinal(cardIndex) == ledSuit
+                        && Cards.getSuitedValue(cardIndex) > maxLedValue;
+            }
+            int doublePoints = Cards.getDoublePoints(cardIndex);
+            sortKeys[i] = takesTrick && !sideWinning
+                    ? cardIndex
+                    : Cards.NUM_CARDS + (sideWinning ? -doublePoints : doublePoints) * Cards.NUM_CARDS + cardIndex;
+        }
+        // Insertion sort, there are at most a handful of moves
+        for (int i = 1; i < numMoves; i++) {
+            int key = sortKeys[i];
+            int move = moves[i];
+            int j = i - 1;
+            while (j >= 0 && sortKeys[j] > key) {
+                sortKeys[j + 1] = sortKeys[j];
+                moves[j + 1] = moves[j];
+                j--;
+            }
+            sortKeys[j + 1] = key;
+            moves[j + 1] = move;
+        }
+    }
+
+    private void setAlive(long trick, boolean alive) {
+        for (int position = 0; position < Seats.NUM_SEATS; position++) {
+            int cardIndex = PackedTricks.getCardIndex(trick, position);
+            long bit = getBit(cardIndex);
+            aliveDoublePoints += alive ? Cards.getDoublePoints(cardIndex) : -Cards.getDoublePoints(cardIndex);
+            if (Cards.isTrump(cardIndex)) {
+                aliveTrumpBits = alive ? aliveTrumpBits | bit : aliveTrumpBits & ~bit;
+            } else {
+                aliveSuitedBits = alive ? aliveSuitedBits | bit : aliveSuitedBits & ~bit;
+            }
+        }
+    }
+
+    private int computeAttackerDoublePoints(long trick, int winner) {
+        boolean attackersWon = Seats.contains(attackerSeats, winner);
+        int doublePoints = 0;
+        for (int position = 0; position < Seats.NUM_SEATS; position++) {
+            int cardIndex = PackedTricks.getCardIndex(trick, position);
+            boolean captured = cardIndex == FOOL_INDEX
+                    ? Seats.contains(attackerSeats, PackedTricks.getSeat(trick, position))
+                    : attackersWon;
+            if (captured) {
+                doublePoints += Cards.getDoublePoints(cardIndex);
+            }
+        }
+        return doublePoints;
+    }
+
+    private static int computeDoublePoints(long suitedBits, long trumpBits) {
+        int doublePoints = 0;
+        for (long bits = suitedBits; bits != 0; bits &= bits - 1) {
+            doublePoints += Cards.getDoublePoints(Long.numberOfTrailingZeros(bits));
+        }
+        for (long bits = trumpBits; bits != 0; bits &= bits - 1) {
+            doublePoints += Cards.getDoublePoints(Cards.NUM_SUITED_CARDS + Long.numberOfTrailingZeros(bits));
+        }
+        return doublePoints;
+    }
+
+    /**
+     * @return The hash of who has which card still in play, by its rank and points, and of who attacks
+     */
+    private long computeHash(long trick) {
+        // The same cards are worth a different amount to other attackers, so a reused table mustn't mix them up
+        long hash = ATTACKER_KEYS[attackerSeats];
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            for (long bits = hands[2 * seat]; bits != 0; bits &= bits - 1) {
+                hash ^= getCardKey(Long.numberOfTrailingZeros(bits), seat);
+            }
+            for (long bits = hands[2 * seat + 1]; bits != 0; bits &= bits - 1) {
+                hash ^= getCardKey(Cards.NUM_SUITED_CARDS + Long.numberOfTrailingZeros(bits), seat);
+            }
+        }
+        for (int position = 0; position < PackedTricks.size(trick); position++) {
+            int holder = Seats.NUM_SEATS + PackedTricks.getSeat(trick, position);
+            hash ^= getCardKey(PackedTricks.getCardIndex(trick, position), holder);
+        }
+        return hash;
+    }
+
+    /**
+     * Keys a card by its rank among the cards of its suit still in play rather than by the card, as only the order
+     * matters to the play
+     *
+     * @param holder A seat, or {@link Seats#NUM_SEATS} plus the seat that played it to the current trick
+     */
+    private long getCardKey(int cardIndex, int holder) {
+        if (cardIndex == FOOL_INDEX) {
+            return FOOL_KEYS[holder];
+        }
+        boolean trump = Cards.isTrump(cardIndex);
+        long aliveBits = (trump ? aliveTrumpBits : aliveSuitedBits) & SUIT_BITS[cardIndex];
+        int rank = Long.bitCount(aliveBits & (getBit(cardIndex) - 1));
+        int suitSlot = trump ? TRUMP_SLOT : Cards.getSuitOrdinal(cardIndex);
+        int index = (suitSlot * Cards.NUM_TRUMP_CARDS + rank) * NUM_HOLDERS + holder;
+        return CARD_KEYS[index * (MAX_DOUBLE_POINTS + 1) + Cards.getDoublePoints(cardIndex)];
+    }
+
+    private static long getBit(int cardIndex) {
+        return Cards.isTrump(cardIndex) ? 1L << (cardIndex - Cards.NUM_SUITED_CARDS) : 1L << cardIndex;
+    }
+
+    /**
+     * Subtracts without overflowing the infinite bounds
+     */
+    private static int sub(int bound, int doublePoints) {
+        if (bound == Integer.MIN_VALUE || bound == Integer.MAX_VALUE) {
+            return bound;
+        }
+        return bound - doublePoints;
+    }
+}
@@ -0,0 +1,56 @@
+package tarot.solver;
+
+import java.util.Arrays;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * A fixed size, always-replace hash table of bounds on the value of positions, keyed by Zobrist hash. Each entry is a
+ * key followed by its bounds packed into one long, so that a probe reads a single cache line.
+ */
+final class TranspositionTable {
+    static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private static final int BOUND_BITS = Short.SIZE;
+    private static final long BOUND_MASK = (1L << BOUND_BITS) - 1;
+
+    private final long[] entries;
+    private final int mask;
+
+    /**
+     * @param sizeInBytes Rounded down to a power of two number of entries
+     */
+    TranspositionTable(long sizeInBytes) {
+        long numEntries = Long.highestOneBit(sizeInBytes / ENTRY_BYTES);
+        Preconditions.checkArgument(numEntries > 0, "Too small for a single entry: %s bytes", sizeInBytes);
+        Preconditions.checkArgument(numEntries <= 1 << 29, "Too large: %s bytes", sizeInBytes);
+        this.entries = new long[2 * (int) numEntries];
+        this.mask = (int) numEntries - 1;
+    }
+
+    /**
+     * @return The slot for 'key' if it holds an entry for it, otherwise -1
+     */
+    int find(long key) {
+        int slot = (int) key & mask;
+        return entries[2 * slot] == key ? slot : -1;
+    }
+
+    int getLowerBound(int slot) {
+        return (short) entries[2 * slot + 1];
+    }
+
+    int getUpperBound(int slot) {
+        return (short) (entries[2 * slot + 1] >>> BOUND_BITS);
+    }
+
+    void store(long key, int lowerBound, int upperBound) {
+        int slot = (int) key & mask;
+        entries[2 * slot] = key;
+        entries[2 * slot + 1] = (lowerBound & BOUND_MASK) | (upperBound & BOUND_MASK) << BOUND_BITS;
+    }
+
+    void clear() {
+        Arrays.fill(entries, 0L);
+    }
+}
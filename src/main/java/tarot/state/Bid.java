@@ -1,18 +1,20 @@
 package tarot.state;
 
-import com.google.common.collect.Ordering;
-
 public enum Bid {
-    SMALL,
-    PUSH,
-    GUARD,
-    GUARD_WITHOUT,
-    GUARD_AGAINST;
+    SMALL(0),
+    PUSH(1),
+    GUARD(2),
+    GUARD_WITHOUT(3),
+    GUARD_AGAINST(4);
+
+    // Use an explicit rank instead of depending on ordinal like Enum.compareTo() does
+    private final int rank;
 
-    // Use an explicit comparator instead of depending on ordinal like Enum.compareTo() does
-    private static final Ordering<Bid> ordering = Ordering.explicit(SMALL, PUSH, GUARD, GUARD_WITHOUT, GUARD_AGAINST);
+    Bid(int rank) {
+        this.rank = rank;
+    }
 
     public boolean isGreaterThan(Bid bid) {
-        return ordering.compare(this, bid) > 0;
+        return rank > bid.rank;
     }
 }
@@ -3,21 +3,27 @@ package tarot.state;
 import com.google.common.collect.Ordering;
 
 public interface Card {
+    /**
+     * @return A dense index in [0, {@link Cards#NUM_CARDS}). Suited cards come first, followed by trump, each in
+     * declaration order. See {@link Cards#fromIndex(int)}
+     */
+    int getIndex();
+
     enum Suited implements Card {
-        C_R(Suit.SPADE, 14),
-        C_D(Suit.SPADE, 13),
-        C_C(Suit.SPADE, 12),
-        C_V(Suit.SPADE, 11),
-        C_10(Suit.SPADE, 10),
-        C_9(Suit.SPADE, 9),
-        C_8(Suit.SPADE, 8),
-        C_7(Suit.SPADE, 7),
-        C_6(Suit.SPADE, 6),
-        C_5(Suit.SPADE, 5),
-        C_4(Suit.SPADE, 4),
-        C_3(Suit.SPADE, 3),
-        C_2(Suit.SPADE, 2),
-        C_1(Suit.SPADE, 1),
+        C_R(Suit.CLUB, 14),
+        C_D(Suit.CLUB, 13),
+        C_C(Suit.CLUB, 12),
+        C_V(Suit.CLUB, 11),
+        C_10(Suit.CLUB, 10),
+        C_9(Suit.CLUB, 9),
+        C_8(Suit.CLUB, 8),
+        C_7(Suit.CLUB, 7),
+        C_6(Suit.CLUB, 6),
+        C_5(Suit.CLUB, 5),
+        C_4(Suit.CLUB, 4),
+        C_3(Suit.CLUB, 3),
+        C_2(Suit.CLUB, 2),
+        C_1(Suit.CLUB, 1),
         D_R(Suit.DIAMOND, 14),
         D_D(Suit.DIAMOND, 13),
         D_C(Suit.DIAMOND, 12),
@@ -76,6 +82,11 @@ public interface Card {
         public int getValue() {
             return value;
         }
+
+        @Override
+        public int getIndex() {
+            return ordinal();
+        }
     }
 
     enum Trump implements Card {
@@ -102,28 +113,22 @@ public interface Card {
         TWENTY_ONE,
         FOOL;
 
-        public static final Ordering<Trump> ordering = Ordering.explicit(
-                FOOL,
-                ONE,
-                TWO,
-                THREE,
-                FOUR,
-                FIVE,
-                SIX,
-                SEVEN,
-                EIGHT,
-                NINE,
-                TEN,
-                ELEVEN,
-                TWELVE,
-                THIRTEEN,
-                FOURTEEN,
-                FIFTEEN,
-                SIXTEEN,
-                SEVENTEEN,
-                EIGHTEEN,
-                NINETEEN,
-                TWENTY,
-                TWENTY_ONE);
+        /**
+         * Orders by {@link #getStrength()}, i.e. FOOL, ONE, TWO, ..., TWENTY_ONE
+         */
+        public static final Ordering<Trump> ordering =
+                Ordering.from((t1, t2) -> Integer.compare(t1.getStrength(), t2.getStrength()));
+
+        @Override
+        public int getIndex() {
+            return Cards.NUM_SUITED_CARDS + ordinal();
+        }
+
+        /**
+         * @return 0 for the fool, otherwise the number on the card
+         */
+        public int getStrength() {
+            return Cards.getTrumpStrength(getIndex());
+        }
     }
 }
@@ -0,0 +1,325 @@
+package tarot.state;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import javax.annotation.Nullable;
+
+import com.google.common.base.Preconditions;
+
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+
+/**
+ * An immutable set of cards backed by a 78 bit mask indexed by {@link Card#getIndex()}. Suited cards live in the low
+ * 56 bits of {@link #getSuitedBits()} and trump live in the low 22 bits of {@link #getTrumpBits()}.
+ *
+ * Iteration order is suited cards in declaration order followed by trump in declaration order.
+ */
+public final class CardSet extends AbstractSet<Card> {
+    private static final long ALL_SUITED_BITS = (1L << Cards.NUM_SUITED_CARDS) - 1;
+    private static final long ALL_TRUMP_BITS = (1L << Cards.NUM_TRUMP_CARDS) - 1;
+
+    public static final CardSet EMPTY = new CardSet(0L, 0L);
+    public static final CardSet ALL = new CardSet(ALL_SUITED_BITS, ALL_TRUMP_BITS);
+    public static final CardSet ALL_SUITED = new CardSet(ALL_SUITED_BITS, 0L);
+    public static final CardSet ALL_TRUMP = new CardSet(0L, ALL_TRUMP_BITS);
+
+    private static final Map<Suit, CardSet> SUIT_MASKS = computeSuitMasks();
+
+    private final long suitedBits;
+    private final long trumpBits;
+
+    private CardSet(long suitedBits, long trumpBits) {
+        this.suitedBits = suitedBits;
+        this.trumpBits = trumpBits;
+    }
+
+    public static CardSet fromBits(long suitedBits, long trumpBits) {
+        Preconditions.checkArgument(
+                (suitedBits & ~ALL_SUITED_BITS) == 0 && (trumpBits & ~ALL_TRUMP_BITS) == 0,
+                "Bits do not correspond to cards: %s, %s",
+                suitedBits,
+                trumpBits);
+        if (suitedBits == 0 && trumpBits == 0) {
+            return EMPTY;
+        }
+        return new CardSet(suitedBits, trumpBits);
+    }
+
+    public static CardSet of(Card... cards) {
+        Builder builder = builder();
+        for (Card card : cards) {
+            builder.add(card);
+        }
+        return builder.build();
+    }
+
+    public static CardSet copyOf(Collection<? extends Card> cards) {
+        if (cards instanceof CardSet) {
+            return (CardSet) cards;
+        }
+        return builder().addAll(cards).build();
+    }
+
+    /**
+     * @return All suited cards for which {@link Suited#getSuit()} is 'suit'
+     */
+    public static CardSet allOf(Suit suit) {
+        return SUIT_MASKS.get(suit);
+    }
+
+    /**
+     * @return All trump strictly greater than 'minTrump' according to {@link Trump#ordering}. The fool is never
+     * included. If 'minTrump' is null, all non-fool trump are returned.
+     */
+    public static CardSet trumpLargerThan(@Nullable Trump minTrump) {
+        long bits = ALL_TRUMP_BITS & ~trumpBit(Trump.FOOL);
+        if (minTrump != null && minTrump != Trump.FOOL) {
+            // Trump.ONE through Trump.TWENTY_ONE are declared in increasing order
+            bits &= ~((trumpBit(minTrump) << 1) - 1);
+        }
+        return fromBits(0L, bits);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public long getSuitedBits() {
+        return suitedBits;
+    }
+
+    public long getTrumpBits() {
+        return trumpBits;
+    }
+
+    public CardSet union(CardSet other) {
+        return fromBitsUnchecked(suitedBits | other.suitedBits, trumpBits | other.trumpBits);
+    }
+
+    public CardSet intersection(CardSet other) {
+        return fromBitsUnchecked(suitedBits & other.suitedBits, trumpBits & other.trumpBits);
+    }
+
+    public CardSet difference(CardSet other) {
+        return fromBitsUnchecked(suitedBits & ~other.suitedBits, trumpBits & ~other.trumpBits);
+    }
+
+    public CardSet with(Card card) {
+        int index = card.getIndex();
+        if (index < Cards.NUM_SUITED_CARDS) {
+            return fromBitsUnchecked(suitedBits | (1L << index), trumpBits);
+        } else {
+            return fromBitsUnchecked(suitedBits, trumpBits | (1L << (index - Cards.NUM_SUITED_CARDS)));
+        }
+    }
+
+    public CardSet without(Card card) {
+        int index = card.getIndex();
+        if (index < Cards.NUM_SUITED_CARDS) {
+            return fromBitsUnchecked(suitedBits & ~(1L << index), trumpBits);
+        } else {
+            return fromBitsUnchecked(suitedBits, trumpBits & ~(1L << (index - Cards.NUM_SUITED_CARDS)));
+        }
+    }
+
+    public boolean containsIndex(int index) {
+        if (index < Cards.NUM_SUITED_CARDS) {
+            return (suitedBits & (1L << index)) != 0;
+        } else {
+            return (trumpBits & (1L << (index - Cards.NUM_SUITED_CARDS))) != 0;
+        }
+    }
+
+    public boolean intersects(CardSet other) {
+        return (suitedBits & other.suitedBits) != 0 || (trumpBits & other.trumpBits) != 0;
+    }
+
+    public CardSet getSuited() {
+        return fromBitsUnchecked(suitedBits, 0L);
+    }
+
+    public CardSet getTrump() {
+        return fromBitsUnchecked(0L, trumpBits);
+    }
+
+    public CardSet getCardsWithSuit(Suit suit) {
+        return intersection(allOf(suit));
+    }
+
+    /**
+     * @return The card at position 'n' in iteration order
+     */
+    public Card get(int n) {
+        Preconditions.checkElementIndex(n, size());
+        int numSuited = Long.bitCount(suitedBits);
+        if (n < numSuited) {
+            return Cards.fromIndex(selectBit(suitedBits, n));
+        } else {
+            return Cards.fromIndex(Cards.NUM_SUITED_CARDS + selectBit(trumpBits, n - numSuited));
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card && containsIndex(((Card) o).getIndex());
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (c instanceof CardSet) {
+            CardSet other = (CardSet) c;
+            return (other.suitedBits & ~suitedBits) == 0 && (other.trumpBits & ~trumpBits) == 0;
+        }
+        return super.containsAll(c);
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(suitedBits) + Long.bitCount(trumpBits);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return suitedBits == 0 && trumpBits == 0;
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<Card>() {
+            private long remainingSuited = suitedBits;
+            private long remainingTrump = trumpBits;
+
+            @Override
+            public boolean hasNext() {
+                return remainingSuited != 0 || remainingTrump != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remainingSuited != 0) {
+                    int index = Long.numberOfTrailingZeros(remainingSuited);
+                    remainingSuited &= remainingSuited - 1;
+                    return Cards.fromIndex(index);
+                } else if (remainingTrump != 0) {
+                    int index = Long.numberOfTrailingZeros(remainingTrump);
+                    remainingTrump &= remainingTrump - 1;
+                    return Cards.fromIndex(Cards.NUM_SUITED_CARDS + index);
+                } else {
+                    throw new NoSuchElementException();
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof CardSet) {
+            CardSet other = (CardSet) o;
+            return suitedBits == other.suitedBits && trumpBits == other.trumpBits;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Must agree with Set.hashCode() so that we compare equal to other Set<Card> implementations
+        return super.hashCode();
+    }
+
+    private static CardSet fromBitsUnchecked(long suitedBits, long trumpBits) {
+        if (suitedBits == 0 && trumpBits == 0) {
+            return EMPTY;
+        }
+        return new CardSet(suitedBits, trumpBits);
+    }
+
+    /**
+     * @return The position of the n-th (from 0) set bit of 'bits'
+     */
+    public static int selectBit(long bits, int n) {
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1;
+        }
+        return Long.numberOfTrailingZeros(bits);
+    }
+
+    private static long suitedBit(Suited card) {
+        return 1L << card.getIndex();
+    }
+
+    private static long trumpBit(Trump card) {
+        return 1L << (card.getIndex() - Cards.NUM_SUITED_CARDS);
+    }
+
+    private static Map<Suit, CardSet> computeSuitMasks() {
+        Map<Suit, CardSet> masks = new EnumMap<>(Suit.class);
+        for (Suit suit : Suit.values()) {
+            long bits = 0L;
+            for (Suited card : Suited.values()) {
+                if (card.getSuit() == suit) {
+                    bits |= suitedBit(card);
+                }
+            }
+            masks.put(suit, new CardSet(bits, 0L));
+        }
+        return masks;
+    }
+
+    /**
+     * Mutable accumulator for building up a {@link CardSet} without allocating intermediate sets
+     */
+    public static final class Builder {
+        private long suitedBits;
+        private long trumpBits;
+
+        private Builder() {
+        }
+
+        public Builder add(Card card) {
+            int index = card.getIndex();
+            if (index < Cards.NUM_SUITED_CARDS) {
+                suitedBits |= 1L << index;
+            } else {
+                trumpBits |= 1L << (index - Cards.NUM_SUITED_CARDS);
+            }
+            return this;
+        }
+
+        public Builder addAll(Iterable<? extends Card> cards) {
+            if (cards instanceof CardSet) {
+                CardSet other = (CardSet) cards;
+                suitedBits |= other.suitedBits;
+                trumpBits |= other.trumpBits;
+            } else {
+                for (Card card : cards) {
+                    add(card);
+                }
+            }
+            return this;
+        }
+
+        public Builder remove(Card card) {
+            int index = card.getIndex();
+            if (index < Cards.NUM_SUITED_CARDS) {
+                suitedBits &= ~(1L << index);
+            } else {
+                trumpBits &= ~(1L << (index - Cards.NUM_SUITED_CARDS));
+            }
+            return this;
+        }
+
+        public int size() {
+            return Long.bitCount(suitedBits) + Long.bitCount(trumpBits);
+        }
+
+        public CardSet build() {
+            return fromBitsUnchecked(suitedBits, trumpBits);
+        }
+    }
+}
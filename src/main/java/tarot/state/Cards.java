@@ -1,81 +1,157 @@
 package tarot.state;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 import javax.annotation.Nullable;
 
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Sets;
+import com.google.common.collect.ImmutableList;
 
 import tarot.state.Card.Suited;
 import tarot.state.Card.Trump;
 
 public class Cards {
+    public static final int NUM_SUITED_CARDS = 56;
+    public static final int NUM_TRUMP_CARDS = 22;
+    public static final int NUM_CARDS = NUM_SUITED_CARDS + NUM_TRUMP_CARDS;
+
+    /**
+     * Returned by {@link #getSuitOrdinal(int)} for trump
+     */
+    public static final int NO_SUIT = -1;
+
+    // Per-card lookup tables, indexed by Card#getIndex(). These are hit for every play so avoid doing any work in the
+    // accessors
+    private static final Card[] CARDS = new Card[NUM_CARDS];
+    private static final byte[] DOUBLE_POINTS = new byte[NUM_CARDS];
+    private static final byte[] SUIT_ORDINALS = new byte[NUM_CARDS];
+    private static final byte[] SUITED_VALUES = new byte[NUM_CARDS];
+    private static final byte[] TRUMP_STRENGTHS = new byte[NUM_CARDS];
+    private static final List<Optional<Suit>> SUITS = computeSuits();
+
+    static {
+        for (Suited card : Suited.values()) {
+            int index = card.ordinal();
+            CARDS[index] = card;
+            DOUBLE_POINTS[index] = (byte) computeSuitedDoublePoints(card);
+            SUIT_ORDINALS[index] = (byte) card.getSuit().ordinal();
+            SUITED_VALUES[index] = (byte) card.getValue();
+            TRUMP_STRENGTHS[index] = -1;
+        }
+        for (Trump card : Trump.values()) {
+            int index = NUM_SUITED_CARDS + card.ordinal();
+            CARDS[index] = card;
+            boolean isBout = card == Trump.ONE || card == Trump.TWENTY_ONE || card == Trump.FOOL;
+            DOUBLE_POINTS[index] = (byte) (isBout ? 9 : 1);
+            SUIT_ORDINALS[index] = NO_SUIT;
+            SUITED_VALUES[index] = 0;
+            // ONE through TWENTY_ONE are declared in order and the fool is the weakest
+            TRUMP_STRENGTHS[index] = (byte) (card == Trump.FOOL ? 0 : card.ordinal() + 1);
+        }
+    }
+
+    private static final CardSet ROIS = CardSet.of(Suited.C_R, Suited.D_R, Suited.H_R, Suited.S_R);
+    private static final CardSet DAMES = CardSet.of(Suited.C_D, Suited.D_D, Suited.H_D, Suited.S_D);
+    private static final CardSet CAVALIERS = CardSet.of(Suited.C_C, Suited.D_C, Suited.H_C, Suited.S_C);
+    private static final CardSet BOUTS = CardSet.of(Trump.ONE, Trump.TWENTY_ONE, Trump.FOOL);
+
     private Cards() {
         // Prevent instantiation
     }
 
-    public static Set<Card> getRois() {
-        return ImmutableSet.of(Suited.C_R, Suited.D_R, Suited.H_R, Suited.S_R);
+    public static CardSet getRois() {
+        return ROIS;
     }
 
-    public static Set<Card> getDames() {
-        return ImmutableSet.of(Suited.C_D, Suited.D_D, Suited.H_D, Suited.S_D);
+    public static CardSet getDames() {
+        return DAMES;
     }
 
-    public static Set<Card> getCavaliers() {
-        return ImmutableSet.of(Suited.C_C, Suited.D_C, Suited.H_C, Suited.S_C);
+    public static CardSet getCavaliers() {
+        return CAVALIERS;
     }
 
-    public static Set<Card> getBouts() {
-        return ImmutableSet.of(Trump.ONE, Trump.TWENTY_ONE, Trump.FOOL);
+    public static CardSet getBouts() {
+        return BOUTS;
+    }
+
+    /**
+     * Inverse of {@link Card#getIndex()}
+     */
+    public static Card fromIndex(int index) {
+        return CARDS[index];
     }
 
     public static int getDoublePoints(Card c) {
-        if (c instanceof Suited) {
-            int value = ((Suited) c).getValue();
-            if (value <= 10) {
-                return 1;
-            } else if (value == 11) {
-                return 3;
-            } else if (value == 12) {
-                return 5;
-            } else if (value == 13) {
-                return 7;
-            } else if (value == 14) {
-                return 9;
-            } else {
-                throw new AssertionError("Unknown value for a suited card: " + c);
-            }
-        } else if (c instanceof Trump) {
-            if (getBouts().contains(c)) {
-                return 9;
-            } else {
-                return 1;
-            }
-        } else {
-            throw new AssertionError("Unknown card type: " + c);
-        }
+        return DOUBLE_POINTS[c.getIndex()];
+    }
+
+    public static int getDoublePoints(int index) {
+        return DOUBLE_POINTS[index];
     }
 
     public static Optional<Suit> getSuit(Card card) {
-        if (card instanceof Suited) {
-            return Optional.of(((Suited) card).getSuit());
-        } else if (card instanceof Trump) {
-            return Optional.empty();
-        } else {
-            throw new IllegalArgumentException("Unknown card type: " + card.getClass());
-        }
+        return SUITS.get(card.getIndex());
     }
 
-    public static Set<Card> getCardsWithSuit(Set<Card> cards, Suit suit) {
-        return Sets.filter(cards, c -> c instanceof Suited && ((Suited) c).getSuit() == suit);
+    /**
+     * @return {@link Suit#ordinal()} for suited cards or {@link #NO_SUIT} for trump
+     */
+    public static int getSuitOrdinal(int index) {
+        return SUIT_ORDINALS[index];
     }
 
-    public static Set<Card> getTrumpLargerThan(Set<Card> cards, @Nullable Trump minTrump) {
-        return Sets.filter(
-                cards,
-                c -> c instanceof Trump && (minTrump == null || Trump.ordering.compare((Trump) c, minTrump) > 0));
+    /**
+     * @return {@link Suited#getValue()} for suited cards or 0 for trump
+     */
+    public static int getSuitedValue(int index) {
+        return SUITED_VALUES[index];
+    }
+
+    /**
+     * @return {@link Trump#getStrength()} for trump or -1 for suited cards
+     */
+    public static int getTrumpStrength(int index) {
+        return TRUMP_STRENGTHS[index];
+    }
+
+    public static boolean isTrump(int index) {
+        return index >= NUM_SUITED_CARDS;
+    }
+
+    public static CardSet getCardsWithSuit(CardSet cards, Suit suit) {
+        return cards.getCardsWithSuit(suit);
+    }
+
+    public static CardSet getTrumpLargerThan(CardSet cards, @Nullable Trump minTrump) {
+        return cards.intersection(CardSet.trumpLargerThan(minTrump));
+    }
+
+    private static int computeSuitedDoublePoints(Suited c) {
+        int value = c.getValue();
+        if (value <= 10) {
+            return 1;
+        } else if (value == 11) {
+            return 3;
+        } else if (value == 12) {
+            return 5;
+        } else if (value == 13) {
+            return 7;
+        } else if (value == 14) {
+            return 9;
+        } else {
+            throw new AssertionError("Unknown value for a suited card: " + c);
+        }
+    }
+
+    private static List<Optional<Suit>> computeSuits() {
+        ImmutableList.Builder<Optional<Suit>> suits = ImmutableList.builder();
+        for (Suited card : Suited.values()) {
+            suits.add(Optional.of(card.getSuit()));
+        }
+        for (int i = 0; i < NUM_TRUMP_CARDS; i++) {
+            suits.add(Optional.empty());
+        }
+        return suits.build();
     }
 }
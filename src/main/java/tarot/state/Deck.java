@@ -1,47 +1,140 @@
 package tarot.state;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumSet;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
 
 import org.immutables.value.Value;
 
-import tarot.state.Card.Suited;
+import tarot.random.RandomSource;
 import tarot.state.Card.Trump;
 
+/**
+ * The order of the cards is kept as a permutation of {@link Card#getIndex()}s so that shuffling and dealing don't
+ * allocate until a valid deal is found.
+ */
 public class Deck {
-    private final LinkedHashSet<Card> cards;
+    public static final int NUM_HANDS = 5;
+    public static final int DOG_SIZE = 3;
 
-    private Deck(LinkedHashSet<Card> cards) {
+    private static final int PACKET_SIZE = 3;
+    private static final int NUM_PACKETS = (Cards.NUM_CARDS - DOG_SIZE) / PACKET_SIZE;
+    private static final long PETIT_SEC_TRUMP_BITS = CardSet.of(Trump.ONE).getTrumpBits();
+
+    // Bit 'i' is set if a dog card is dealt right before packet 'i'. The dog is never dealt first or last and never
+    // gets two cards in a row
+    private static final int[] DOG_GAPS = computeDogGaps();
+
+    private final byte[] cards;
+    // Scratch space for dealing, indexed by seat
+    private final long[] suitedBits = new long[NUM_HANDS];
+    private final long[] trumpBits = new long[NUM_HANDS];
+
+    private Deck(byte[] cards) {
         this.cards = cards;
     }
 
     public static Deck unshuffled() {
-        LinkedHashSet<Card> cards = new LinkedHashSet<>();
-        cards.addAll(EnumSet.allOf(Suited.class));
-        cards.addAll(EnumSet.allOf(Trump.class));
+        byte[] cards = new byte[Cards.NUM_CARDS];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = (byte) i;
+        }
         return new Deck(cards);
     }
 
-    public LinkedHashSet<Card> getCards() {
-        return cards;
+    /**
+     * @return The cards in their current order, as a read-only view that follows later shuffles
+     */
+    public List<Card> getCards() {
+        return new AbstractList<Card>() {
+            @Override
+            public Card get(int index) {
+                return Cards.fromIndex(cards[index]);
+            }
+
+            @Override
+            public int size() {
+                return cards.length;
+            }
+        };
     }
 
-    public void softShuffle() {
+    public void softShuffle(RandomSource rng) {
         // TODO: make this an actual soft-shuffle
-        List<Card> asList = new ArrayList<>(this.cards);
-        Collections.shuffle(asList);
-        cards.clear();
-        cards.addAll(asList);
+        for (int i = cards.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            byte tmp = cards[i];
+            cards[i] = cards[j];
+            cards[j] = tmp;
+        }
+    }
+
+    /**
+     * Deals the deck in its current order: packets of three cards to each hand in turn, with the dog cards dealt one
+     * at a time between packets.
+     *
+     * @return The deal or {@link Optional#empty()} if it is a maldonne, i.e. some hand's only trump is the petit
+     */
+    public Optional<Deal> deal(RandomSource rng) {
+        Arrays.fill(suitedBits, 0L);
+        Arrays.fill(trumpBits, 0L);
+        long dogSuitedBits = 0L;
+        long dogTrumpBits = 0L;
+
+        int dogGaps = DOG_GAPS[rng.nextInt(DOG_GAPS.length)];
+        int position = 0;
+        for (int packet = 0; packet < NUM_PACKETS; packet++) {
+            if ((dogGaps & (1 << packet)) != 0) {
+                int card = cards[position++];
+                if (card < Cards.NUM_SUITED_CARDS) {
+                    dogSuitedBits |= 1L << card;
+                } else {
+                    dogTrumpBits |= 1L << (card - Cards.NUM_SUITED_CARDS);
+                }
+            }
+            int seat = packet % NUM_HANDS;
+            for (int i = 0; i < PACKET_SIZE; i++) {
+                int card = cards[position++];
+                if (card < Cards.NUM_SUITED_CARDS) {
+                    suitedBits[seat] |= 1L << card;
+                } else {
+                    trumpBits[seat] |= 1L << (card - Cards.NUM_SUITED_CARDS);
+                }
+            }
+        }
+
+        for (int seat = 0; seat < NUM_HANDS; seat++) {
+            if (trumpBits[seat] == PETIT_SEC_TRUMP_BITS) {
+                return Optional.empty();
+            }
+        }
+
+        ImmutableDeal.Builder deal = ImmutableDeal.builder();
+        for (int seat = 0; seat < NUM_HANDS; seat++) {
+            deal.addHands(ImmutableHand.of(CardSet.fromBits(suitedBits[seat], trumpBits[seat])));
+        }
+        return Optional.of(deal.dog(CardSet.fromBits(dogSuitedBits, dogTrumpBits)).build());
+    }
+
+    private static int[] computeDogGaps() {
+        List<Integer> gaps = new ArrayList<>();
+        // Never before the first packet
+        for (int a = 1; a < NUM_PACKETS; a++) {
+            for (int b = a + 1; b < NUM_PACKETS; b++) {
+                for (int c = b + 1; c < NUM_PACKETS; c++) {
+                    gaps.add((1 << a) | (1 << b) | (1 << c));
+                }
+            }
+        }
+        return gaps.stream().mapToInt(Integer::intValue).toArray();
     }
 
     @Value.Immutable
     public interface Deal {
         List<Hand> getHands();
 
-        Set<Card> getDog();
+        CardSet getDog();
     }
 }
@@ -4,21 +4,22 @@ import java.util.List;
 
 import com.google.common.collect.Ordering;
 
-import tarot.state.Card.Suited;
-import tarot.state.Card.Trump;
-
 public class Hands {
     private static final Ordering<Card> defaultSort = Ordering.from((c1, c2) -> {
-        if (c1 instanceof Trump && c2 instanceof Suited) {
+        int i1 = c1.getIndex();
+        int i2 = c2.getIndex();
+        boolean isTrump1 = Cards.isTrump(i1);
+        boolean isTrump2 = Cards.isTrump(i2);
+        if (isTrump1 && !isTrump2) {
             return -1;
-        } else if (c1 instanceof Suited && c2 instanceof Trump) {
+        } else if (!isTrump1 && isTrump2) {
             return 1;
-        } else if (c1 instanceof Trump) {
+        } else if (isTrump1) {
             // Both trump. In hand, we have the greatest "on the left" so do the reverse of the ordering here
-            return -Trump.ordering.compare((Trump) c1, (Trump) c2);
+            return Cards.getTrumpStrength(i2) - Cards.getTrumpStrength(i1);
         } else {
             // Both non-trump
-            return ((Suited) c2).getValue() - ((Suited) c1).getValue();
+            return Cards.getSuitedValue(i2) - Cards.getSuitedValue(i1);
         }
     });
 
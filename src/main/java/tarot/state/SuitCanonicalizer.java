@@ -0,0 +1,80 @@
+package tarot.state;
+
+import com.google.common.base.Preconditions;
+
+import tarot.random.SplitMix64;
+
+/**
+ * Maps hands and positions to a canonical form under renaming of the suits. The suits only differ by which one is led
+ * and which card is called, and both are cards, so cards whose suits are all renamed alike play the same way: a
+ * position is canonicalized together with its trick, its called card or whatever else it depends on, and its
+ * canonical form has the suits sorted by their cards in each of those sets in turn. Up to 24 hands or positions share
+ * a canonical form, and so an entry in any cache keyed by it.
+ */
+public final class SuitCanonicalizer {
+    // The sets that can be canonicalized together, so that a suit's cards in all of them fit in one long
+    public static final int MAX_SETS = Long.SIZE / SuitPermutation.SUIT_SIZE;
+
+    private static final int NUM_SUITS = SuitPermutation.NUM_SUITS;
+    private static final int SUIT_SIZE = SuitPermutation.SUIT_SIZE;
+    private static final long SUIT_MASK = (1L << SUIT_SIZE) - 1;
+
+    private SuitCanonicalizer() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return The permutation that sorts the suits by their bits (as in {@link CardSet#getSuitedBits()}) in the first
+     * of 'sets', then in the second and so on. Suits that are the same in every set are interchangeable and keep their
+     * own order
+     */
+    public static SuitPermutation canonicalize(CardSet... sets) {
+        Preconditions.checkArgument(
+                sets.length > 0 && sets.length <= MAX_SETS,
+                "Can canonicalize 1 to %s sets: %s",
+                MAX_SETS,
+                sets.length);
+        long[] keys = new long[NUM_SUITS];
+        for (CardSet set : sets) {
+            for (int suit = 0; suit < NUM_SUITS; suit++) {
+                keys[suit] = (keys[suit] << SUIT_SIZE) | ((set.getSuitedBits() >>> (suit * SUIT_SIZE)) & SUIT_MASK);
+            }
+        }
+        // Insertion sort of the suits by key, which keeps equal suits in order
+        int[] order = {0, 1, 2, 3};
+        for (int i = 1; i < NUM_SUITS; i++) {
+            int suit = order[i];
+            int j = i;
+            for (; j > 0 && keys[order[j - 1]] > keys[suit]; j--) {
+                order[j] = order[j - 1];
+            }
+            order[j] = suit;
+        }
+        int[] suits = new int[NUM_SUITS];
+        for (int i = 0; i < NUM_SUITS; i++) {
+            suits[order[i]] = i;
+        }
+        return SuitPermutation.of(suits);
+    }
+
+    /**
+     * @return 'hand' with its suits sorted as by {@link #canonicalize}
+     */
+    public static CardSet toCanonical(CardSet hand) {
+        return canonicalize(hand).apply(hand);
+    }
+
+    /**
+     * @return A hash of the canonical form of 'sets', the same for any renaming of their suits, for use as a cache
+     * key. Different canonical forms collide with a chance of about 2^-64
+     */
+    public static long hash(CardSet... sets) {
+        SuitPermutation permutation = canonicalize(sets);
+        long hash = sets.length;
+        for (CardSet set : sets) {
+            hash = SplitMix64.mix(hash + SplitMix64.GOLDEN_GAMMA + permutation.applyToSuitedBits(set.getSuitedBits()));
+            hash = SplitMix64.mix(hash + SplitMix64.GOLDEN_GAMMA + set.getTrumpBits());
+        }
+        return hash;
+    }
+}
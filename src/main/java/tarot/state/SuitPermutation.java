@@ -0,0 +1,114 @@
+package tarot.state;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * One of the 24 ways to rename the suits. Trump are left alone. There is one instance per permutation, so they can be
+ * compared with ==.
+ */
+public final class SuitPermutation {
+    public static final int NUM_SUITS = Suit.values().length;
+    // Each suit is a run of this many bits of CardSet.getSuitedBits()
+    public static final int SUIT_SIZE = Cards.NUM_SUITED_CARDS / NUM_SUITS;
+
+    private static final long SUIT_MASK = (1L << SUIT_SIZE) - 1;
+    // Indexed by the code of the permutation, 2 bits per suit. Most codes aren't permutations and are null
+    private static final SuitPermutation[] PERMUTATIONS = new SuitPermutation[1 << (2 * NUM_SUITS)];
+
+    static {
+        int[] suits = new int[NUM_SUITS];
+        for (int code = 0; code < PERMUTATIONS.length; code++) {
+            int seen = 0;
+            for (int suit = 0; suit < NUM_SUITS; suit++) {
+                suits[suit] = (code >>> (2 * suit)) & 3;
+                seen |= 1 << suits[suit];
+            }
+            if (seen == (1 << NUM_SUITS) - 1) {
+                PERMUTATIONS[code] = new SuitPermutation(suits.clone());
+            }
+        }
+    }
+
+    private static final SuitPermutation IDENTITY = of(0, 1, 2, 3);
+
+    // The suit that each suit is renamed to, by ordinal
+    private final int[] suits;
+
+    private SuitPermutation(int[] suits) {
+        this.suits = suits;
+    }
+
+    public static SuitPermutation identity() {
+        return IDENTITY;
+    }
+
+    /**
+     * @param suits The ordinal each suit is renamed to, by ordinal
+     */
+    public static SuitPermutation of(int... suits) {
+        Preconditions.checkArgument(suits.length == NUM_SUITS, "Expected %s suits: %s", NUM_SUITS, suits.length);
+        int code = 0;
+        for (int suit = 0; suit < NUM_SUITS; suit++) {
+            Preconditions.checkArgument(suits[suit] >= 0 && suits[suit] < NUM_SUITS, "Not a suit: %s", suits[suit]);
+            code |= suits[suit] << (2 * suit);
+        }
+        SuitPermutation permutation = PERMUTATIONS[code];
+        Preconditions.checkArgument(permutation != null, "Suits renamed twice: %s", code);
+        return permutation;
+    }
+
+    public Suit apply(Suit suit) {
+        return Suit.values()[suits[suit.ordinal()]];
+    }
+
+    public Card apply(Card card) {
+        return Cards.fromIndex(applyToIndex(card.getIndex()));
+    }
+
+    /**
+     * @param index A {@link Card#getIndex()}
+     */
+    public int applyToIndex(int index) {
+        if (Cards.isTrump(index)) {
+            return index;
+        }
+        int suit = index / SUIT_SIZE;
+        return index + (suits[suit] - suit) * SUIT_SIZE;
+    }
+
+    public CardSet apply(CardSet cards) {
+        return CardSet.fromBits(applyToSuitedBits(cards.getSuitedBits()), cards.getTrumpBits());
+    }
+
+    /**
+     * @param suitedBits As in {@link CardSet#getSuitedBits()}
+     */
+    public long applyToSuitedBits(long suitedBits) {
+        long permuted = 0;
+        for (int suit = 0; suit < NUM_SUITS; suit++) {
+            permuted |= ((suitedBits >>> (suit * SUIT_SIZE)) & SUIT_MASK) << (suits[suit] * SUIT_SIZE);
+        }
+        return permuted;
+    }
+
+    /**
+     * @return The permutation that undoes this one
+     */
+    public SuitPermutation inverse() {
+        int[] inverse = new int[NUM_SUITS];
+        for (int suit = 0; suit < NUM_SUITS; suit++) {
+            inverse[suits[suit]] = suit;
+        }
+        return of(inverse);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("SuitPermutation{");
+        for (int suit = 0; suit < NUM_SUITS; suit++) {
+            Suit from = Suit.values()[suit];
+            builder.append(suit == 0 ? "" : ", ").append(from).append("=").append(apply(from));
+        }
+        return builder.append("}").toString();
+    }
+}
@@ -0,0 +1,38 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.random.RandomSource;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+
+public class BidEstimatorTest {
+    @Test
+    public void testEquivalentHandsShareEstimates() {
+        CardSet hand = CardSet.of(
+                Suited.C_R, Suited.C_D, Suited.C_2, Suited.D_1, Suited.H_C, Suited.H_V, Suited.H_10,
+                Trump.ONE, Trump.FIVE, Trump.TEN, Trump.TWELVE, Trump.FIFTEEN, Trump.EIGHTEEN, Trump.TWENTY_ONE,
+                Trump.FOOL);
+        // Clubs and hearts swapped, diamonds moved to spades
+        CardSet sameShape = CardSet.of(
+                Suited.H_R, Suited.H_D, Suited.H_2, Suited.S_1, Suited.C_C, Suited.C_V, Suited.C_10,
+                Trump.ONE, Trump.FIVE, Trump.TEN, Trump.TWELVE, Trump.FIFTEEN, Trump.EIGHTEEN, Trump.TWENTY_ONE,
+                Trump.FOOL);
+        BidEstimator estimator = new BidEstimator(ImmutableSimulationBiddingConfig.builder()
+                .samplesPerEstimate(50)
+                .build());
+        double[] means = estimator.estimate(hand, RandomSource.xoshiro(21));
+        assertThat(estimator.estimate(sameShape, RandomSource.xoshiro(22)), is(means));
+    }
+
+    @Test
+    public void testChooseAside() {
+        CardSet cards = CardSet.of(
+                Suited.C_R, Suited.C_1, Suited.D_R, Suited.D_V, Suited.D_3, Suited.S_D, Trump.ONE, Trump.TWO);
+        assertThat(BidEstimator.chooseAside(cards), is(CardSet.of(Suited.C_1, Suited.D_3, Suited.D_V)));
+    }
+}
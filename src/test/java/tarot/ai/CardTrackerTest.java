@@ -0,0 +1,183 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import tarot.game.GameState;
+import tarot.game.PackedTricks;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.game.Seats;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Bids;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Deck;
+import tarot.state.Suit;
+
+public class CardTrackerTest {
+    private static final List<String> PLAYER_IDS = Arrays.asList("a", "b", "c", "d", "e");
+    private static final Scorer SCORER = new PalantirScorer();
+
+    @Test
+    public void testTracksPlays() {
+        CardTracker tracker = new CardTracker();
+        tracker.handleDeal(1, PLAYER_IDS, CardSet.of(Suited.C_R, Suited.H_1, Trump.FOOL));
+        tracker.handleBid(0, Optional.of(Bid.SMALL));
+        tracker.handleCall(0, Optional.of(Suited.S_R));
+        tracker.handleHandful(0, CardSet.of(Trump.ONE, Trump.TWO));
+
+        tracker.handlePlay(0, Suited.C_1);
+        tracker.handlePlay(1, Suited.C_R);
+        tracker.handlePlay(2, Trump.ONE);
+        assertThat(tracker.getNumCardsHeld(2), is(14));
+        assertThat(tracker.getNumCardsHeld(3), is(15));
+        tracker.handlePlay(3, Suited.S_R);
+        tracker.handlePlay(4, Suited.D_2);
+        tracker.handleTrick(tracker.getCurrentTrick(), 1);
+
+        assertThat(tracker.getNumTricks(), is(1));
+        assertThat(tracker.getHand(), is(CardSet.of(Suited.H_1, Trump.FOOL)));
+        assertThat(tracker.getPartnerSeat(), is(3));
+        assertThat(tracker.isVoid(2, Suit.CLUB), is(true));
+        assertThat(tracker.getVoids(2) & (1 << CardTracker.TRUMP_VOID), is(0));
+        assertThat(tracker.getVoids(4), is((1 << Suit.CLUB.ordinal()) | (1 << CardTracker.TRUMP_VOID)));
+        assertThat(tracker.getVoids(0), is(0));
+        assertThat(tracker.getShown(0), is(CardSet.of(Trump.ONE, Trump.TWO)));
+        // Trump.ONE was played by seat 2 rather than shown by seat 0, which makes no difference to what is out
+        assertThat(tracker.getNumTrumpsOut(), is(22 - 1 - 1));
+        assertThat(tracker.getUnseen().size(), is(78 - 5 - 2));
+    }
+
+    @Test
+    public void testSuitLed() {
+        CardTracker tracker = createTracker(4, Suited.H_R);
+        tracker.handlePlay(0, Suited.H_5);
+        tracker.handlePlay(1, Suited.H_R);
+        tracker.handlePlay(2, Trump.TWO);
+        tracker.handlePlay(3, Suited.C_1);
+        assertThat(tracker.getVoids(0), is(0));
+        assertThat(tracker.getVoids(1), is(0));
+        // Trumping only shows the led suit is out
+        assertThat(tracker.getVoids(2), is(suitVoid(Suit.HEART)));
+        assertThat(tracker.getVoids(3), is(suitVoid(Suit.HEART) | trumpVoid()));
+        assertThat(tracker.getVoids(4), is(0));
+        assertThat(tracker.getPartnerSeat(), is(1));
+    }
+
+    @Test
+    public void testTrumpLed() {
+        CardTracker tracker = createTracker(3, Suited.S_R);
+        tracker.handlePlay(0, Trump.TEN);
+        tracker.handlePlay(1, Trump.FOOL);
+        tracker.handlePlay(2, Suited.D_3);
+        assertThat(tracker.getVoids(0), is(0));
+        // The fool can always be played
+        assertThat(tracker.getVoids(1), is(0));
+        assertThat(tracker.getVoids(2), is(trumpVoid()));
+        assertThat(tracker.getPartnerSeat(), is(CardTracker.NO_SEAT));
+    }
+
+    @Test
+    public void testFoolLed() {
+        CardTracker tracker = createTracker(3, Suited.S_R);
+        tracker.handlePlay(0, Trump.FOOL);
+        tracker.handlePlay(1, Suited.S_2);
+        tracker.handlePlay(2, Suited.H_1);
+        // The card after the fool sets the suit
+        assertThat(tracker.getVoids(0), is(0));
+        assertThat(tracker.getVoids(1), is(0));
+        assertThat(tracker.getVoids(2), is(suitVoid(Suit.SPADE) | trumpVoid()));
+    }
+
+    @Test
+    public void testSeesPlaysAfterItsOwn() {
+        CardTracker tracker = createTracker(0, Suited.S_R);
+        tracker.handlePlay(0, Suited.C_4);
+        tracker.handlePlay(1, Suited.C_5);
+        tracker.handlePlay(2, Suited.C_6);
+        tracker.handlePlay(3, Suited.D_4);
+        tracker.handlePlay(4, Trump.THREE);
+        tracker.handleTrick(tracker.getCurrentTrick(), 4);
+        tracker.handlePlay(4, Suited.S_R);
+        assertThat(tracker.getVoids(3), is(suitVoid(Suit.CLUB) | trumpVoid()));
+        assertThat(tracker.getVoids(4), is(suitVoid(Suit.CLUB)));
+        assertThat(tracker.getPartnerSeat(), is(4));
+        assertThat(tracker.getUnseen().contains(Suited.D_4), is(false));
+        assertThat(tracker.getUnseen().contains(Suited.S_R), is(false));
+        assertThat(tracker.getNumCardsHeld(4), is(13));
+        assertThat(tracker.getNumCardsHeld(3), is(14));
+    }
+
+    @Test
+    public void testSeesWholeRound() {
+        RandomSource rng = RandomSource.xoshiro(19);
+        for (int i = 0; i < 50; i++) {
+            CardTracker[] trackers = new CardTracker[Seats.NUM_SEATS];
+            Lineup lineup = (seat, seatRng) -> {
+                trackers[seat] = new CardTracker();
+                return ImmutablePlayerStrategies.copyOf(PlayerStrategies.random(seatRng))
+                        .withObservers(trackers[seat]);
+            };
+            Optional<Result> result = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    SCORER,
+                    lineup,
+                    rng.split()).play();
+            if (!result.isPresent()) {
+                continue;
+            }
+            int takerSeat = PLAYER_IDS.indexOf(result.get().getTaker());
+            CardSet played = CardSet.EMPTY;
+            for (long trick : result.get().getPackedTricks()) {
+                played = played.union(PackedTricks.getCards(trick));
+            }
+            boolean sawAside = Bids.canSeeDog(result.get().getBidding().getBid().get());
+            int attackerSeats = Seats.mask(takerSeat) | Seats.mask(PLAYER_IDS.indexOf(result.get().getPartner()));
+            for (CardTracker tracker : trackers) {
+                assertThat(tracker.getTakerSeat(), is(takerSeat));
+                assertThat(tracker.getNumTricks(), is(15));
+                assertThat(tracker.getHand(), is(CardSet.EMPTY));
+                assertThat(tracker.getPlayed(), is(played));
+                boolean knowsAside = tracker.getSeat() == takerSeat && sawAside;
+                assertThat(tracker.getUnseen(), is(knowsAside ? CardSet.EMPTY : result.get().getAside()));
+                assertThat(tracker.getHandful(), is(result.get().getHandful()));
+
+                // What the search strategies score rollouts with
+                float handScore = SCORER.computeHandScore(
+                        tracker.getBid().get(),
+                        tracker.getHandful(),
+                        Playouts.createLedger(tracker, attackerSeats),
+                        Playouts.findAside(tracker, new long[GameState.HANDS_LENGTH]));
+                float score = Scorer.computePlayerScore(handScore, tracker.getSeat(), takerSeat, attackerSeats);
+                assertThat(score, is(result.get().getScore().get(PLAYER_IDS.get(tracker.getSeat()))));
+            }
+        }
+    }
+
+    private static CardTracker createTracker(int seat, Suited partnerCard) {
+        CardTracker tracker = new CardTracker();
+        tracker.handleDeal(seat, PLAYER_IDS, CardSet.EMPTY);
+        tracker.handleCall(0, Optional.of(partnerCard));
+        return tracker;
+    }
+
+    private static int suitVoid(Suit suit) {
+        return 1 << suit.ordinal();
+    }
+
+    private static int trumpVoid() {
+        return 1 << CardTracker.TRUMP_VOID;
+    }
+}
@@ -0,0 +1,152 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import tarot.game.GameState;
+import tarot.game.Seats;
+import tarot.random.RandomSource;
+
+public class DealSamplerTest {
+    private static final int NUM_CARDS = 8;
+    // Room for each seat then DealSampler.GONE
+    private static final int[] ROOM = {3, 2, 1, 0, 0, 2};
+    private static final long HELD_BITS = 1L << 40;
+    private static final int ALL_TARGETS = (1 << ROOM.length) - 1;
+
+    @Test
+    public void testSamplesEveryConsistentDealEvenly() {
+        DealSampler sampler = DealSampler.builder()
+                .hold(3, HELD_BITS, 0)
+                .deal((1L << NUM_CARDS) - 1, 0)
+                .room(0, ROOM[0])
+                .room(1, ROOM[1])
+                .room(2, ROOM[2])
+                .room(DealSampler.GONE, ROOM[DealSampler.GONE])
+                .exclude(0, 0b111, 0)
+                .restrict(1L << 7, 0, Seats.mask(2))
+                .build();
+
+        int[] cardTargets = new int[NUM_CARDS];
+        Arrays.fill(cardTargets, ALL_TARGETS);
+        for (int card = 0; card < 3; card++) {
+            cardTargets[card] &= ~(1 << 0);
+        }
+        cardTargets[7] = 1 << 2 | 1 << DealSampler.GONE;
+        assertSamplesEvenly(sampler, ROOM, cardTargets, 18);
+    }
+
+    @Test
+    public void testSamplesEvenlyWithSeveralVoids() {
+        int[] room = {2, 2, 2, 0, 0, 2};
+        DealSampler sampler = DealSampler.builder()
+                .hold(3, HELD_BITS, 0)
+                .deal((1L << NUM_CARDS) - 1, 0)
+                .room(0, room[0])
+                .room(1, room[1])
+                .room(2, room[2])
+                .room(DealSampler.GONE, room[DealSampler.GONE])
+                .exclude(0, 0b11, 0)
+                .exclude(1, 0b1100, 0)
+                .exclude(2, 0b1111, 0)
+                .restrict(0b110000, 0, Seats.mask(1))
+                .build();
+
+        int[] cardTargets = new int[NUM_CARDS];
+        Arrays.fill(cardTargets, ALL_TARGETS);
+        for (int card = 0; card < 4; card++) {
+            cardTargets[card] &= ~(1 << (card / 2)) & ~(1 << 2);
+        }
+        cardTargets[4] = 1 << 1 | 1 << DealSampler.GONE;
+        cardTargets[5] = cardTargets[4];
+        assertSamplesEvenly(sampler, room, cardTargets, 20);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsImpossibleConstraints() {
+        DealSampler.builder()
+                .deal(0b11, 0)
+                .room(0, 1)
+                .room(1, 1)
+                .restrict(0b11, 0, Seats.mask(0))
+                .build();
+    }
+
+    @Test
+    public void testDealsToOpenTargetsOnly() {
+        DealSampler sampler = DealSampler.builder()
+                .deal(0b1111, 0)
+                .room(0, 2)
+                .room(1, 2)
+                .build();
+        long[] hands = new long[GameState.HANDS_LENGTH];
+        sampler.sample(RandomSource.xoshiro(19), hands);
+        assertThat(Long.bitCount(hands[0]), is(2));
+        assertThat(hands[0] | hands[2], is(0b1111L));
+    }
+
+    /**
+     * @param cardTargets For each card, a mask of the targets it can go to
+     */
+    private static void assertSamplesEvenly(DealSampler sampler, int[] room, int[] cardTargets, long seed) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int[] targets : enumerateDeals(room, cardTargets)) {
+            counts.put(Arrays.toString(toHands(targets)), 0);
+        }
+        int numSamples = 100000;
+        RandomSource rng = RandomSource.xoshiro(seed);
+        long[] hands = new long[GameState.HANDS_LENGTH];
+        for (int i = 0; i < numSamples; i++) {
+            sampler.sample(rng, hands);
+            String key = Arrays.toString(hands);
+            assertTrue("Inconsistent deal " + key, counts.containsKey(key));
+            counts.put(key, counts.get(key) + 1);
+        }
+        double expected = (double) numSamples / counts.size();
+        for (int count : counts.values()) {
+            assertTrue("Uneven count " + count + " for " + expected, Math.abs(count - expected) < 0.2 * expected);
+        }
+    }
+
+    /**
+     * @return Every assignment of the cards to targets that fits the room and constraints
+     */
+    private static List<int[]> enumerateDeals(int[] room, int[] cardTargets) {
+        List<int[]> deals = new ArrayList<>();
+        int numTargets = room.length;
+        int[] targets = new int[NUM_CARDS];
+        for (int code = 0; code < Math.pow(numTargets, NUM_CARDS); code++) {
+            int[] used = new int[numTargets];
+            boolean consistent = true;
+            for (int card = 0, rest = code; card < NUM_CARDS; card++, rest /= numTargets) {
+                targets[card] = rest % numTargets;
+                used[targets[card]]++;
+                consistent &= (cardTargets[card] & (1 << targets[card])) != 0;
+            }
+            if (consistent && Arrays.equals(used, room)) {
+                deals.add(targets.clone());
+            }
+        }
+        return deals;
+    }
+
+    private static long[] toHands(int[] targets) {
+        long[] hands = new long[GameState.HANDS_LENGTH];
+        hands[6] = HELD_BITS;
+        for (int card = 0; card < NUM_CARDS; card++) {
+            if (targets[card] != DealSampler.GONE) {
+                hands[2 * targets[card]] |= 1L << card;
+            }
+        }
+        return hands;
+    }
+}
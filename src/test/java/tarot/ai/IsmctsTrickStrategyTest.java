@@ -0,0 +1,135 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Deck;
+
+public class IsmctsTrickStrategyTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
+    @Test
+    public void testRerootBeforeFirstPlay() {
+        CardTracker tracker = createTracker(1);
+        IsmctsTrickStrategy.RoundState state = new IsmctsTrickStrategy.RoundState(tracker);
+        SearchTree tree = state.getTree();
+        tree.addChild(SearchTree.ROOT, 0, Suited.C_1.getIndex());
+        tracker.handlePlay(0, Suited.C_1);
+        state.reroot();
+        assertThat(state.getTree(), sameInstance(tree));
+    }
+
+    @Test
+    public void testRerootFollowsPlays() {
+        CardTracker tracker = createTracker(3);
+        IsmctsTrickStrategy.RoundState state = new IsmctsTrickStrategy.RoundState(tracker);
+        SearchTree tree = state.getTree();
+        int played = tree.addChild(SearchTree.ROOT, 3, Suited.H_R.getIndex());
+        tree.addChild(SearchTree.ROOT, 3, Suited.H_2.getIndex());
+        int west = tree.addChild(played, 4, Suited.H_3.getIndex());
+        int north = tree.addChild(west, 0, Trump.TWO.getIndex());
+        tree.addChild(west, 0, Suited.H_4.getIndex());
+        tree.addChild(north, 1, Suited.H_5.getIndex());
+        for (int i = 0; i < 3; i++) {
+            tree.addVirtualLoss(north);
+            tree.addAvailability(north);
+        }
+        tree.addReward(north, 42);
+
+        state.play();
+        tracker.handlePlay(3, Suited.H_R);
+        tracker.handlePlay(4, Suited.H_3);
+        tracker.handlePlay(0, Trump.TWO);
+        state.reroot();
+        SearchTree rerooted = state.getTree();
+        assertThat(rerooted.size(), is(2));
+        assertThat(rerooted.getSeat(SearchTree.ROOT), is(tree.getSeat(north)));
+        assertThat(rerooted.getCardIndex(SearchTree.ROOT), is(Trump.TWO.getIndex()));
+        assertThat(rerooted.getVisits(SearchTree.ROOT), is(3));
+        assertThat(rerooted.getAvailability(SearchTree.ROOT), is(3));
+        assertThat(rerooted.getReward(SearchTree.ROOT), is(42L));
+        assertThat(rerooted.findChild(SearchTree.ROOT, 1, Suited.H_5.getIndex()), not(SearchTree.NONE));
+    }
+
+    @Test
+    public void testRerootAcrossTricks() {
+        CardTracker tracker = createTracker(4);
+        IsmctsTrickStrategy.RoundState state = new IsmctsTrickStrategy.RoundState(tracker);
+        tracker.handlePlay(0, Suited.C_1);
+        tracker.handlePlay(1, Suited.C_2);
+        tracker.handlePlay(2, Suited.C_3);
+        tracker.handlePlay(3, Suited.C_4);
+        SearchTree tree = state.getTree();
+        int played = tree.addChild(SearchTree.ROOT, 4, Suited.C_R.getIndex());
+        int next = tree.addChild(played, 4, Suited.D_1.getIndex());
+        tree.addChild(next, 0, Suited.D_2.getIndex());
+
+        state.play();
+        tracker.handlePlay(4, Suited.C_R);
+        tracker.handleTrick(tracker.getCurrentTrick(), 4);
+        tracker.handlePlay(4, Suited.D_1);
+        state.reroot();
+        assertThat(state.getTree().size(), is(2));
+        assertThat(state.getTree().getCardIndex(SearchTree.ROOT), is(Suited.D_1.getIndex()));
+    }
+
+    @Test
+    public void testRerootStartsOverWhenNotSearched() {
+        CardTracker tracker = createTracker(3);
+        IsmctsTrickStrategy.RoundState state = new IsmctsTrickStrategy.RoundState(tracker);
+        SearchTree tree = state.getTree();
+        int played = tree.addChild(SearchTree.ROOT, 3, Suited.H_R.getIndex());
+        tree.addChild(played, 4, Suited.H_3.getIndex());
+
+        state.play();
+        tracker.handlePlay(3, Suited.H_R);
+        tracker.handlePlay(4, Suited.H_4);
+        tracker.handlePlay(0, Trump.TWO);
+        state.reroot();
+        assertThat(state.getTree(), not(sameInstance(tree)));
+        assertThat(state.getTree().size(), is(1));
+        assertThat(state.getTree().getFirstChild(SearchTree.ROOT), is(SearchTree.NONE));
+    }
+
+    @Test
+    public void testPlaysLegally() {
+        // Rounds are played with full validation, which throws on any illegal play
+        IsmctsConfig config = ImmutableIsmctsConfig.builder().iterationsPerDecision(50).build();
+        RandomSource rng = RandomSource.xoshiro(15);
+        int numPlayed = 0;
+        while (numPlayed < 3) {
+            Optional<Result> result = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.ismcts(config, new PalantirScorer()),
+                    rng.split()).play();
+            if (result.isPresent()) {
+                assertThat(result.get().getTricks().size(), is(15));
+                numPlayed++;
+            }
+        }
+    }
+
+    private static CardTracker createTracker(int seat) {
+        CardTracker tracker = new CardTracker();
+        tracker.handleDeal(seat, PLAYER_IDS, CardSet.EMPTY);
+        return tracker;
+    }
+}
@@ -0,0 +1,100 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import tarot.game.Bidding;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.ImmutableHand;
+
+public class MonteCarloDogStrategyTest {
+    @Test
+    public void testFindCandidates() {
+        CardSet cards = CardSet.of(Suited.C_R, Suited.C_V, Suited.C_3, Suited.C_2, Suited.C_1, Suited.D_5)
+                .union(CardSet.ALL_TRUMP.difference(CardSet.of(
+                        Trump.TWO, Trump.THREE, Trump.FOUR, Trump.FIVE, Trump.SIX, Trump.SEVEN, Trump.EIGHT,
+                        Trump.NINE, Trump.TEN, Trump.ELEVEN)));
+        assertThat(cards.size(), is(18));
+
+        // The clubs below the ten have to go lowest first, so only 4 of the 10 possible asides are tried
+        List<CardSet> candidates = MonteCarloDogStrategy.findCandidates(cards);
+        assertThat(candidates.size(), is(4));
+        assertThat(candidates, hasItems(
+                CardSet.of(Suited.C_1, Suited.C_2, Suited.C_3),
+                CardSet.of(Suited.C_1, Suited.C_2, Suited.D_5),
+                CardSet.of(Suited.C_1, Suited.C_2, Suited.C_V),
+                CardSet.of(Suited.C_1, Suited.D_5, Suited.C_V)));
+    }
+
+    @Test
+    public void testChooseAside() {
+        CardSet hand = CardSet.of(Suited.C_R, Suited.S_R, Suited.H_R, Suited.D_D, Suited.D_V, Suited.D_2, Suited.C_5)
+                .union(CardSet.of(Suited.C_3, Suited.H_4, Suited.S_9, Trump.TWO, Trump.FIVE, Trump.TWELVE, Trump.FOOL))
+                .union(CardSet.of(Trump.TWENTY));
+        CardSet dog = CardSet.of(Suited.D_3, Suited.S_C, Trump.TEN);
+        List<CardSet> candidates = MonteCarloDogStrategy.findCandidates(hand.union(dog));
+        Bidding bidding = TestBiddings.taken(2, Bid.GUARD);
+
+        // Which worker plays out which candidate mustn't change the pick
+        CardSet aside = chooseAside(hand, dog, bidding, new ForkJoinPool(1), OptionalLong.empty());
+        assertThat(candidates, hasItem(aside));
+        assertThat(chooseAside(hand, dog, bidding, new ForkJoinPool(3), OptionalLong.empty()), is(aside));
+    }
+
+    @Test
+    public void testChooseAsidePastDeadline() {
+        CardSet hand = CardSet.of(Suited.C_R, Suited.S_R, Suited.H_R, Suited.D_D, Suited.D_V, Suited.D_2, Suited.C_5)
+                .union(CardSet.of(Suited.C_3, Suited.H_4, Suited.S_9, Trump.TWO, Trump.FIVE, Trump.TWELVE, Trump.FOOL))
+                .union(CardSet.of(Trump.TWENTY));
+        CardSet dog = CardSet.of(Suited.D_3, Suited.S_C, Trump.TEN);
+
+        // The workers stop at different deals, so only the deals they all finished are compared
+        CardSet aside = chooseAside(
+                hand,
+                dog,
+                TestBiddings.taken(2, Bid.GUARD),
+                new ForkJoinPool(4),
+                OptionalLong.of(1));
+        assertThat(MonteCarloDogStrategy.findCandidates(hand.union(dog)), hasItem(aside));
+    }
+
+    @Test
+    public void testPutsAsideLowestTrumpsAsLastResort() {
+        CardSet cards = CardSet.of(Suited.C_R, Suited.D_R, Suited.C_1)
+                .union(CardSet.ALL_TRUMP.difference(CardSet.of(Trump.TWO, Trump.FIVE, Trump.SIX, Trump.SEVEN)));
+        assertThat(cards.size(), is(21));
+        List<CardSet> candidates = MonteCarloDogStrategy.findCandidates(cards);
+        assertThat(candidates.size(), is(1));
+        assertThat(candidates.get(0), is(CardSet.of(Suited.C_1, Trump.THREE, Trump.FOUR)));
+    }
+
+    private static CardSet chooseAside(CardSet hand,
+                                       CardSet dog,
+                                       Bidding bidding,
+                                       ForkJoinPool pool,
+                                       OptionalLong millisPerDecision) {
+        MonteCarloConfig config = ImmutableMonteCarloConfig.builder()
+                .rolloutsPerDecision(millisPerDecision.isPresent() ? 1000000 : 2000)
+                .millisPerDecision(millisPerDecision)
+                .pool(pool)
+                .build();
+        try {
+            return CardSet.copyOf(new MonteCarloDogStrategy(config, RandomSource.xoshiro(22))
+                    .chooseAside(ImmutableHand.of(hand), dog, bidding, Suited.C_D));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
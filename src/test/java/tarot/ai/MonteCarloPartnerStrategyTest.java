@@ -0,0 +1,53 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.game.Scorer;
+import tarot.random.RandomSource;
+import tarot.state.Bid;
+import tarot.state.Card;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.ImmutableHand;
+
+public class MonteCarloPartnerStrategyTest {
+    @Test
+    public void testFindCandidates() {
+        // A roi the taker holds can still be called
+        assertThat(MonteCarloPartnerStrategy.findCandidates(CardSet.of(Suited.C_R)), is(Cards.getRois()));
+        assertThat(MonteCarloPartnerStrategy.findCandidates(Cards.getRois()), is(Cards.getDames()));
+        assertThat(
+                MonteCarloPartnerStrategy.findCandidates(Cards.getRois().union(Cards.getDames())),
+                is(Cards.getCavaliers()));
+    }
+
+    @Test
+    public void testCall() {
+        CardSet hand = CardSet.of(Suited.C_R, Suited.D_D, Suited.D_2, Suited.H_3, Suited.S_4, Suited.S_5, Trump.TWO)
+                .union(CardSet.of(Trump.FOUR, Trump.SIX, Trump.NINE, Trump.TEN, Trump.THIRTEEN, Trump.FIFTEEN))
+                .union(CardSet.of(Trump.EIGHTEEN, Trump.FOOL));
+
+        // Playing alone triples a win and a loss, where a partner only doubles them
+        assertThat(call(hand, 1), is(Suited.C_R));
+        assertThat(call(hand, -1), not(Suited.C_R));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNothingToCall() {
+        MonteCarloPartnerStrategy.findCandidates(
+                Cards.getRois().union(Cards.getDames()).union(Cards.getCavaliers()));
+    }
+
+    private static Card call(CardSet hand, float handScore) {
+        MonteCarloConfig config = ImmutableMonteCarloConfig.builder().rolloutsPerDecision(200).build();
+        Scorer scorer = (bid, handfulShown, ledger, aside) -> handScore;
+        return new MonteCarloPartnerStrategy(config, scorer, RandomSource.xoshiro(23))
+                .call(ImmutableHand.of(hand), TestBiddings.taken(2, Bid.GUARD));
+    }
+}
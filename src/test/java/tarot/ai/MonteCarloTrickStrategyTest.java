@@ -0,0 +1,41 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
+import tarot.state.Deck;
+
+public class MonteCarloTrickStrategyTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
+    @Test
+    public void testPlaysLegally() {
+        // Rounds are played with full validation, which throws on any illegal play
+        MonteCarloConfig config = ImmutableMonteCarloConfig.builder().rolloutsPerDecision(20).build();
+        RandomSource rng = RandomSource.xoshiro(14);
+        int numPlayed = 0;
+        while (numPlayed < 3) {
+            Optional<Result> result = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.monteCarlo(config, new PalantirScorer()),
+                    rng.split()).play();
+            if (result.isPresent()) {
+                assertThat(result.get().getTricks().size(), is(15));
+                numPlayed++;
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package tarot.ai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class SearchTreeTest {
+    @Test
+    public void testAddChild() {
+        SearchTree tree = new SearchTree(1);
+        int first = tree.addChild(SearchTree.ROOT, 0, 10);
+        int second = tree.addChild(SearchTree.ROOT, 0, 11);
+        int grandchild = tree.addChild(first, 1, 12);
+        assertThat(tree.size(), is(4));
+        assertThat(tree.findChild(SearchTree.ROOT, 0, 10), is(first));
+        assertThat(tree.findChild(SearchTree.ROOT, 0, 11), is(second));
+        assertThat(tree.findChild(SearchTree.ROOT, 1, 10), is(SearchTree.NONE));
+        assertThat(tree.findChild(first, 1, 12), is(grandchild));
+        assertThat(tree.getSeat(grandchild), is(1));
+        assertThat(tree.getCardIndex(grandchild), is(12));
+        assertThat(tree.getFirstChild(second), is(SearchTree.NONE));
+    }
+
+    @Test
+    public void testSubtree() {
+        SearchTree tree = new SearchTree(4);
+        int dropped = tree.addChild(SearchTree.ROOT, 0, 1);
+        int kept = tree.addChild(SearchTree.ROOT, 0, 2);
+        tree.addChild(dropped, 1, 3);
+        int[] children = new int[3];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = tree.addChild(kept, 1, 4 + i);
+            visit(tree, children[i], i + 1, 10 * (i + 1));
+        }
+        int grandchild = tree.addChild(children[1], 2, 7);
+        visit(tree, grandchild, 5, 50);
+        visit(tree, kept, 6, 60);
+
+        SearchTree subtree = tree.subtree(kept);
+        assertThat(subtree.size(), is(5));
+        assertThat(subtree.getSeat(SearchTree.ROOT), is(0));
+        assertThat(subtree.getCardIndex(SearchTree.ROOT), is(2));
+        assertThat(subtree.getVisits(SearchTree.ROOT), is(6));
+        assertThat(subtree.getAvailability(SearchTree.ROOT), is(7));
+        assertThat(subtree.getReward(SearchTree.ROOT), is(60L));
+        // The old root's other children aren't siblings of the new root
+        assertThat(subtree.getNextSibling(SearchTree.ROOT), is(SearchTree.NONE));
+
+        int numChildren = 0;
+        for (int child = subtree.getFirstChild(SearchTree.ROOT);
+             child != SearchTree.NONE;
+             child = subtree.getNextSibling(child)) {
+            numChildren++;
+        }
+        assertThat(numChildren, is(3));
+        for (int i = 0; i < children.length; i++) {
+            int child = subtree.findChild(SearchTree.ROOT, 1, 4 + i);
+            assertThat(child, not(SearchTree.NONE));
+            assertThat(subtree.getVisits(child), is(i + 1));
+            assertThat(subtree.getAvailability(child), is(i + 2));
+            assertThat(subtree.getReward(child), is(10L * (i + 1)));
+        }
+        int copied = subtree.findChild(subtree.findChild(SearchTree.ROOT, 1, 5), 2, 7);
+        assertThat(copied, not(SearchTree.NONE));
+        assertThat(subtree.getVisits(copied), is(5));
+        assertThat(subtree.getReward(copied), is(50L));
+        assertThat(subtree.getFirstChild(copied), is(SearchTree.NONE));
+
+        // The copy has room to grow
+        int added = subtree.addChild(copied, 3, 8);
+        assertThat(subtree.findChild(copied, 3, 8), is(added));
+        assertThat(subtree.size(), is(6));
+    }
+
+    private static void visit(SearchTree tree, int node, int numVisits, long reward) {
+        for (int i = 0; i < numVisits; i++) {
+            tree.addVirtualLoss(node);
+            tree.addAvailability(node);
+        }
+        tree.addAvailability(node);
+        tree.addReward(node, reward);
+    }
+}
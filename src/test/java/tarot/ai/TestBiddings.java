@@ -0,0 +1,48 @@
+package tarot.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import tarot.game.Bidding;
+import tarot.game.Bidding.Bidder;
+import tarot.game.Seats;
+import tarot.state.Bid;
+
+/**
+ * Biddings for strategy tests that only care who took and with what
+ */
+final class TestBiddings {
+    private TestBiddings() {
+        // Prevent instantiation
+    }
+
+    /**
+     * @return A bidding in which 'takerSeat' bid 'bid' and every other seat passed
+     */
+    static Bidding taken(int takerSeat, Bid bid) {
+        List<Bidder> bidders = new ArrayList<>();
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            int bidderSeat = seat;
+            bidders.add(new Bidder() {
+                @Override
+                public String getId() {
+                    return Integer.toString(bidderSeat);
+                }
+
+                @Override
+                public int getSeat() {
+                    return bidderSeat;
+                }
+
+                @Override
+                public Optional<Bid> bid(Bidding state) {
+                    return bidderSeat == takerSeat ? Optional.of(bid) : Optional.empty();
+                }
+            });
+        }
+        Bidding bidding = Bidding.newBidding();
+        bidding.run(bidders);
+        return bidding;
+    }
+}
@@ -0,0 +1,108 @@
+package tarot.game;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.random.RandomSource;
+import tarot.state.Cards;
+
+public class GameStateTest {
+    @Test
+    public void testMatchesLedger() {
+        RandomSource rng = RandomSource.xoshiro(17);
+        for (int i = 0; i < 100; i++) {
+            long[] hands = deal(rng);
+            int attackerSeats = Seats.mask(rng.nextInt(Seats.NUM_SEATS)) | Seats.mask(rng.nextInt(Seats.NUM_SEATS));
+            GameState state = GameState.create(hands, attackerSeats, 0);
+            RoundLedger ledger = new RoundLedger(attackerSeats);
+            while (!state.isComplete()) {
+                assertThat(PackedTricks.getStrongFoolSeats(state.getCurrentTrick()), is(ledger.getStrongFoolSeats()));
+                playRandomly(rng, state);
+                if (PackedTricks.size(state.getCurrentTrick()) == 0) {
+                    long trick = state.getTrick(state.getNumTricks() - 1);
+                    ledger.addTrick(trick);
+                    assertThat(state.getLeader(), is(PackedTricks.getWinningSeat(trick)));
+                }
+                assertThat(state.getAttackerCards(), is(ledger.getAttackerCards()));
+                assertThat(state.getDefenderCards(), is(ledger.getDefenderCards()));
+                assertThat(state.getAttackerDoublePoints(), is(ledger.getAttackerDoublePoints()));
+                assertThat(state.getDefenderDoublePoints(), is(ledger.getDefenderDoublePoints()));
+            }
+        }
+    }
+
+    @Test
+    public void testUndoAndFork() {
+        RandomSource rng = RandomSource.xoshiro(18);
+        long[] hands = deal(rng);
+        GameState state = GameState.create(hands, Seats.mask(0) | Seats.mask(3), 2);
+        for (int i = 0; i < 23; i++) {
+            playRandomly(rng, state);
+        }
+        GameState fork = state.fork();
+        long trick = state.getCurrentTrick();
+        int attackerDoublePoints = state.getAttackerDoublePoints();
+
+        while (!state.isComplete()) {
+            playRandomly(rng, state);
+        }
+        assertThat(fork.getNumPlays(), is(23));
+        assertThat(fork.getCurrentTrick(), is(trick));
+        while (state.getNumPlays() > 23) {
+            state.undo();
+        }
+        assertThat(state.getCurrentTrick(), is(trick));
+        assertThat(state.getAttackerDoublePoints(), is(attackerDoublePoints));
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            assertThat(state.getHand(seat), is(fork.getHand(seat)));
+        }
+
+        while (state.getNumPlays() > 0) {
+            state.undo();
+        }
+        assertThat(state.getLeader(), is(2));
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            assertThat(state.getSuitedBits(seat), is(hands[2 * seat]));
+            assertThat(state.getTrumpBits(seat), is(hands[2 * seat + 1]));
+        }
+    }
+
+    private static void playRandomly(RandomSource rng, GameState state) {
+        long suitedBits = state.getLegalSuitedBits();
+        long trumpBits = state.getLegalTrumpBits();
+        int choice = rng.nextInt(Long.bitCount(suitedBits) + Long.bitCount(trumpBits));
+        for (int cardIndex = 0; cardIndex < Cards.NUM_CARDS; cardIndex++) {
+            long bits = Cards.isTrump(cardIndex) ? trumpBits : suitedBits;
+            int bit = Cards.isTrump(cardIndex) ? cardIndex - Cards.NUM_SUITED_CARDS : cardIndex;
+            if ((bits & (1L << bit)) != 0 && choice-- == 0) {
+                state.apply(cardIndex);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Fifteen random cards for each seat, leaving three for the dog
+     */
+    private static long[] deal(RandomSource rng) {
+        int[] cards = new int[Cards.NUM_CARDS];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = i;
+        }
+        long[] hands = new long[GameState.HANDS_LENGTH];
+        for (int i = 0; i < Seats.NUM_SEATS * Trick.TRICKS_PER_ROUND; i++) {
+            int j = i + rng.nextInt(cards.length - i);
+            int cardIndex = cards[j];
+            cards[j] = cards[i];
+            int seat = i % Seats.NUM_SEATS;
+            if (Cards.isTrump(cardIndex)) {
+                hands[2 * seat + 1] |= 1L << (cardIndex - Cards.NUM_SUITED_CARDS);
+            } else {
+                hands[2 * seat] |= 1L << cardIndex;
+            }
+        }
+        return hands;
+    }
+}
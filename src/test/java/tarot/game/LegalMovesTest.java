@@ -0,0 +1,84 @@
+package tarot.game;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Trick.Play;
+import tarot.state.Card;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+
+public class LegalMovesTest {
+    private static final CardSet HAND = CardSet.of(
+            Suited.H_R,
+            Suited.H_2,
+            Suited.S_V,
+            Trump.FIVE,
+            Trump.SEVENTEEN,
+            Trump.FOOL);
+
+    @Test
+    public void testLead() {
+        assertThat(LegalMoves.getLegalMoves(HAND, ImmutableList.of()), is(HAND));
+        assertThat(LegalMoves.getLegalMoves(HAND, trick(Trump.FOOL)), is(HAND));
+    }
+
+    @Test
+    public void testFollowSuit() {
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Suited.H_5, Trump.TWO)),
+                is(CardSet.of(Suited.H_R, Suited.H_2, Trump.FOOL)));
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Trump.FOOL, Suited.S_1)),
+                is(CardSet.of(Suited.S_V, Trump.FOOL)));
+    }
+
+    @Test
+    public void testOvertrump() {
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Suited.D_5, Trump.TEN)),
+                is(CardSet.of(Trump.SEVENTEEN, Trump.FOOL)));
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Trump.SIX)),
+                is(CardSet.of(Trump.SEVENTEEN, Trump.FOOL)));
+        // Can't overtrump, so any trump will do
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Trump.EIGHTEEN)),
+                is(CardSet.of(Trump.FIVE, Trump.SEVENTEEN, Trump.FOOL)));
+        assertThat(
+                LegalMoves.getLegalMoves(HAND, trick(Suited.C_2)),
+                is(CardSet.of(Trump.FIVE, Trump.SEVENTEEN, Trump.FOOL)));
+    }
+
+    @Test
+    public void testNoTrump() {
+        CardSet hand = CardSet.of(Suited.H_R, Suited.S_V, Trump.FOOL);
+        assertThat(LegalMoves.getLegalMoves(hand, trick(Trump.FOUR)), is(hand));
+        assertThat(LegalMoves.getLegalMoves(hand, trick(Suited.D_4)), is(hand));
+    }
+
+    @Test
+    public void testIsLegal() {
+        assertThat(LegalMoves.isLegal(HAND, Trump.FOOL, trick(Suited.H_5)), is(true));
+        assertThat(LegalMoves.isLegal(HAND, Suited.H_2, trick(Suited.H_5)), is(true));
+        assertThat(LegalMoves.isLegal(HAND, Suited.S_V, trick(Suited.H_5)), is(false));
+        assertThat(LegalMoves.isLegal(HAND, Trump.FIVE, trick(Suited.C_5, Trump.TEN)), is(false));
+        assertThat(LegalMoves.isLegal(HAND, Suited.S_V, trick(Suited.C_5)), is(false));
+    }
+
+    private static List<Play> trick(Card... cards) {
+        ImmutableList.Builder<Play> plays = ImmutableList.builder();
+        String[] players = { "n", "e", "s", "w", "nw" };
+        for (int i = 0; i < cards.length; i++) {
+            plays.add(ImmutablePlay.of(players[i], cards[i]));
+        }
+        return plays.build();
+    }
+}
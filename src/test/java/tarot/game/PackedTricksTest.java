@@ -0,0 +1,139 @@
+package tarot.game;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.game.Trick.Play;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+
+public class PackedTricksTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
+    @Test
+    public void testWinner() {
+        assertThat(getWinningSeat(0, Suited.H_5, Suited.H_R, Suited.S_R, Suited.H_1), is(1));
+        assertThat(getWinningSeat(0, Suited.H_5, Suited.H_R, Trump.ONE, Trump.TWO), is(3));
+        assertThat(getWinningSeat(0, Trump.FOOL, Suited.C_1, Suited.C_2, Suited.D_R), is(2));
+        assertThat(getWinningSeat(0, Trump.FOOL), is(0));
+        // A strong fool leads and wins, but is beaten by a trump played after it
+        assertThat(getWinningSeat(Seats.mask(0), Trump.FOOL, Trump.TWENTY_ONE, Suited.C_2), is(0));
+        assertThat(getWinningSeat(Seats.mask(1), Suited.C_2, Trump.FOOL, Suited.C_R), is(1));
+        assertThat(getWinningSeat(Seats.mask(1), Suited.C_2, Trump.FOOL, Trump.ONE), is(2));
+    }
+
+    @Test
+    public void testRandomTricks() {
+        RandomSource rng = RandomSource.xoshiro(4);
+        List<Card> deck = new ArrayList<>();
+        for (int i = 0; i < Cards.NUM_CARDS; i++) {
+            deck.add(Cards.fromIndex(i));
+        }
+        for (int round = 0; round < 2000; round++) {
+            rng.shuffle(deck);
+            CardSet[] hands = new CardSet[Seats.NUM_SEATS];
+            for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+                int start = seat * Trick.TRICKS_PER_ROUND;
+                hands[seat] = CardSet.copyOf(deck.subList(start, start + Trick.TRICKS_PER_ROUND));
+            }
+            int leader = rng.nextInt(Seats.NUM_SEATS);
+            boolean leadFool = hands[leader].contains(Trump.FOOL) && rng.nextBoolean();
+            int strongFoolSeats = rng.nextBoolean() ? rng.nextInt(1 << Seats.NUM_SEATS) : 0;
+
+            List<Play> plays = new ArrayList<>();
+            long trick = PackedTricks.withStrongFoolSeats(PackedTricks.EMPTY, strongFoolSeats);
+            for (int i = 0; i < Seats.NUM_SEATS; i++) {
+                int seat = (leader + i) % Seats.NUM_SEATS;
+                CardSet legal = LegalMoves.getLegalMoves(hands[seat], plays);
+                Card card = i == 0 && leadFool ? Trump.FOOL : legal.get(rng.nextInt(legal.size()));
+                plays.add(ImmutablePlay.of(PLAYER_IDS.get(seat), card));
+                trick = PackedTricks.addPlay(trick, seat, card);
+
+                List<Card> cards = new ArrayList<>();
+                for (Play play : plays) {
+                    cards.add(play.getCard());
+                }
+                assertThat(PackedTricks.getLedSuit(trick), is(findLedSuit(cards)));
+                assertThat(PackedTricks.getLedSuit(trick), is(LegalMoves.getLedSuit(plays)));
+                assertThat(PackedTricks.getMaxTrumpStrength(trick), is(findMaxTrumpStrength(cards)));
+                int position = findWinningPosition(cards, leader, strongFoolSeats);
+                assertThat(PackedTricks.getWinningPosition(trick), is(position));
+                assertThat(PackedTricks.getWinningSeat(trick), is((leader + position) % Seats.NUM_SEATS));
+            }
+        }
+    }
+
+    private static int getWinningSeat(int strongFoolSeats, Card... cards) {
+        long trick = PackedTricks.withStrongFoolSeats(PackedTricks.EMPTY, strongFoolSeats);
+        for (int seat = 0; seat < cards.length; seat++) {
+            trick = PackedTricks.addPlay(trick, seat, cards[seat]);
+        }
+        return PackedTricks.getWinningSeat(trick);
+    }
+
+    private static int findLedSuit(List<Card> cards) {
+        for (Card card : cards) {
+            if (card instanceof Suited) {
+                return ((Suited) card).getSuit().ordinal();
+            } else if (card != Trump.FOOL) {
+                return LegalMoves.TRUMP_LED;
+            }
+        }
+        return LegalMoves.NOTHING_LED;
+    }
+
+    private static int findMaxTrumpStrength(List<Card> cards) {
+        int maxStrength = LegalMoves.NO_TRUMP_PLAYED;
+        for (Card card : cards) {
+            if (card instanceof Trump) {
+                maxStrength = Math.max(maxStrength, ((Trump) card).getStrength());
+            }
+        }
+        return maxStrength;
+    }
+
+    /**
+     * The winner rules, card by card: the fool wins if it is led and strong or alone, and otherwise is skipped unless
+     * it is strong, in which case it takes the trick from the winner so far but not from a trump played after it
+     */
+    private static int findWinningPosition(List<Card> cards, int leader, int strongFoolSeats) {
+        int winner = -1;
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if (card == Trump.FOOL) {
+                boolean strong = Seats.contains(strongFoolSeats, (leader + i) % Seats.NUM_SEATS);
+                if (i == 0 && (strong || cards.size() == 1)) {
+                    return 0;
+                } else if (strong) {
+                    winner = i;
+                }
+            } else if (winner < 0 || beats(card, cards.get(winner))) {
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+    private static boolean beats(Card card, Card winner) {
+        if (card instanceof Trump) {
+            return !(winner instanceof Trump) || winner == Trump.FOOL
+                    || ((Trump) card).getStrength() > ((Trump) winner).getStrength();
+        } else if (winner instanceof Suited) {
+            Suited suited = (Suited) card;
+            return suited.getSuit() == ((Suited) winner).getSuit() && suited.getValue() > ((Suited) winner).getValue();
+        } else {
+            return false;
+        }
+    }
+}
@@ -4,18 +4,26 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import tarot.ai.Lineup;
+import tarot.game.Round.Result;
 import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
 import tarot.state.Bid;
+import tarot.state.Card;
 import tarot.state.Card.Suited;
 import tarot.state.Card.Trump;
+import tarot.state.Deck;
 
 public class PalantirScorerTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
     @Test
     public void testSimple() {
         PalantirScorer scorer = new PalantirScorer();
@@ -165,4 +173,85 @@ public class PalantirScorerTest {
                 ImmutableSet.of(Suited.H_C, Suited.H_D, Suited.C_C));
         assertThat(result, is(20.0f));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDecideContractMatchesFullPlay() {
+        PalantirScorer scorer = new PalantirScorer();
+        int numDecidedEarly = 0;
+        for (long seed = 0; seed < 2000; seed++) {
+            Optional<Result> full = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    scorer,
+                    Lineup.random(),
+                    RandomSource.xoshiro(seed)).play();
+            Optional<Result> early = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    scorer,
+                    Lineup.random(),
+                    RandomSource.xoshiro(seed)).playUntilDecided();
+            assertThat(early.isPresent(), is(full.isPresent()));
+            if (full.isPresent()) {
+                assertThat(early.get().isMadeContract(), is(full.get().isMadeContract()));
+                numDecidedEarly += early.get().isDecidedEarly() ? 1 : 0;
+            }
+        }
+        assertThat(numDecidedEarly > 0, is(true));
+    }
+
+    @Test
+    public void testDecideContractAtFoolEdge() {
+        // The attackers capture 55 points without a bout
+        RoundLedger ledger = new RoundLedger(Seats.mask(0));
+        addHonorTricks(ledger, 0, Trump.TWO);
+        assertThat(ledger.getAttackerDoublePoints(), is(110));
+
+        // 56 points is exactly the target, but losing the fool could still cost half a point
+        PalantirScorer scorer = new PalantirScorer();
+        assertThat(
+                scorer.decideContract(Bid.GUARD, ledger, ImmutableSet.of(Suited.C_1, Suited.D_1)),
+                is(Optional.empty()));
+        assertThat(
+                scorer.decideContract(Bid.GUARD, ledger, ImmutableSet.of(Suited.C_1, Suited.D_1, Suited.H_1)),
+                is(Optional.of(true)));
+    }
+
+    @Test
+    public void testDecideContractWithBoutsOut() {
+        PalantirScorer scorer = new PalantirScorer();
+
+        // The attackers can still take the 36 points and the three bouts they need
+        RoundLedger boutsOut = new RoundLedger(Seats.mask(0));
+        addHonorTricks(boutsOut, 1, Trump.TWO);
+        assertThat(boutsOut.getDefenderDoublePoints(), is(110));
+        assertThat(scorer.decideContract(Bid.GUARD, boutsOut, ImmutableSet.of()), is(Optional.empty()));
+
+        // Once the defenders have a bout, the attackers need 41
+        RoundLedger boutLost = new RoundLedger(Seats.mask(0));
+        addHonorTricks(boutLost, 1, Trump.TWENTY_ONE);
+        assertThat(scorer.decideContract(Bid.GUARD, boutLost, ImmutableSet.of()), is(Optional.of(false)));
+    }
+
+    /**
+     * Adds six tricks that 'winner' leads with a trump, the first one being 'firstTrump', and wins over the other
+     * seats' rois, dames, cavaliers, valets, tens and nines
+     */
+    private static void addHonorTricks(RoundLedger ledger, int winner, Trump firstTrump) {
+        Card[][] discards = {
+                {Suited.C_R, Suited.D_R, Suited.H_R, Suited.S_R},
+                {Suited.C_D, Suited.D_D, Suited.H_D, Suited.S_D},
+                {Suited.C_C, Suited.D_C, Suited.H_C, Suited.S_C},
+                {Suited.C_V, Suited.D_V, Suited.H_V, Suited.S_V},
+                {Suited.C_10, Suited.D_10, Suited.H_10, Suited.S_10},
+                {Suited.C_9, Suited.D_9, Suited.H_9, Suited.S_9}};
+        Trump[] leads = {firstTrump, Trump.THREE, Trump.FOUR, Trump.FIVE, Trump.SIX, Trump.SEVEN};
+        for (int i = 0; i < leads.length; i++) {
+            long trick = PackedTricks.addPlay(PackedTricks.EMPTY, winner, leads[i]);
+            for (int j = 0; j < discards[i].length; j++) {
+                trick = PackedTricks.addPlay(trick, (winner + j + 1) % Seats.NUM_SEATS, discards[i][j]);
+            }
+            ledger.addTrick(trick);
+        }
+    }
+}
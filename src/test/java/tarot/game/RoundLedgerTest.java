@@ -0,0 +1,221 @@
+package tarot.game;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Deck;
+
+public class RoundLedgerTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+    private static final int ATTACKER_SEATS = Seats.mask(0) | Seats.mask(2);
+    private static final int NUM_FILLER_TRICKS = Trick.TRICKS_PER_ROUND - 2;
+    // The cards left for the last two tricks
+    private static final CardSet ONES = CardSet.of(Suited.C_1, Suited.D_1, Suited.H_1, Suited.S_1);
+
+    @Test
+    public void testPetitInLastTrick() {
+        RoundLedger ledger = addFillerTricks(0, 1, 2, 3, 4, 0, 1, 2, 3, 4, 0, 1, 2);
+        addTrick(ledger, 0, Trump.FIFTEEN, Suited.C_1, Suited.D_1, Suited.H_1, Trump.SIXTEEN);
+        addTrick(ledger, 4, Trump.TWENTY, Trump.ONE, Trump.SEVENTEEN, Trump.EIGHTEEN, Trump.NINETEEN);
+        assertThat(ledger.isComplete(), is(true));
+        assertThat(ledger.getPetitAuBoutSeat(), is(0));
+        assertThat(ledger.getDefenderCards().contains(Trump.ONE), is(true));
+        assertThat(ledger.isAttackersOwedPoint(), is(false));
+        assertThat(ledger.isDefendersOwedPoint(), is(false));
+    }
+
+    @Test
+    public void testFoolLostInLastTrick() {
+        RoundLedger ledger = addFillerTricks(0, 1, 2, 3, 4, 0, 1, 2, 3, 4, 0, 1, 2);
+        addTrick(ledger, 0, Trump.FIFTEEN, Suited.C_1, Suited.D_1, Suited.H_1, Trump.SIXTEEN);
+        assertThat(ledger.getStrongFoolSeats(), is(0));
+        // The defenders win, but whoever plays the fool in the last trick loses it
+        addTrick(ledger, 4, Trump.TWENTY, Trump.SEVENTEEN, Trump.FOOL, Trump.EIGHTEEN, Trump.NINETEEN);
+        assertThat(ledger.getAttackerCards().contains(Trump.FOOL), is(true));
+        assertThat(ledger.isDefendersOwedPoint(), is(true));
+        assertThat(ledger.isAttackersOwedPoint(), is(false));
+        assertThat(ledger.getNumAttackerTricks(), is(6));
+    }
+
+    @Test
+    public void testSlamPetitAuBout() {
+        RoundLedger ledger = addFillerTricks(0, 2, 0, 2, 0, 2, 0, 2, 0, 2, 0, 2, 0);
+        addTrick(ledger, 0, Trump.TWENTY_ONE, Suited.C_1, Trump.ONE, Suited.D_1, Suited.H_1);
+        assertThat(ledger.getStrongFoolSeats(), is(ATTACKER_SEATS));
+        addTrick(ledger, 0, Trump.FOOL, Trump.TWENTY, Trump.FIFTEEN, Trump.SIXTEEN, Trump.SEVENTEEN);
+        assertThat(ledger.getNumAttackerTricks(), is(Trick.TRICKS_PER_ROUND));
+        // The petit was played in the second to last trick, before the fool led the last one
+        assertThat(ledger.getPetitAuBoutSeat(), is(2));
+        assertThat(ledger.getAttackerCards().contains(Trump.FOOL), is(true));
+        assertThat(ledger.isAttackersOwedPoint(), is(false));
+        assertThat(ledger.isDefendersOwedPoint(), is(false));
+    }
+
+    @Test
+    public void testRecordedRounds() {
+        RandomSource rng = RandomSource.xoshiro(11);
+        int numRounds = 0;
+        while (numRounds < 200) {
+            Optional<Result> result = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.random(),
+                    rng.split()).play();
+            if (!result.isPresent() || result.get().isDecidedEarly()) {
+                continue;
+            }
+            int attackerSeats = Seats.mask(PLAYER_IDS.indexOf(result.get().getTaker()))
+                    | Seats.mask(PLAYER_IDS.indexOf(result.get().getPartner()));
+            long[] tricks = result.get().getPackedTricks();
+            RoundLedger ledger = new RoundLedger(attackerSeats);
+            for (long trick : tricks) {
+                ledger.addTrick(trick);
+            }
+            new Replay(tricks, attackerSeats).check(ledger);
+            numRounds++;
+        }
+    }
+
+    /**
+     * @param winners The seat that leads and wins each trick but the last two, with a trump the others discard under
+     */
+    private static RoundLedger addFillerTricks(int... winners) {
+        assertThat(winners.length, is(NUM_FILLER_TRICKS));
+        CardSet suited = CardSet.ALL_SUITED.difference(ONES);
+        RoundLedger ledger = new RoundLedger(ATTACKER_SEATS);
+        for (int i = 0; i < NUM_FILLER_TRICKS; i++) {
+            Card[] cards = new Card[Seats.NUM_SEATS];
+            cards[0] = Cards.fromIndex(Trump.TWO.getIndex() + i);
+            for (int j = 1; j < cards.length; j++) {
+                cards[j] = suited.get(i * (Seats.NUM_SEATS - 1) + j - 1);
+            }
+            addTrick(ledger, winners[i], cards);
+        }
+        return ledger;
+    }
+
+    /**
+     * Adds a trick led by 'leader', with the strong fool seats as the round would set them
+     */
+    private static void addTrick(RoundLedger ledger, int leader, Card... cards) {
+        long trick = PackedTricks.withStrongFoolSeats(PackedTricks.EMPTY, ledger.getStrongFoolSeats());
+        for (int i = 0; i < cards.length; i++) {
+            trick = PackedTricks.addPlay(trick, (leader + i) % Seats.NUM_SEATS, cards[i]);
+        }
+        ledger.addTrick(trick);
+    }
+
+    /**
+     * The scorer's replay of the tricks from before the ledger, with the attacker tricks counted once per trick
+     */
+    private static final class Replay {
+        private final CardSet.Builder attackerCards = CardSet.builder();
+        private final CardSet.Builder defenderCards = CardSet.builder();
+        private int numAttackerTricks;
+        private boolean attackersOwedPoint;
+        private boolean defendersOwedPoint;
+        private final int petitAuBoutSeat;
+
+        Replay(long[] tricks, int attackerSeats) {
+            int defenderSeats = Seats.complement(attackerSeats);
+            for (int i = 0; i < tricks.length - 1; i++) {
+                long trick = tricks[i];
+                boolean defendersWon = Seats.contains(defenderSeats, PackedTricks.getWinningSeat(trick));
+                for (int position = 0; position < PackedTricks.size(trick); position++) {
+                    Card card = PackedTricks.getCard(trick, position);
+                    int seat = PackedTricks.getSeat(trick, position);
+                    if (defendersWon) {
+                        if (card == Trump.FOOL && Seats.contains(attackerSeats, seat)) {
+                            attackerCards.add(card);
+                            attackersOwedPoint = true;
+                        } else {
+                            defenderCards.add(card);
+                        }
+                    } else {
+                        if (card == Trump.FOOL && Seats.contains(defenderSeats, seat)) {
+                            defenderCards.add(card);
+                            defendersOwedPoint = true;
+                        } else {
+                            attackerCards.add(card);
+                        }
+                    }
+                }
+                if (!defendersWon) {
+                    numAttackerTricks++;
+                }
+            }
+
+            long lastTrick = tricks[tricks.length - 1];
+            boolean defendersWon = Seats.contains(defenderSeats, PackedTricks.getWinningSeat(lastTrick));
+            for (int position = 0; position < PackedTricks.size(lastTrick); position++) {
+                Card card = PackedTricks.getCard(lastTrick, position);
+                if (card != Trump.FOOL) {
+                    (defendersWon ? defenderCards : attackerCards).add(card);
+                } else if (numAttackerTricks == Trick.TRICKS_PER_ROUND - 1) {
+                    attackerCards.add(card);
+                } else if (numAttackerTricks == 0) {
+                    defenderCards.add(card);
+                } else if (Seats.contains(defenderSeats, PackedTricks.getSeat(lastTrick, position))) {
+                    attackerCards.add(card);
+                    defendersOwedPoint |= defendersWon;
+                } else {
+                    defenderCards.add(card);
+                    attackersOwedPoint |= !defendersWon;
+                }
+            }
+            if (!defendersWon) {
+                numAttackerTricks++;
+            }
+
+            long secondToLastTrick = tricks[tricks.length - 2];
+            int slamSeats = numAttackerTricks == Trick.TRICKS_PER_ROUND
+                    ? attackerSeats
+                    : numAttackerTricks == 0 ? defenderSeats : 0;
+            int slamPetitSeat = findSeat(secondToLastTrick, Trump.ONE, slamSeats);
+            int slamFoolSeat = findSeat(lastTrick, Trump.FOOL, slamSeats);
+            if (slamPetitSeat != RoundLedger.NO_SEAT && slamFoolSeat != RoundLedger.NO_SEAT) {
+                petitAuBoutSeat = slamPetitSeat;
+            } else {
+                petitAuBoutSeat = findSeat(lastTrick, Trump.ONE, Seats.ALL);
+            }
+        }
+
+        void check(RoundLedger ledger) {
+            assertThat(ledger.getAttackerCards(), is(attackerCards.build()));
+            assertThat(ledger.getDefenderCards(), is(defenderCards.build()));
+            assertThat(ledger.getNumAttackerTricks(), is(numAttackerTricks));
+            assertThat(ledger.isAttackersOwedPoint(), is(attackersOwedPoint));
+            assertThat(ledger.isDefendersOwedPoint(), is(defendersOwedPoint));
+            assertThat(ledger.getPetitAuBoutSeat(), is(petitAuBoutSeat));
+            int attackerDoublePoints = attackerCards.build().stream().mapToInt(Cards::getDoublePoints).sum();
+            assertThat(ledger.getAttackerDoublePoints(), is(attackerDoublePoints));
+        }
+
+        private static int findSeat(long trick, Card card, int seats) {
+            for (int position = 0; position < PackedTricks.size(trick); position++) {
+                if (PackedTricks.getCard(trick, position) == card) {
+                    int seat = PackedTricks.getSeat(trick, position);
+                    return Seats.contains(seats, seat) ? seat : RoundLedger.NO_SEAT;
+                }
+            }
+            return RoundLedger.NO_SEAT;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package tarot.io;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
+import tarot.state.Deck;
+
+public class RoundLogTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        List<Result> results = playRounds(100);
+        Path path = folder.getRoot().toPath().resolve("rounds.bin");
+        // Write in two sessions to check appending
+        try (RoundLogWriter writer = RoundLogWriter.open(path, PLAYER_IDS)) {
+            for (Result result : results.subList(0, 40)) {
+                writer.write(result);
+            }
+        }
+        try (RoundLogWriter writer = RoundLogWriter.open(path, PLAYER_IDS)) {
+            for (Result result : results.subList(40, results.size())) {
+                writer.write(result);
+            }
+        }
+
+        try (RoundLogReader reader = RoundLogReader.open(path)) {
+            assertThat(reader.getPlayerIds(), is(PLAYER_IDS));
+            for (Result result : results) {
+                assertThat(reader.next(), is(true));
+                RoundRecord record = reader.getRecord();
+                assertThat(record.getBid(), is(result.getBidding().getBid().get()));
+                assertThat(record.getNumBids(), is(result.getBidding().getBidSequence().size()));
+                assertThat(record.getFirstPlayer(), is(result.getFirstPlayer()));
+                assertThat(record.getTaker(), is(result.getTaker()));
+                assertThat(record.getPartner(), is(result.getPartner()));
+                assertThat(record.getPartnerCard(), is(result.getPartnerCard()));
+                assertThat(record.getDog(), is(result.getDog()));
+                assertThat(record.getAside(), is(result.getAside()));
+                assertThat(record.getHandful(), is(result.getHandful()));
+                assertThat(record.getTricks(), is(result.getTricks()));
+                assertThat(record.getScore(), is(result.getScore()));
+            }
+            assertThat(reader.next(), is(false));
+        }
+    }
+
+    @Test
+    public void testRejectsDecidedEarly() throws IOException {
+        Result full = playRounds(1).get(0);
+        Result decidedEarly = null;
+        RandomSource rng = RandomSource.xoshiro(1);
+        while (decidedEarly == null) {
+            Optional<Result> result = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.random(),
+                    rng.split()).playUntilDecided();
+            if (result.isPresent() && result.get().isDecidedEarly()) {
+                decidedEarly = result.get();
+            }
+        }
+
+        Path path = folder.getRoot().toPath().resolve("rounds.bin");
+        try (RoundLogWriter writer = RoundLogWriter.open(path, PLAYER_IDS)) {
+            try {
+                writer.write(decidedEarly);
+                fail("Wrote a round that stopped early");
+            } catch (IllegalArgumentException expected) {
+                // Nothing of it should be in the log
+            }
+            writer.write(full);
+        }
+        try (RoundLogReader reader = RoundLogReader.open(path)) {
+            assertThat(reader.next(), is(true));
+            assertThat(reader.getRecord().getTricks(), is(full.getTricks()));
+            assertThat(reader.next(), is(false));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsShortRecord() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("rounds.bin");
+        try (RoundLogWriter writer = RoundLogWriter.open(path, PLAYER_IDS)) {
+            writer.write(playRounds(1).get(0));
+        }
+        // A zero length would otherwise leave the reader on the same record forever
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            RoundLogFormat.readHeader(channel);
+            channel.write(ByteBuffer.allocate(Short.BYTES));
+        }
+        try (RoundLogReader reader = RoundLogReader.open(path)) {
+            reader.next();
+        }
+    }
+
+    private static List<Result> playRounds(int numRounds) {
+        RandomSource rng = RandomSource.xoshiro(0);
+        Deck deck = Deck.unshuffled();
+        List<Result> results = new ArrayList<>();
+        while (results.size() < numRounds) {
+            Optional<Result> result =
+                    Round.create(PLAYER_IDS, deck, new PalantirScorer(), Lineup.random(), rng.split()).play();
+            result.ifPresent(results::add);
+        }
+        return results;
+    }
+}
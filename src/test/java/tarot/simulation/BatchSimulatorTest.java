@@ -0,0 +1,70 @@
+package tarot.simulation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Bidding.BidAndBidder;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.state.Bid;
+import tarot.state.Deck;
+
+public class BatchSimulatorTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+    private static final long SEED = 25;
+
+    @Test
+    public void testSameResultsAsRound() {
+        BatchSimulator simulator = new BatchSimulator(PLAYER_IDS, new PalantirScorer(), 64);
+        int lane = 0;
+        // Two batches, the second one short
+        int numGames = simulator.play(SEED, 0, 64);
+        for (int i = 0; i < 100; i++) {
+            if (i == 64) {
+                numGames = simulator.play(SEED, 64, 36);
+                lane = 0;
+            }
+            Optional<Result> expected = Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.random(),
+                    SimulationRunner.getRoundRandomSource(SEED, i)).play();
+            if (!expected.isPresent()) {
+                continue;
+            }
+            assertThat(lane < numGames, is(true));
+            assertThat(simulator.getRoundIndex(lane), is(i));
+            Result result = simulator.getResult(lane);
+            assertThat(getBids(result), is(getBids(expected.get())));
+            assertThat(result.getTaker(), is(expected.get().getTaker()));
+            assertThat(result.getPartner(), is(expected.get().getPartner()));
+            assertThat(result.getPartnerCard(), is(expected.get().getPartnerCard()));
+            assertThat(result.getDog(), is(expected.get().getDog()));
+            assertThat(result.getAside(), is(expected.get().getAside()));
+            assertThat(result.getPackedTricks(), is(expected.get().getPackedTricks()));
+            assertThat(result.getScore(), is(expected.get().getScore()));
+            assertThat(result.isMadeContract(), is(expected.get().isMadeContract()));
+            assertThat(result.getPetitAuBoutPlayer(), is(expected.get().getPetitAuBoutPlayer()));
+            lane++;
+        }
+        assertThat(lane, is(numGames));
+    }
+
+    private static List<Bid> getBids(Result result) {
+        ImmutableList.Builder<Bid> bids = ImmutableList.builder();
+        for (BidAndBidder bid : result.getBidding().getBidSequence()) {
+            bids.add(bid.getBid());
+        }
+        return bids.build();
+    }
+}
@@ -0,0 +1,109 @@
+package tarot.simulation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+
+import tarot.ai.Lineup;
+import tarot.game.Round;
+import tarot.game.Round.Result;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.random.RandomSource;
+import tarot.simulation.RoundStatistics.Role;
+import tarot.state.Bid;
+import tarot.state.Deck;
+
+public class RoundStatisticsTest {
+    private static final List<String> PLAYER_IDS = ImmutableList.of("n", "e", "s", "w", "nw");
+
+    @Test
+    public void testStripesMerge() throws Exception {
+        List<Optional<Result>> results = playRounds(400);
+        RoundStatistics expected = new RoundStatistics(PLAYER_IDS, 1);
+        for (Optional<Result> result : results) {
+            expected.add(result);
+        }
+
+        // Many threads spread over many stripes
+        RoundStatistics striped = new RoundStatistics(PLAYER_IDS, 16);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> results.parallelStream().forEach(striped::add)).get();
+        } finally {
+            pool.shutdown();
+        }
+        check(striped, expected);
+
+        // And two halves merged
+        RoundStatistics first = new RoundStatistics(PLAYER_IDS, 4);
+        RoundStatistics second = new RoundStatistics(PLAYER_IDS, 4);
+        for (int i = 0; i < results.size(); i++) {
+            (i < results.size() / 3 ? first : second).add(results.get(i));
+        }
+        first.merge(second);
+        check(first, expected);
+    }
+
+    @Test
+    public void testCounts() {
+        List<Optional<Result>> results = playRounds(200);
+        RoundStatistics statistics = new RoundStatistics(PLAYER_IDS);
+        long numDead = 0;
+        long numPetitAuBout = 0;
+        for (Optional<Result> result : results) {
+            statistics.add(result);
+            numDead += result.isPresent() ? 0 : 1;
+            numPetitAuBout += result.isPresent() && result.get().getPetitAuBoutPlayer().isPresent() ? 1 : 0;
+        }
+        assertThat(statistics.getNumDeals(), is((long) results.size()));
+        assertThat(statistics.getNumDeadDeals(), is(numDead));
+        assertThat(statistics.getPetitAuBoutRate(), is((double) numPetitAuBout / (results.size() - numDead)));
+    }
+
+    private static List<Optional<Result>> playRounds(int numRounds) {
+        RandomSource rng = RandomSource.xoshiro(9);
+        List<Optional<Result>> results = new ArrayList<>();
+        for (int i = 0; i < numRounds; i++) {
+            results.add(Round.create(
+                    PLAYER_IDS,
+                    Deck.unshuffled(),
+                    new PalantirScorer(),
+                    Lineup.random(),
+                    rng.split()).play());
+        }
+        return results;
+    }
+
+    private static void check(RoundStatistics statistics, RoundStatistics expected) {
+        assertThat(statistics.getNumDeals(), is(expected.getNumDeals()));
+        assertThat(statistics.getNumDeadDeals(), is(expected.getNumDeadDeals()));
+        assertThat(statistics.getHandfulRate(), is(expected.getHandfulRate()));
+        assertThat(statistics.getPetitAuBoutRate(), is(expected.getPetitAuBoutRate()));
+        for (Bid bid : Bid.values()) {
+            assertThat(statistics.getNumContracts(bid), is(expected.getNumContracts(bid)));
+            assertThat(statistics.getContractSuccessRate(bid), is(expected.getContractSuccessRate(bid)));
+        }
+        for (int seat = 0; seat < PLAYER_IDS.size(); seat++) {
+            check(statistics.getSeatScore(seat), expected.getSeatScore(seat));
+        }
+        for (Role role : Role.values()) {
+            check(statistics.getRoleScore(role), expected.getRoleScore(role));
+        }
+    }
+
+    private static void check(RunningMoments moments, RunningMoments expected) {
+        // Merging in another order only changes the rounding
+        assertThat(moments.getCount(), is(expected.getCount()));
+        assertEquals(expected.getMean(), moments.getMean(), 1e-9);
+        assertEquals(expected.getVariance(), moments.getVariance(), 1e-6);
+    }
+}
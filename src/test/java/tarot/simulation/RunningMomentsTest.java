@@ -0,0 +1,75 @@
+package tarot.simulation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.random.RandomSource;
+
+public class RunningMomentsTest {
+    @Test
+    public void testAgreesWithTwoPasses() {
+        RandomSource rng = RandomSource.xoshiro(9);
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            // Far from zero, where a one-pass sum of squares would lose precision
+            values[i] = 1e6 + rng.nextDouble() * 100;
+        }
+        RunningMoments moments = new RunningMoments();
+        for (double value : values) {
+            moments.add(value);
+        }
+        check(moments, values);
+    }
+
+    @Test
+    public void testMerge() {
+        RandomSource rng = RandomSource.xoshiro(10);
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rng.nextInt(400) - 200;
+        }
+        // Uneven chunks, including empty ones, merged into an empty instance
+        int[] ends = {0, 1, 1, 250, 900, 1000};
+        RunningMoments merged = new RunningMoments();
+        for (int chunk = 1; chunk < ends.length; chunk++) {
+            RunningMoments moments = new RunningMoments();
+            for (int i = ends[chunk - 1]; i < ends[chunk]; i++) {
+                moments.add(values[i]);
+            }
+            merged.merge(moments);
+        }
+        check(merged, values);
+        check(merged.copy(), values);
+    }
+
+    @Test
+    public void testFewValues() {
+        RunningMoments moments = new RunningMoments();
+        assertThat(moments.getVariance(), is(0.0));
+        moments.add(3);
+        assertThat(moments.getMean(), is(3.0));
+        assertThat(moments.getVariance(), is(0.0));
+        moments.add(5);
+        assertThat(moments.getMean(), is(4.0));
+        assertThat(moments.getVariance(), is(2.0));
+    }
+
+    private static void check(RunningMoments moments, double[] values) {
+        double mean = 0;
+        for (double value : values) {
+            mean += value;
+        }
+        mean /= values.length;
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        assertThat(moments.getCount(), is((long) values.length));
+        assertEquals(mean, moments.getMean(), 1e-9 * Math.abs(mean) + 1e-9);
+        assertEquals(mean * values.length, moments.getSum(), 1e-9 * Math.abs(mean * values.length) + 1e-6);
+        assertEquals(squares / (values.length - 1), moments.getVariance(), 1e-9 * squares / values.length);
+    }
+}
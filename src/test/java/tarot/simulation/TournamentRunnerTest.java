@@ -0,0 +1,38 @@
+package tarot.simulation;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.ai.Lineup;
+import tarot.game.Scorer.PalantirScorer;
+import tarot.simulation.TournamentResult.Decision;
+
+public class TournamentRunnerTest {
+    @Test
+    public void testSameLineupsTie() {
+        // Duplicate play gives the candidate exactly the baseline's cards and luck, so a copy of it scores the same
+        TournamentResult result = TournamentRunner.run(ImmutableTournamentConfig.builder()
+                .candidate(Lineup.random())
+                .baseline(Lineup.random())
+                .scorer(new PalantirScorer())
+                .maxDeals(100)
+                .parallelism(2)
+                .seed(20)
+                .build());
+        assertThat(result.getDecision(), is(Decision.UNDECIDED));
+        assertThat(result.getNumDeals(), is(100));
+        assertThat(result.getDifference().getMean(), is(0.0));
+        assertThat(result.getDifference().getVariance(), is(0.0));
+    }
+
+    @Test
+    public void testLogLikelihoodRatio() {
+        RunningMoments difference = new RunningMoments();
+        difference.add(1);
+        difference.add(3);
+        // Variance 2: 1 / 2 * (4 - 2 * 1 / 2)
+        assertThat(TournamentRunner.computeLogLikelihoodRatio(difference, 1), is(1.5));
+    }
+}
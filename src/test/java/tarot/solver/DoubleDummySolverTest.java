@@ -0,0 +1,163 @@
+package tarot.solver;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import tarot.game.LegalMoves;
+import tarot.game.PackedTricks;
+import tarot.game.Seats;
+import tarot.game.Trick;
+import tarot.random.RandomSource;
+import tarot.state.Card;
+import tarot.state.Card.Trump;
+import tarot.state.CardSet;
+import tarot.state.Cards;
+import tarot.state.Hand;
+import tarot.state.ImmutableHand;
+
+public class DoubleDummySolverTest {
+    private static final int NUM_TRICKS = 3;
+    private static final int NUM_LARGE_TRICKS = 7;
+
+    @Test
+    public void testMatchesMinimax() {
+        RandomSource rng = RandomSource.xoshiro(16);
+        DoubleDummySolver solver = new DoubleDummySolver(1 << 20);
+        for (int i = 0; i < 200; i++) {
+            List<CardSet> hands = deal(rng, NUM_TRICKS);
+            int attackerSeats = Seats.mask(rng.nextInt(Seats.NUM_SEATS)) | Seats.mask(rng.nextInt(Seats.NUM_SEATS));
+            int leader = rng.nextInt(Seats.NUM_SEATS);
+
+            // Play the first card so that some positions start mid trick
+            long trick = PackedTricks.EMPTY;
+            if (rng.nextBoolean()) {
+                Card card = hands.get(leader).get(rng.nextInt(NUM_TRICKS));
+                hands.set(leader, hands.get(leader).without(card));
+                trick = PackedTricks.addPlay(trick, leader, card);
+            }
+
+            int nextSeat = trick == PackedTricks.EMPTY ? leader : Seats.next(leader);
+            int expected = minimax(hands, attackerSeats, trick, nextSeat);
+            assertThat(solver.solve(toHands(hands), attackerSeats, leader, trick), is(expected));
+        }
+    }
+
+    @Test
+    public void testReusedAcrossAttackers() {
+        RandomSource rng = RandomSource.xoshiro(17);
+        DoubleDummySolver solver = new DoubleDummySolver(1 << 20);
+        for (int i = 0; i < 100; i++) {
+            List<CardSet> hands = deal(rng, NUM_TRICKS);
+            int attackerSeats = Seats.mask(rng.nextInt(Seats.NUM_SEATS)) | Seats.mask(rng.nextInt(Seats.NUM_SEATS));
+            int leader = rng.nextInt(Seats.NUM_SEATS);
+
+            // The same position for one side then the other, so the second solve sees the first one's table
+            for (int seats : new int[] {attackerSeats, Seats.complement(attackerSeats)}) {
+                int expected = minimax(hands, seats, PackedTricks.EMPTY, leader);
+                assertThat(solver.solve(toHands(hands), seats, leader, PackedTricks.EMPTY), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testLargePositionsMatchTheirBestPlay() {
+        RandomSource rng = RandomSource.xoshiro(18);
+        DoubleDummySolver solver = new DoubleDummySolver(1 << 20);
+        // A separate table, so that the plays' values don't come from the position's search
+        DoubleDummySolver playSolver = new DoubleDummySolver(1 << 20);
+        for (int i = 0; i < 10; i++) {
+            List<CardSet> hands = deal(rng, NUM_LARGE_TRICKS);
+            int attackerSeats = Seats.mask(rng.nextInt(Seats.NUM_SEATS)) | Seats.mask(rng.nextInt(Seats.NUM_SEATS));
+            int leader = rng.nextInt(Seats.NUM_SEATS);
+
+            // Too big for plain minimax, but the value must be that of the leader's best play, which starts from the
+            // middle of a trick and has every card of the next tricks to search
+            boolean maximizing = Seats.contains(attackerSeats, leader);
+            int expected = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            CardSet hand = hands.get(leader);
+            for (Card card : hand) {
+                hands.set(leader, hand.without(card));
+                long trick = PackedTricks.addPlay(PackedTricks.EMPTY, leader, card);
+                int value = playSolver.solve(toHands(hands), attackerSeats, leader, trick);
+                expected = maximizing ? Math.max(expected, value) : Math.min(expected, value);
+            }
+            hands.set(leader, hand);
+            assertThat(solver.solve(toHands(hands), attackerSeats, leader, PackedTricks.EMPTY), is(expected));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMoreThanAFullHand() {
+        List<Card> deck = new ArrayList<>(CardSet.ALL);
+        List<CardSet> hands = new ArrayList<>();
+        hands.add(CardSet.copyOf(deck.subList(0, Trick.TRICKS_PER_ROUND + 1)));
+        for (int seat = 1; seat < Seats.NUM_SEATS; seat++) {
+            hands.add(CardSet.EMPTY);
+        }
+        new DoubleDummySolver(1 << 20).solve(toHands(hands), Seats.mask(0), 0, PackedTricks.EMPTY);
+    }
+
+    private static List<CardSet> deal(RandomSource rng, int numTricks) {
+        List<Card> deck = new ArrayList<>(CardSet.ALL);
+        rng.shuffle(deck);
+        List<CardSet> hands = new ArrayList<>();
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            hands.add(CardSet.copyOf(deck.subList(seat * numTricks, (seat + 1) * numTricks)));
+        }
+        return hands;
+    }
+
+    private static List<Hand> toHands(List<CardSet> hands) {
+        List<Hand> result = new ArrayList<>();
+        for (CardSet hand : hands) {
+            result.add(ImmutableHand.of(hand));
+        }
+        return result;
+    }
+
+    /**
+     * Plain minimax over every legal play
+     */
+    private static int minimax(List<CardSet> hands, int attackerSeats, long trick, int seat) {
+        if (PackedTricks.size(trick) == Seats.NUM_SEATS) {
+            int winner = PackedTricks.getWinningSeat(trick);
+            int doublePoints = 0;
+            for (int position = 0; position < Seats.NUM_SEATS; position++) {
+                Card card = PackedTricks.getCard(trick, position);
+                int capturer = card == Trump.FOOL ? PackedTricks.getSeat(trick, position) : winner;
+                if (Seats.contains(attackerSeats, capturer)) {
+                    doublePoints += Cards.getDoublePoints(card);
+                }
+            }
+            if (hands.get(winner).isEmpty()) {
+                return doublePoints;
+            }
+            return doublePoints + minimax(hands, attackerSeats, PackedTricks.EMPTY, winner);
+        }
+
+        boolean maximizing = Seats.contains(attackerSeats, seat);
+        int best = maximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        CardSet hand = hands.get(seat);
+        CardSet legalMoves = LegalMoves.getLegalMoves(hand, PackedTricks.toTrick(trick, 1, playerIds()).getPlays());
+        for (Card card : legalMoves) {
+            hands.set(seat, hand.without(card));
+            int value = minimax(hands, attackerSeats, PackedTricks.addPlay(trick, seat, card), Seats.next(seat));
+            hands.set(seat, hand);
+            best = maximizing ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    private static List<String> playerIds() {
+        List<String> playerIds = new ArrayList<>();
+        for (int seat = 0; seat < Seats.NUM_SEATS; seat++) {
+            playerIds.add(Integer.toString(seat));
+        }
+        return playerIds;
+    }
+}
@@ -0,0 +1,73 @@
+package tarot.state;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+
+public class CardSetTest {
+    @Test
+    public void testAllCards() {
+        assertThat(CardSet.ALL.size(), is(78));
+        assertThat(CardSet.ALL.containsAll(EnumSet.allOf(Suited.class)), is(true));
+        assertThat(CardSet.ALL.containsAll(EnumSet.allOf(Trump.class)), is(true));
+        assertThat(CardSet.ALL_SUITED.union(CardSet.ALL_TRUMP), is(CardSet.ALL));
+    }
+
+    @Test
+    public void testSetOperations() {
+        CardSet a = CardSet.of(Suited.C_R, Suited.H_1, Trump.ONE, Trump.FOOL);
+        CardSet b = CardSet.of(Suited.H_1, Trump.FOOL, Trump.TWENTY_ONE);
+
+        assertThat(a.union(b), is(CardSet.of(Suited.C_R, Suited.H_1, Trump.ONE, Trump.FOOL, Trump.TWENTY_ONE)));
+        assertThat(a.intersection(b), is(CardSet.of(Suited.H_1, Trump.FOOL)));
+        assertThat(a.difference(b), is(CardSet.of(Suited.C_R, Trump.ONE)));
+        assertThat(a.without(Trump.ONE).with(Trump.TWO), is(CardSet.of(Suited.C_R, Suited.H_1, Trump.TWO, Trump.FOOL)));
+        assertThat(a.getTrump(), is(CardSet.of(Trump.ONE, Trump.FOOL)));
+        assertThat(a.getSuited(), is(CardSet.of(Suited.C_R, Suited.H_1)));
+        assertThat(a.intersects(CardSet.of(Trump.TWENTY)), is(false));
+    }
+
+    @Test
+    public void testEqualToOtherSets() {
+        CardSet cards = CardSet.of(Suited.D_V, Trump.TEN);
+        assertThat(cards.equals(ImmutableSet.of(Suited.D_V, Trump.TEN)), is(true));
+        assertThat(ImmutableSet.of(Suited.D_V, Trump.TEN).equals(cards), is(true));
+        assertThat(cards.hashCode(), is(ImmutableSet.of(Suited.D_V, Trump.TEN).hashCode()));
+        assertThat(CardSet.copyOf(ImmutableSet.of(Suited.D_V, Trump.TEN)), is(cards));
+    }
+
+    @Test
+    public void testIterationOrder() {
+        CardSet cards = CardSet.of(Trump.FOOL, Trump.ONE, Suited.S_1, Suited.C_R);
+        assertThat(ImmutableList.copyOf(cards), is(ImmutableList.of(Suited.C_R, Suited.S_1, Trump.ONE, Trump.FOOL)));
+    }
+
+    @Test
+    public void testTrumpLargerThan() {
+        assertThat(CardSet.trumpLargerThan(Trump.NINETEEN), is(CardSet.of(Trump.TWENTY, Trump.TWENTY_ONE)));
+        assertThat(CardSet.trumpLargerThan(Trump.TWENTY_ONE).isEmpty(), is(true));
+        assertThat(CardSet.trumpLargerThan(null), is(CardSet.ALL_TRUMP.without(Trump.FOOL)));
+        assertThat(CardSet.trumpLargerThan(Trump.FOOL), is(CardSet.ALL_TRUMP.without(Trump.FOOL)));
+    }
+
+    @Test
+    public void testSuits() {
+        for (Suit suit : Suit.values()) {
+            for (Card card : CardSet.allOf(suit)) {
+                assertThat(((Suited) card).getSuit(), is(suit));
+            }
+        }
+        for (Suit suit : Suit.values()) {
+            assertThat(CardSet.allOf(suit).size(), is(14));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package tarot.state;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import tarot.state.Card.Suited;
+import tarot.state.Card.Trump;
+
+public class SuitCanonicalizerTest {
+    private static final CardSet HAND = CardSet.of(
+            Suited.C_R, Suited.C_D, Suited.C_2, Suited.D_1, Suited.H_C, Suited.H_V, Suited.H_10,
+            Trump.ONE, Trump.FIVE, Trump.TEN, Trump.TWELVE, Trump.FIFTEEN, Trump.EIGHTEEN, Trump.TWENTY_ONE,
+            Trump.FOOL);
+    // Clubs and hearts swapped, diamonds moved to spades
+    private static final SuitPermutation RENAMING = SuitPermutation.of(2, 3, 0, 1);
+
+    @Test
+    public void testEquivalentHands() {
+        CardSet sameShape = RENAMING.apply(HAND);
+        assertThat(sameShape.contains(Suited.H_R), is(true));
+        assertThat(sameShape.contains(Suited.S_1), is(true));
+        assertThat(SuitCanonicalizer.toCanonical(sameShape), is(SuitCanonicalizer.toCanonical(HAND)));
+        assertThat(SuitCanonicalizer.hash(sameShape), is(SuitCanonicalizer.hash(HAND)));
+        // Suits sort by their bits, which run from the roi up to the 1, so the suit with only its 1 sorts last
+        assertThat(SuitCanonicalizer.toCanonical(HAND).contains(Suited.S_1), is(true));
+
+        CardSet otherShape = HAND.without(Suited.D_1).with(Suited.D_2);
+        assertThat(SuitCanonicalizer.hash(otherShape), is(not(SuitCanonicalizer.hash(HAND))));
+    }
+
+    @Test
+    public void testContextBreaksTies() {
+        // Diamonds and spades are alike in the hand but not in the trick
+        CardSet hand = CardSet.of(Suited.C_R, Suited.H_R, Trump.ONE);
+        CardSet diamondTrick = CardSet.of(Suited.D_5);
+        CardSet spadeTrick = CardSet.of(Suited.S_5);
+        assertThat(SuitCanonicalizer.hash(hand, diamondTrick), is(SuitCanonicalizer.hash(hand, spadeTrick)));
+        assertThat(SuitCanonicalizer.hash(hand, diamondTrick), is(not(SuitCanonicalizer.hash(hand))));
+
+        SuitPermutation permutation = SuitCanonicalizer.canonicalize(hand, spadeTrick);
+        assertThat(permutation.apply(Suit.DIAMOND), is(Suit.CLUB));
+        assertThat(permutation.apply(Suit.SPADE), is(Suit.DIAMOND));
+    }
+
+    @Test
+    public void testPermutation() {
+        for (Card card : CardSet.ALL) {
+            assertThat(RENAMING.inverse().apply(RENAMING.apply(card)), is(card));
+            assertThat(RENAMING.apply(card).getIndex(), is(RENAMING.applyToIndex(card.getIndex())));
+        }
+        assertThat(RENAMING.apply(Suited.C_7), is(Suited.H_7));
+        assertThat(RENAMING.apply(Trump.FOOL), is(Trump.FOOL));
+        assertThat(RENAMING.inverse().inverse() == RENAMING, is(true));
+        assertThat(SuitPermutation.identity().apply(HAND), is(HAND));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotAPermutation() {
+        SuitPermutation.of(0, 0, 1, 2);
+    }
+}